@@ -0,0 +1,65 @@
+package com.jarvis.dragdropresearch.funwithshapes;
+
+import com.jarvis.dragdropresearch.interpolators.RectangleInterpolator;
+import com.jarvis.dragdropresearch.interpolators.TriangleGeometry;
+import com.jarvis.dragdropresearch.interpolators.TriangleInterpolator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ShapeGeometryCacheTest {
+    private static final int INTERPOLATION_MAX_VALUE = 800;
+
+    @Test
+    public void test_sameSizeSharesGeometry() {
+        ShapeGeometryCache cache = new ShapeGeometryCache();
+
+        assertNull(cache.peekStarGeometry(500, 400));
+        assertSame(cache.getStarGeometry(500, 400), cache.getStarGeometry(500, 400));
+        assertSame(cache.getStarGeometry(500, 400), cache.peekStarGeometry(500, 400));
+        assertSame(cache.getTriangleGeometry(400, 500, true),
+                cache.getTriangleGeometry(400, 500, true));
+        assertSame(cache.getRectangleGeometry(400, 500, true),
+                cache.getRectangleGeometry(400, 500, true));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void test_otherSizeOrSymmetryDoesNotShareGeometry() {
+        ShapeGeometryCache cache = new ShapeGeometryCache();
+
+        assertNotSame(cache.getStarGeometry(500, 400), cache.getStarGeometry(400, 500));
+        assertNotSame(cache.getTriangleGeometry(400, 500, true),
+                cache.getTriangleGeometry(400, 500, false));
+        assertNotSame(cache.getRectangleGeometry(400, 500, true),
+                cache.getRectangleGeometry(500, 400, true));
+    }
+
+    @Test
+    public void test_interpolatorsOfSharedGeometryKeepTheirOwnValue() {
+        ShapeGeometryCache cache = new ShapeGeometryCache();
+        TriangleGeometry geometry = cache.getTriangleGeometry(400, 500, true);
+        TriangleInterpolator first = new TriangleInterpolator(INTERPOLATION_MAX_VALUE, geometry);
+        TriangleInterpolator second = new TriangleInterpolator(INTERPOLATION_MAX_VALUE, geometry);
+
+        first.updateValue(INTERPOLATION_MAX_VALUE / 2);
+        second.updateValue(INTERPOLATION_MAX_VALUE);
+
+        assertSame(first.getGeometry(), second.getGeometry());
+        assertEquals(250, first.getBase(), 0);
+        final float firstBase = first.getInterpolatedValues()[0];
+        assertTrue(firstBase < second.getInterpolatedValues()[0]);
+
+        // Changing the symmetry of one interpolator leaves the shared geometry untouched.
+        RectangleInterpolator rectangle = new RectangleInterpolator(INTERPOLATION_MAX_VALUE,
+                cache.getRectangleGeometry(400, 500, true));
+        rectangle.setSymmetric(false);
+        assertEquals(250, cache.getRectangleGeometry(400, 500, true).getWidth(), 0);
+        assertEquals(500, rectangle.getGeometry().getWidth(), 0);
+    }
+}
@@ -0,0 +1,50 @@
+package com.jarvis.dragdropresearch.funwithshapes;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SpiralGeometryTest {
+    private static final float DELTA = 0.0001f;
+
+    @Test
+    public void test_segmentBounds() {
+        SpiralGeometry geometry = new SpiralGeometry(10, 4);
+        geometry.setSegmentCount(4);
+        float[] bounds = geometry.getArcBounds();
+        float[] angles = geometry.getArcAngles();
+
+        // Centered bottom half.
+        assertArc(bounds, angles, 0, -5, -2, 5, 2, 0);
+        // Top half starting at the left edge.
+        assertArc(bounds, angles, 1, -5, -4, 15, 4, 180);
+        // Bottom half ending at the right edge.
+        assertArc(bounds, angles, 2, -15, -6, 15, 6, 0);
+        assertArc(bounds, angles, 3, -15, -8, 25, 8, 180);
+    }
+
+    @Test
+    public void test_shrinkAndGrowKeepsSegments() {
+        SpiralGeometry grown = new SpiralGeometry(10, 4);
+        grown.setSegmentCount(6);
+        grown.setSegmentCount(2);
+        assertEquals(2, grown.getSegmentCount());
+        grown.setSegmentCount(7);
+
+        SpiralGeometry direct = new SpiralGeometry(10, 4);
+        direct.setSegmentCount(7);
+        for (int i = 0; i < 4 * 7; i++) {
+            assertEquals(direct.getArcBounds()[i], grown.getArcBounds()[i], DELTA);
+        }
+    }
+
+    private static void assertArc(float[] bounds, float[] angles, int index, float left,
+            float top, float right, float bottom, float startAngle) {
+        assertEquals(left, bounds[4 * index], DELTA);
+        assertEquals(top, bounds[4 * index + 1], DELTA);
+        assertEquals(right, bounds[4 * index + 2], DELTA);
+        assertEquals(bottom, bounds[4 * index + 3], DELTA);
+        assertEquals(startAngle, angles[2 * index], DELTA);
+        assertEquals(180, angles[2 * index + 1], DELTA);
+    }
+}
@@ -0,0 +1,54 @@
+package com.jarvis.dragdropresearch.funwithshapes.renderers;
+
+import com.jarvis.dragdropresearch.funwithshapes.FlashShape;
+import com.jarvis.dragdropresearch.funwithshapes.StarShape;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RenderQualityTest {
+
+    @Test
+    public void test_calibrationPicksTierFromFrameTime() {
+        assertSame(RenderQuality.HIGH, RenderQuality.fromCalibration(1000000L));
+        assertSame(RenderQuality.HIGH,
+                RenderQuality.fromCalibration(RenderQuality.HIGH_TIER_MAX_FRAME_NANOS));
+        assertSame(RenderQuality.MEDIUM,
+                RenderQuality.fromCalibration(RenderQuality.HIGH_TIER_MAX_FRAME_NANOS + 1));
+        assertSame(RenderQuality.LOW,
+                RenderQuality.fromCalibration(RenderQuality.MEDIUM_TIER_MAX_FRAME_NANOS + 1));
+    }
+
+    @Test
+    public void test_lowerTiersDrawLess() {
+        assertSame(RenderQuality.MEDIUM, RenderQuality.forTier(RenderQuality.TIER_MEDIUM));
+        assertTrue(RenderQuality.HIGH.getSpiralSegmentLimit()
+                > RenderQuality.MEDIUM.getSpiralSegmentLimit());
+        assertTrue(RenderQuality.MEDIUM.getSpiralSegmentLimit()
+                > RenderQuality.LOW.getSpiralSegmentLimit());
+        assertTrue(RenderQuality.HIGH.isAntiAlias());
+        assertFalse(RenderQuality.LOW.isAntiAlias());
+        assertFalse(RenderQuality.LOW.isMultiColored());
+    }
+
+    @Test
+    public void test_registryPassesQualityToRenderers() {
+        ShapeRendererRegistry registry = ShapeRendererRegistry.createDefault(10, null);
+        FlashShape star = new StarShape();
+        star.setAllowMulticoloredComponents(true);
+        StarShapeRenderer renderer = (StarShapeRenderer)registry.get(star);
+        assertTrue(renderer.isMultiColored(star));
+
+        registry.setRenderQuality(RenderQuality.LOW);
+        assertSame(RenderQuality.LOW, registry.getRenderQuality());
+        assertFalse(renderer.isMultiColored(star));
+
+        // Renderers registered later start at the quality of the registry.
+        StarShapeRenderer registered = new StarShapeRenderer(10);
+        registry.register(FlashShape.Type.STAR, registered);
+        assertFalse(registered.isMultiColored(star));
+    }
+}
@@ -0,0 +1,103 @@
+package com.jarvis.dragdropresearch.funwithshapes.renderers;
+
+import com.jarvis.dragdropresearch.funwithshapes.FlashShape;
+import com.jarvis.dragdropresearch.funwithshapes.TriangleShape;
+
+import org.junit.Test;
+
+import androidx.annotation.NonNull;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ShapePathCacheTest {
+
+    @Test
+    public void test_sameLevelReusesPaths() {
+        ShapePathCache cache = new ShapePathCache(11, 1024 * 1024);
+        CountingBuilder builder = new CountingBuilder();
+        FlashShape shape = new TriangleShape();
+
+        ShapePathCache.Entry entry = cache.obtain(shape, 0.5f, 100, 100, builder);
+        // Within half a level of 0.5.
+        assertSame(entry, cache.obtain(shape, 0.54f, 100, 100, builder));
+        assertEquals(1, builder.mBuildCount);
+
+        assertNotSame(entry, cache.obtain(shape, 0.6f, 100, 100, builder));
+        assertEquals(2, builder.mBuildCount);
+
+        // Different bounds rebuild the level.
+        cache.obtain(shape, 0.5f, 200, 100, builder);
+        assertEquals(3, builder.mBuildCount);
+
+        // Shapes are keyed by instance.
+        cache.obtain(new TriangleShape(), 0.5f, 200, 100, builder);
+        assertEquals(4, builder.mBuildCount);
+    }
+
+    @Test
+    public void test_leastRecentlyUsedEvicted() {
+        int entrySize = sizeOfEntry(new CountingBuilder());
+        CountingBuilder builder = new CountingBuilder();
+        ShapePathCache cache = new ShapePathCache(11, 2 * entrySize);
+        FlashShape shape = new TriangleShape();
+
+        cache.obtain(shape, 0f, 100, 100, builder);
+        cache.obtain(shape, 0.5f, 100, 100, builder);
+        // Touch level 0 so that level 0.5 is the least recently used.
+        cache.obtain(shape, 0f, 100, 100, builder);
+        cache.obtain(shape, 1f, 100, 100, builder);
+        assertEquals(3, builder.mBuildCount);
+        assertTrue(cache.getSizeBytes() <= cache.getMaxSizeBytes());
+
+        cache.obtain(shape, 0f, 100, 100, builder);
+        assertEquals(3, builder.mBuildCount);
+        cache.obtain(shape, 0.5f, 100, 100, builder);
+        assertEquals(4, builder.mBuildCount);
+    }
+
+    @Test
+    public void test_removeDropsShapeEntries() {
+        int entrySize = sizeOfEntry(new CountingBuilder());
+        CountingBuilder builder = new CountingBuilder();
+        ShapePathCache cache = new ShapePathCache(11, 1024 * 1024);
+        FlashShape removed = new TriangleShape();
+        FlashShape kept = new TriangleShape();
+
+        cache.obtain(removed, 0f, 100, 100, builder);
+        cache.obtain(removed, 1f, 100, 100, builder);
+        cache.obtain(kept, 0f, 100, 100, builder);
+        cache.remove(removed);
+        assertEquals(entrySize, cache.getSizeBytes());
+
+        cache.obtain(kept, 0f, 100, 100, builder);
+        assertEquals(3, builder.mBuildCount);
+        cache.obtain(removed, 0f, 100, 100, builder);
+        assertEquals(4, builder.mBuildCount);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_invalidLevelCount() {
+        new ShapePathCache(1, 1024);
+    }
+
+    private static int sizeOfEntry(ShapePathCache.PathBuilder builder) {
+        ShapePathCache cache = new ShapePathCache();
+        cache.obtain(new TriangleShape(), 0f, 100, 100, builder);
+        return cache.getSizeBytes();
+    }
+
+    private static class CountingBuilder implements ShapePathCache.PathBuilder {
+        int mBuildCount;
+
+        @Override
+        public int buildPaths(@NonNull FlashShape shape, float width, float height,
+                @NonNull ShapePathCache.Entry entry) {
+            mBuildCount++;
+            entry.nextPath().lineTo(width, height);
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.jarvis.dragdropresearch.interpolators;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AngleInterpolatorTest {
+    private static final int INTERPOLATION_MAX_VALUE = 800;
+
+    @Test
+    public void test_singleComponentSweepsInterpolatedAngle() {
+        AngleInterpolator interpolator = new AngleInterpolator(INTERPOLATION_MAX_VALUE, 360, 1);
+        interpolator.updateValue(INTERPOLATION_MAX_VALUE / 4);
+
+        AngleInterpolator.DrawingDescriptor descriptor = interpolator.getDrawingDescriptor();
+        assertEquals(1, descriptor.getCount());
+        assertEquals(0, descriptor.getStartAngles()[0], 0);
+        assertEquals(90, descriptor.getSweepAngles()[0], 0);
+    }
+
+    @Test
+    public void test_componentsSplitInterpolatedAngle() {
+        // One degree per value.
+        AngleInterpolator interpolator = new AngleInterpolator(360, 360, 8);
+        // 100 degrees: two full slices of 45 degrees and one of 10.
+        interpolator.updateValue(100);
+
+        AngleInterpolator.DrawingDescriptor descriptor = interpolator.getDrawingDescriptor();
+        assertEquals(3, descriptor.getCount());
+        assertEquals(45, descriptor.getStartAngles()[1], 1e-3f);
+        assertEquals(45, descriptor.getSweepAngles()[1], 1e-3f);
+        assertEquals(90, descriptor.getStartAngles()[2], 1e-3f);
+        assertEquals(10, descriptor.getSweepAngles()[2], 1e-3f);
+
+        interpolator.updateValue(0);
+        assertEquals(0, interpolator.getDrawingDescriptor().getCount());
+    }
+
+    @Test
+    public void test_descriptorArraysAreReused() {
+        AngleInterpolator interpolator = new AngleInterpolator(INTERPOLATION_MAX_VALUE, 360, 300);
+        interpolator.updateValue(INTERPOLATION_MAX_VALUE);
+        AngleInterpolator.DrawingDescriptor descriptor = interpolator.getDrawingDescriptor();
+        assertTrue(descriptor.getCount() >= 299);
+        float[] startAngles = descriptor.getStartAngles();
+        float[] sweepAngles = descriptor.getSweepAngles();
+
+        for (int value = 0; value <= INTERPOLATION_MAX_VALUE; value += 10) {
+            interpolator.updateValue(value);
+            assertSame(descriptor, interpolator.getDrawingDescriptor());
+            assertSame(startAngles, descriptor.getStartAngles());
+            assertSame(sweepAngles, descriptor.getSweepAngles());
+        }
+    }
+}
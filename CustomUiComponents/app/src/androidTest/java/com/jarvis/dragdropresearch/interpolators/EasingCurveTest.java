@@ -0,0 +1,67 @@
+package com.jarvis.dragdropresearch.interpolators;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EasingCurveTest {
+    private static final int INTERPOLATION_MAX_VALUE = 800;
+
+    @Test
+    public void test_linearBezierMatchesLinearInterpolation() {
+        EasingCurve curve = EasingCurve.cubicBezier(0.25f, 0.25f, 0.75f, 0.75f);
+        for (int i = 0; i <= 10; i++) {
+            assertEquals(i / 10f, curve.getValue(i / 10f), 1e-4f);
+        }
+    }
+
+    @Test
+    public void test_easeInStartsSlowly() {
+        EasingCurve curve = EasingCurve.cubicBezier(0.42f, 0, 1, 1);
+        assertEquals(0, curve.getValue(0), 0);
+        assertEquals(1, curve.getValue(1), 0);
+        assertTrue(curve.getValue(0.25f) < 0.25f);
+    }
+
+    @Test
+    public void test_springOvershootsAndSettles() {
+        EasingCurve curve = EasingCurve.spring(0.3f, 2);
+        float max = 0;
+        for (int i = 0; i <= 100; i++) {
+            max = Math.max(max, curve.getValue(i / 100f));
+        }
+        assertTrue(max > 1);
+        assertEquals(1, curve.getValue(1), 0);
+    }
+
+    @Test
+    public void test_stepsAndSampledCurves() {
+        EasingCurve steps = EasingCurve.steps(4);
+        assertEquals(0, steps.getValue(0.2f), 0);
+        assertEquals(0.5f, steps.getValue(0.6f), 0);
+        assertEquals(1, steps.getValue(1), 0);
+
+        EasingCurve sampled = EasingCurve.sampled(new float[] {0, 0.8f, 1});
+        assertEquals(0.4f, sampled.getValue(0.25f), 1e-4f);
+        assertEquals(0.9f, sampled.getValue(0.75f), 1e-4f);
+    }
+
+    @Test
+    public void test_interpolatorsApplyCurve() {
+        ColorInterpolator interpolator = new ColorInterpolator(INTERPOLATION_MAX_VALUE);
+        interpolator.updateValue(INTERPOLATION_MAX_VALUE / 2);
+        assertEquals(0.5f, interpolator.getInterpolation(), 0);
+
+        EasingCurve curve = EasingCurve.cubicBezier(0.42f, 0, 1, 1);
+        interpolator.setEasingCurve(curve);
+        assertEquals(curve.getValue(0.5f), interpolator.getInterpolation(), 0);
+
+        // Overshooting curves stay within the alpha range.
+        interpolator.setEasingCurve(EasingCurve.sampled(new float[] {0, 1.5f, 1}));
+        assertEquals(255, interpolator.getInterpolatedShade() >>> 24);
+
+        interpolator.setEasingCurve(null);
+        assertEquals(0.5f, interpolator.getInterpolation(), 0);
+    }
+}
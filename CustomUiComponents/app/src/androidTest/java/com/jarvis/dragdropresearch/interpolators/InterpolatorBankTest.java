@@ -0,0 +1,53 @@
+package com.jarvis.dragdropresearch.interpolators;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class InterpolatorBankTest {
+    private static final int INTERPOLATION_MAX_VALUE = 800;
+
+    @Test
+    public void test_bankMatchesInterpolators() {
+        int[] values = {-100, 0, 200, 400, 799, 800, 1200};
+        InterpolatorBank bank = new InterpolatorBank();
+        bank.setSize(values.length + 1);
+        for (int i = 0; i < values.length; i++) {
+            bank.set(i, INTERPOLATION_MAX_VALUE, values[i]);
+        }
+        bank.set(values.length, 0, -100);
+
+        Interpolator interpolator = new Interpolator(INTERPOLATION_MAX_VALUE);
+        for (int i = 0; i < values.length; i++) {
+            interpolator.updateValue(values[i]);
+            assertEquals(interpolator.getInterpolation(), bank.getInterpolation(i), 0);
+            assertEquals(values[i], bank.getValue(i));
+        }
+        assertEquals(0, bank.getInterpolation(values.length), 0);
+    }
+
+    @Test
+    public void test_setReportsChanges() {
+        InterpolatorBank bank = new InterpolatorBank();
+        bank.setSize(1);
+        assertTrue(bank.set(0, INTERPOLATION_MAX_VALUE, 200));
+        assertFalse(bank.set(0, INTERPOLATION_MAX_VALUE, 200));
+        assertTrue(bank.set(0, INTERPOLATION_MAX_VALUE / 2, 200));
+        assertEquals(0.5f, bank.getInterpolation(0), 0);
+
+        // Entries dropped by shrinking the bank come back empty.
+        bank.setSize(0);
+        bank.setSize(2);
+        assertEquals(0, bank.getMaxValue(0));
+        assertEquals(0, bank.getValue(1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_readingPastSizeThrows() {
+        InterpolatorBank bank = new InterpolatorBank();
+        bank.setSize(1);
+        bank.getValue(1);
+    }
+}
@@ -0,0 +1,55 @@
+package com.jarvis.dragdropresearch.interpolators;
+
+import com.jarvis.dragdropresearch.funwithshapes.SpiralSegment;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class SpiralInterpolatorTest {
+    private static final int INTERPOLATION_MAX_VALUE = 800;
+    private static final int MAX_SEGMENT_COUNT = 20;
+    private static final float DELTA = 0.0001f;
+
+    @Test
+    public void test_segmentCountFollowsInterpolation() {
+        SpiralInterpolator interpolator =
+                new SpiralInterpolator(INTERPOLATION_MAX_VALUE, 300f, 400f, MAX_SEGMENT_COUNT);
+        interpolator.updateValue(0);
+        assertEquals(1, interpolator.getSegmentCount());
+        interpolator.updateValue(INTERPOLATION_MAX_VALUE / 2);
+        assertEquals(MAX_SEGMENT_COUNT / 2 + 1, interpolator.getSegmentCount());
+        interpolator.updateValue(INTERPOLATION_MAX_VALUE);
+        assertEquals(MAX_SEGMENT_COUNT, interpolator.getSegmentCount());
+
+        // Overshooting curves stay within the max segment count.
+        interpolator.setEasingCurve(EasingCurve.sampled(new float[] {0, 1.5f, 1}));
+        interpolator.updateValue(INTERPOLATION_MAX_VALUE / 2);
+        assertEquals(MAX_SEGMENT_COUNT, interpolator.getSegmentCount());
+    }
+
+    @Test
+    public void test_segmentsAreReusedFromPool() {
+        SpiralInterpolator interpolator =
+                new SpiralInterpolator(INTERPOLATION_MAX_VALUE, 300f, 400f, MAX_SEGMENT_COUNT);
+        interpolator.updateValue(INTERPOLATION_MAX_VALUE);
+        List<SpiralSegment> segments = interpolator.getSegments();
+        assertEquals(MAX_SEGMENT_COUNT, segments.size());
+        SpiralSegment third = segments.get(2);
+        assertEquals(SpiralSegment.Type.BOTTOM, third.getType());
+        assertEquals(interpolator.getSegmentWidths()[2], third.getWidth(), 0);
+        assertEquals(3 * 400f / MAX_SEGMENT_COUNT, third.getWidth(), DELTA);
+        assertEquals(3 * 300f / MAX_SEGMENT_COUNT, interpolator.getSegmentHeights()[2], DELTA);
+
+        interpolator.updateValue(INTERPOLATION_MAX_VALUE / 10);
+        assertSame(segments, interpolator.getSegments());
+        assertEquals(interpolator.getSegmentCount(), segments.size());
+
+        interpolator.updateValue(INTERPOLATION_MAX_VALUE);
+        assertSame(third, interpolator.getSegments().get(2));
+        assertEquals(SpiralSegment.Type.TOP, segments.get(3).getType());
+    }
+}
@@ -0,0 +1,163 @@
+package com.jarvis.dragdropresearch.interpolators;
+
+import android.graphics.PointF;
+import android.util.Log;
+
+import com.jarvis.dragdropresearch.math.Line;
+import com.jarvis.dragdropresearch.math.LineUtils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Times the fused vertex update of {@link StarInterpolator} against the update it replaced, with
+ * one {@link TriangleInterpolator} per triangle and the bottom vertices placed along lines, and
+ * logs both so that they can be compared across changes and devices.
+ */
+public class StarInterpolatorBenchmarkTest {
+    private static final String TAG = StarInterpolatorBenchmarkTest.class.getSimpleName();
+    private static final int INTERPOLATION_MAX_VALUE = 800;
+    private static final int UPDATE_COUNT = 200000;
+    private static final int ROUND_COUNT = 5;
+
+    @Test
+    public void test_fusedUpdate() {
+        StarGeometry geometry = new StarGeometry(500, 500);
+        StarInterpolator interpolator = new StarInterpolator.Builder(INTERPOLATION_MAX_VALUE)
+                .setWidth(500)
+                .setHeight(500)
+                .setGeometry(geometry)
+                .build();
+        TriangleStar reference = new TriangleStar(geometry);
+        float[] vertices = new float[StarInterpolator.DrawingDescriptor.VERTICES_FLOAT_COUNT];
+
+        // Best of several rounds, so that the first rounds warm both updates up.
+        long fusedNanos = Long.MAX_VALUE;
+        long referenceNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUND_COUNT; round++) {
+            fusedNanos = Math.min(fusedNanos, measureFusedUpdate(interpolator));
+            referenceNanos = Math.min(referenceNanos, measureReferenceUpdate(reference, vertices));
+        }
+        Log.i(TAG, "Per-update cost :: fused = " + (float)fusedNanos / UPDATE_COUNT
+                + "ns, per triangle = " + (float)referenceNanos / UPDATE_COUNT + "ns, speedup = "
+                + (float)referenceNanos / fusedNanos);
+
+        // Both updates must place the same vertices for the timings to be comparable.
+        interpolator.updateValue(INTERPOLATION_MAX_VALUE / 2);
+        reference.update(INTERPOLATION_MAX_VALUE / 2, vertices);
+        float[] fused = interpolator.getDrawingDescriptor().getVertices();
+        for (int i = 0; i < vertices.length; i++) {
+            assertEquals(vertices[i], fused[i], 1e-2f);
+        }
+    }
+
+    private long measureFusedUpdate(StarInterpolator interpolator) {
+        long start = System.nanoTime();
+        for (int i = 0; i < UPDATE_COUNT; i++) {
+            interpolator.updateValue(i % INTERPOLATION_MAX_VALUE);
+            interpolator.getDrawingDescriptor();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long measureReferenceUpdate(TriangleStar reference, float[] vertices) {
+        long start = System.nanoTime();
+        for (int i = 0; i < UPDATE_COUNT; i++) {
+            reference.update(i % INTERPOLATION_MAX_VALUE, vertices);
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Update of {@link StarInterpolator} before it was fused: one {@link TriangleInterpolator}
+     * per triangle, new points for every vertex, and the bottom vertices found by building the
+     * bisector and base lines of their triangle.
+     */
+    private static class TriangleStar {
+        private final StarGeometry mGeometry;
+        private final TriangleInterpolator mTop;
+        private final TriangleInterpolator mLeft;
+        private final TriangleInterpolator mRight;
+        private final TriangleInterpolator mBottomRight;
+        private final TriangleInterpolator mBottomLeft;
+
+        TriangleStar(StarGeometry geometry) {
+            mGeometry = geometry;
+            mTop = new TriangleInterpolator(INTERPOLATION_MAX_VALUE, geometry.mTopTriangle);
+            mLeft = new TriangleInterpolator(INTERPOLATION_MAX_VALUE, geometry.mSideTriangle);
+            mRight = new TriangleInterpolator(INTERPOLATION_MAX_VALUE, geometry.mSideTriangle);
+            mBottomRight = new TriangleInterpolator(INTERPOLATION_MAX_VALUE,
+                    geometry.mBottomRightTriangle);
+            mBottomLeft = new TriangleInterpolator(INTERPOLATION_MAX_VALUE,
+                    geometry.mBottomLeftTriangle);
+        }
+
+        void update(int value, float[] outVertices) {
+            mTop.updateValue(value);
+            mLeft.updateValue(value);
+            mRight.updateValue(value);
+            mBottomRight.updateValue(value);
+            mBottomLeft.updateValue(value);
+
+            float[] values = mTop.getInterpolatedValues();
+            PointF peak = mGeometry.mTopTrianglePeak;
+            float halfBase = values[TriangleInterpolator.INTERPOLATION_VALUES_BASE] / 2;
+            float altitude = values[TriangleInterpolator.INTERPOLATION_VALUES_ALTITUDE];
+            set(outVertices, StarInterpolator.DrawingDescriptor.TRIANGLE_TOP, peak,
+                    new PointF(peak.x + halfBase, peak.y - altitude),
+                    new PointF(peak.x - halfBase, peak.y - altitude));
+
+            values = mLeft.getInterpolatedValues();
+            peak = mGeometry.mLeftTrianglePeak;
+            halfBase = values[TriangleInterpolator.INTERPOLATION_VALUES_BASE] / 2;
+            altitude = values[TriangleInterpolator.INTERPOLATION_VALUES_ALTITUDE];
+            set(outVertices, StarInterpolator.DrawingDescriptor.TRIANGLE_LEFT, peak,
+                    new PointF(altitude, peak.y + halfBase),
+                    new PointF(altitude, peak.y - halfBase));
+
+            values = mRight.getInterpolatedValues();
+            peak = mGeometry.mRightTrianglePeak;
+            halfBase = values[TriangleInterpolator.INTERPOLATION_VALUES_BASE] / 2;
+            altitude = values[TriangleInterpolator.INTERPOLATION_VALUES_ALTITUDE];
+            set(outVertices, StarInterpolator.DrawingDescriptor.TRIANGLE_RIGHT, peak,
+                    new PointF(peak.x - altitude, peak.y + halfBase),
+                    new PointF(peak.x - altitude, peak.y - halfBase));
+
+            setBottomTriangle(outVertices, StarInterpolator.DrawingDescriptor.TRIANGLE_BOTTOM_LEFT,
+                    mBottomLeft, mGeometry.mBottomLeftLineBisectorXAxisIntercept,
+                    mGeometry.mBottomLeftBisectorSlope, mGeometry.mBottomLeftLine, 1f);
+            setBottomTriangle(outVertices,
+                    StarInterpolator.DrawingDescriptor.TRIANGLE_BOTTOM_RIGHT, mBottomRight,
+                    mGeometry.mBottomRightLineBisectorXAxisIntercept,
+                    mGeometry.mBottomRightBisectorSlope, mGeometry.mBottomRightLine, -1f);
+        }
+
+        private static void setBottomTriangle(float[] outVertices, int triangle,
+                TriangleInterpolator interpolator, PointF peak, Float bisectorSlope,
+                Line sideLine, float direction) {
+            float[] values = interpolator.getInterpolatedValues();
+            float halfBase = values[TriangleInterpolator.INTERPOLATION_VALUES_BASE] / 2;
+            float altitude = values[TriangleInterpolator.INTERPOLATION_VALUES_ALTITUDE];
+
+            Line bisector = LineUtils.createLineFromSlopeAndPoint(bisectorSlope, peak);
+            PointF pointOnBisector = bisector.getPointAtDistance(peak, direction * altitude);
+            Line baseLine = LineUtils.createLineFromSlopeAndPoint(sideLine.getSlope(),
+                    pointOnBisector);
+            set(outVertices, triangle, peak,
+                    baseLine.getPointAtDistance(pointOnBisector, -1f * halfBase),
+                    baseLine.getPointAtDistance(pointOnBisector, halfBase));
+        }
+
+        private static void set(float[] outVertices, int triangle, PointF peak, PointF first,
+                PointF second) {
+            final int offset = triangle * StarInterpolator.DrawingDescriptor.TRIANGLE_FLOAT_COUNT;
+            outVertices[offset] = peak.x;
+            outVertices[offset + 1] = peak.y;
+            outVertices[offset + 2] = first.x;
+            outVertices[offset + 3] = first.y;
+            outVertices[offset + 4] = second.x;
+            outVertices[offset + 5] = second.y;
+        }
+    }
+}
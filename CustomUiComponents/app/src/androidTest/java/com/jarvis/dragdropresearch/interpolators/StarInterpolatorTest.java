@@ -9,6 +9,8 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class StarInterpolatorTest {
     private static final int INTERPOLATION_MAX_VALUE = 800;
@@ -70,6 +72,12 @@ public class StarInterpolatorTest {
         assertNotNull(bottomRightLineMidpoint);
 
         assertEquals(bottomLeftLineMidpoint.y, bottomRightLineMidpoint.y, 0);
+
+        // The midpoints belong to the shared geometry, so changing the returned points must not
+        // move them.
+        final float y = bottomLeftLineMidpoint.y;
+        bottomLeftLineMidpoint.y += 10;
+        assertEquals(y, mInterpolator.getBottomLeftLineMidpoint().y, 0);
     }
 
     @Test
@@ -118,4 +126,89 @@ public class StarInterpolatorTest {
 
         assertNotNull(mInterpolator.getDrawingDescriptor());
     }
+
+    @Test
+    public void test_precomputedGeometryMatchesBuiltGeometry() {
+        StarGeometry geometry = new StarGeometry(500, 500);
+        StarInterpolator interpolator = new StarInterpolator.Builder(INTERPOLATION_MAX_VALUE)
+                .setWidth(500)
+                .setHeight(500)
+                .setGeometry(geometry)
+                .build();
+        assertSame(geometry, interpolator.getGeometry());
+
+        mInterpolator.updateValue(INTERPOLATION_MAX_VALUE / 2);
+        interpolator.updateValue(INTERPOLATION_MAX_VALUE / 2);
+        PointF expected = mInterpolator.getDrawingDescriptor()
+                .getBottomLeftTriangleUpperLeftVertex();
+        PointF actual = interpolator.getDrawingDescriptor().getBottomLeftTriangleUpperLeftVertex();
+        assertEquals(expected.x, actual.x, 0);
+        assertEquals(expected.y, actual.y, 0);
+    }
+
+    @Test
+    public void test_packedVerticesMatchDescriptorPoints() {
+        mInterpolator.updateValue(INTERPOLATION_MAX_VALUE / 2);
+        StarInterpolator.DrawingDescriptor descriptor = mInterpolator.getDrawingDescriptor();
+        float[] vertices = descriptor.getVertices();
+        final int offset = StarInterpolator.DrawingDescriptor.TRIANGLE_BOTTOM_LEFT
+                * StarInterpolator.DrawingDescriptor.TRIANGLE_FLOAT_COUNT;
+        assertEquals(descriptor.getBottomLeftTriangleUpperLeftVertex().x, vertices[offset + 2], 0);
+        assertEquals(descriptor.getBottomLeftTriangleUpperLeftVertex().y, vertices[offset + 3], 0);
+
+        float[] copy = new float[StarInterpolator.DrawingDescriptor.VERTICES_FLOAT_COUNT + 1];
+        descriptor.getVertices(copy, 1);
+        assertEquals(vertices[offset + 2], copy[offset + 3], 0);
+
+        // The same array is updated when the interpolation changes.
+        final float upperLeftX = vertices[offset + 2];
+        mInterpolator.updateValue(INTERPOLATION_MAX_VALUE);
+        assertSame(vertices, mInterpolator.getDrawingDescriptor().getVertices());
+        assertTrue(upperLeftX != vertices[offset + 2]);
+    }
+
+    @Test
+    public void test_fusedUpdateMatchesReferenceVertices() {
+        // Vertices placed by the per-triangle update StarInterpolator had before it was fused.
+        assertVertices(500, 500, INTERPOLATION_MAX_VALUE / 2, new float[] {
+                250f, 500f, 281.25f, 406.25f, 218.75f, 406.25f,
+                0f, 250f, 93.75f, 281.25f, 93.75f, 218.75f,
+                500f, 250f, 406.25f, 281.25f, 406.25f, 218.75f,
+                367.1875f, 0f, 308.59375f, 78.125f, 339.84375f, 93.75f,
+                132.8125f, 0f, 160.15625f, 93.75f, 191.40625f, 78.125f});
+        assertVertices(300, 420, INTERPOLATION_MAX_VALUE / 4, new float[] {
+                150f, 420f, 159.375f, 380.625f, 140.625f, 380.625f,
+                0f, 210f, 28.125f, 223.125f, 28.125f, 196.875f,
+                300f, 210f, 271.875f, 223.125f, 271.875f, 196.875f,
+                269.8125f, 0f, 239.85944f, 32.812546f, 249.23444f, 39.375046f,
+                30.1875f, 0f, 50.76563f, 39.375f, 60.14063f, 32.8125f});
+        assertVertices(300, 420, INTERPOLATION_MAX_VALUE, new float[] {
+                150f, 420f, 187.5f, 262.5f, 112.5f, 262.5f,
+                0f, 210f, 112.5f, 262.5f, 112.5f, 157.5f,
+                300f, 210f, 187.5f, 262.5f, 187.5f, 157.5f,
+                269.8125f, 0f, 150.00024f, 131.25018f, 187.50024f, 157.50018f,
+                30.1875f, 0f, 112.500015f, 157.5f, 150.00002f, 131.25f});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_precomputedGeometryOfOtherSizeIsRejected() {
+        new StarInterpolator.Builder(INTERPOLATION_MAX_VALUE)
+                .setWidth(500)
+                .setHeight(500)
+                .setGeometry(new StarGeometry(400, 500))
+                .build();
+    }
+
+    private static void assertVertices(int width, int height, int value, float[] expected) {
+        StarInterpolator interpolator = new StarInterpolator.Builder(INTERPOLATION_MAX_VALUE)
+                .setWidth(width)
+                .setHeight(height)
+                .build();
+        interpolator.updateValue(value);
+        float[] actual = interpolator.getDrawingDescriptor().getVertices();
+        assertEquals(StarInterpolator.DrawingDescriptor.VERTICES_FLOAT_COUNT, expected.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], actual[i], 1e-3f);
+        }
+    }
 }
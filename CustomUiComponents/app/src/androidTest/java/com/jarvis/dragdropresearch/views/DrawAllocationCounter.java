@@ -0,0 +1,36 @@
+package com.jarvis.dragdropresearch.views;
+
+import android.graphics.Canvas;
+import android.os.Debug;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Counts the objects allocated on the calling thread while a view draws a frame.
+ */
+final class DrawAllocationCounter {
+
+    private DrawAllocationCounter() {
+    }
+
+    /**
+     * Draw the view, counting the objects allocated while it draws. Counting slows down the
+     * runtime, so frame times measured around this include its overhead.
+     *
+     * @return Number of objects allocated on the calling thread during the draw.
+     */
+    // The Debug allocation counters are deprecated since API 23, but remain the only per-thread
+    // allocation count that does not need a profiler attached.
+    @SuppressWarnings("deprecation")
+    static int draw(@NonNull View view, @NonNull Canvas canvas) {
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+        try {
+            view.draw(canvas);
+        } finally {
+            Debug.stopAllocCounting();
+        }
+        return Debug.getThreadAllocCount();
+    }
+}
@@ -0,0 +1,57 @@
+package com.jarvis.dragdropresearch.views;
+
+import android.app.Instrumentation;
+import android.view.View;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import androidx.test.InstrumentationRegistry;
+import androidx.test.runner.AndroidJUnit4;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that endless scrolling keeps the scroll position and the bound pages bounded while the
+ * adapter positions keep increasing.
+ */
+@RunWith(AndroidJUnit4.class)
+public class EndlessScrollingTest {
+    private static final int WIDTH = 720;
+    private static final int HEIGHT = 1280;
+    private static final int SCROLLED_PAGE_COUNT = 500;
+
+    @Test
+    public void test_flashShapeView_endlessScrollStaysBounded() {
+        Instrumentation instrumentation = InstrumentationRegistry.getInstrumentation();
+        instrumentation.runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                FlashShapeView view =
+                        new FlashShapeView(InstrumentationRegistry.getTargetContext());
+                view.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                        View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+                view.layout(0, 0, WIDTH, HEIGHT);
+                view.setEndless(true);
+                final int contentHeight = view.getContentHeight();
+
+                int lastPosition = 0;
+                for (int i = 0; i < 2 * SCROLLED_PAGE_COUNT; i++) {
+                    view.scrollBy(0, HEIGHT / 2);
+                    assertTrue("Scroll position " + view.getScrollY() + " out of the window",
+                            view.getScrollY() < contentHeight);
+                    assertTrue(view.mPages.size() <= 2 * (view.getOffscreenPageLimit() + 2));
+
+                    final int position = view.mPages.get(0).getPosition();
+                    assertTrue("Position went back from " + lastPosition + " to " + position,
+                            position >= lastPosition);
+                    lastPosition = position;
+                }
+                assertTrue("Stopped at position " + lastPosition,
+                        lastPosition >= SCROLLED_PAGE_COUNT - 2);
+                assertEquals(contentHeight, view.getContentHeight());
+            }
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package com.jarvis.dragdropresearch.views;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class FrameHistogramTest {
+
+    @Test
+    public void test_recordAndPercentiles() {
+        FrameHistogram histogram = new FrameHistogram(new long[] {1, 2, 4, 8, 16});
+        for (int i = 1; i <= 100; i++) {
+            // 90 fast frames and 10 slow ones.
+            histogram.record(i <= 90 ? 2 : 20);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(6, histogram.getBucketCount());
+        assertEquals(90, histogram.getBucketValueCount(1));
+        assertEquals(10, histogram.getBucketValueCount(5));
+        assertEquals(Long.MAX_VALUE, histogram.getBucketUpperBound(5));
+        assertEquals(20, histogram.getMax());
+        assertEquals(3.8f, histogram.getMean(), 0.001f);
+
+        assertEquals(2, histogram.getPercentile(50));
+        assertEquals(2, histogram.getPercentile(90));
+        assertEquals(20, histogram.getPercentile(95));
+    }
+
+    @Test
+    public void test_copyFromAndReset() {
+        FrameHistogram histogram = new FrameHistogram(new long[] {10, 20});
+        histogram.record(5);
+        histogram.record(15);
+
+        FrameHistogram snapshot = histogram.newEmptyCopy();
+        snapshot.copyFrom(histogram);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(2, snapshot.getCount());
+        assertEquals(20, snapshot.getSum());
+        assertEquals(15, snapshot.getPercentile(100));
+    }
+}
@@ -0,0 +1,141 @@
+package com.jarvis.dragdropresearch.views;
+
+import android.graphics.Rect;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PageVisibilityIndexTest {
+    private static final int PAGE_HEIGHT = 1920;
+    private static final int VIEWPORT_HEIGHT = 1920;
+    private static final int FRAME_COUNT = 2000;
+    // One and a half pages per frame, so that the feeds are not scrolled past their end.
+    private static final int SCROLL_STEP = PAGE_HEIGHT * 3 / 2;
+    private static final int MAX_CHANGES_PER_FRAME = 8;
+
+    @Test
+    public void test_indexMatchesLinearScan() {
+        List<ScrollPage> pages = createPages(500);
+        PageVisibilityIndex index = new PageVisibilityIndex();
+
+        // Scroll down in uneven steps, then jump back up.
+        int[] offsets = new int[] {0, 10, 1900, 1921, 5000, 77777, 77790, 3000, 0, 960000};
+        for (int offset : offsets) {
+            index.update(pages, offset, offset + VIEWPORT_HEIGHT);
+
+            for (ScrollPage page : pages) {
+                boolean expectedVisible = page.getYPosition() <= offset + VIEWPORT_HEIGHT
+                        && page.getYPosition() + page.getHeight() >= offset;
+                assertEquals(expectedVisible, page.isVisible());
+                assertEquals(page.getYPosition() <= offset, page.isScrolledToTop());
+            }
+        }
+    }
+
+    @Test
+    public void test_gridIndexMatchesLinearScan() {
+        final int columns = 40;
+        final int pageWidth = 1080;
+        final int viewportWidth = 1080;
+        PageGridLayout layout = new PageGridLayout(columns, pageWidth, PAGE_HEIGHT);
+        Rect bounds = new Rect();
+        List<ScrollPage> pages = new ArrayList<>();
+        for (int i = 0; i < columns * 50; i++) {
+            layout.getPageBounds(i, bounds);
+            ScrollPage page = new ScrollPage();
+            page.setXPosition(bounds.left);
+            page.setYPosition(bounds.top);
+            page.setWidth(bounds.width());
+            page.setHeight(bounds.height());
+            pages.add(page);
+        }
+        PageVisibilityIndex index = new PageVisibilityIndex();
+
+        // Pan diagonally, then jump back to the origin.
+        int[][] offsets = new int[][] {{0, 0}, {10, 500}, {1079, 1919}, {5000, 5000},
+                {42000, 90000}, {20, 20}, {0, 0}};
+        for (int[] offset : offsets) {
+            int left = offset[0];
+            int top = offset[1];
+            index.update(pages, left, top, left + viewportWidth, top + VIEWPORT_HEIGHT);
+
+            int visibleCount = 0;
+            for (ScrollPage page : pages) {
+                boolean expectedVisible = page.getXPosition() <= left + viewportWidth
+                        && page.getXPosition() + page.getWidth() >= left
+                        && page.getYPosition() <= top + VIEWPORT_HEIGHT
+                        && page.getYPosition() + page.getHeight() >= top;
+                assertEquals(expectedVisible, page.isVisible());
+                assertEquals(page.getYPosition() <= top, page.isScrolledToTop());
+                if (expectedVisible) {
+                    visibleCount++;
+                }
+            }
+            assertEquals(visibleCount, index.getVisibleCount());
+        }
+    }
+
+    @Test
+    public void test_indexedUpdateCostStaysFlat() {
+        // Cost is measured in page state changes, which does not depend on the device.
+        long smallFeedChanges = countIndexedUpdateChanges(10000);
+        long largeFeedChanges = countIndexedUpdateChanges(100000);
+
+        // Scrolling the same distance costs the same, however many pages the feed has.
+        assertEquals(smallFeedChanges, largeFeedChanges);
+        // Only the pages entering or leaving the viewport change state.
+        assertTrue(largeFeedChanges <= FRAME_COUNT * MAX_CHANGES_PER_FRAME);
+    }
+
+    private long countIndexedUpdateChanges(int pageCount) {
+        List<CountingScrollPage> pages = new ArrayList<>(pageCount);
+        for (int i = 0; i < pageCount; i++) {
+            CountingScrollPage page = new CountingScrollPage();
+            page.setHeight(PAGE_HEIGHT);
+            page.setYPosition(VIEWPORT_HEIGHT + i * PAGE_HEIGHT);
+            pages.add(page);
+        }
+        PageVisibilityIndex index = new PageVisibilityIndex();
+        // First update builds the index and walks every page.
+        index.update(pages, 0, VIEWPORT_HEIGHT);
+
+        long changes = -CountingScrollPage.sChangeCount;
+        for (int frame = 1; frame <= FRAME_COUNT; frame++) {
+            int top = frame * SCROLL_STEP;
+            index.update(pages, top, top + VIEWPORT_HEIGHT);
+        }
+        return changes + CountingScrollPage.sChangeCount;
+    }
+
+    private List<ScrollPage> createPages(int count) {
+        List<ScrollPage> pages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ScrollPage page = new ScrollPage();
+            page.setHeight(PAGE_HEIGHT);
+            page.setYPosition(VIEWPORT_HEIGHT + i * PAGE_HEIGHT);
+            pages.add(page);
+        }
+        return pages;
+    }
+
+    private static class CountingScrollPage extends ScrollPage {
+        static long sChangeCount;
+
+        @Override
+        public void setVisible(boolean visible) {
+            sChangeCount++;
+            super.setVisible(visible);
+        }
+
+        @Override
+        public void setScrolledToTop(boolean scrolledToTop) {
+            sChangeCount++;
+            super.setScrolledToTop(scrolledToTop);
+        }
+    }
+}
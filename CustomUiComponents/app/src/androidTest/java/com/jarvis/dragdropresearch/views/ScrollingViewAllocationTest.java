@@ -0,0 +1,80 @@
+package com.jarvis.dragdropresearch.views;
+
+import android.app.Instrumentation;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.view.View;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import androidx.test.InstrumentationRegistry;
+import androidx.test.runner.AndroidJUnit4;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the custom scrolling views do not allocate while drawing settled frames.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ScrollingViewAllocationTest {
+    private static final int WIDTH = 720;
+    private static final int HEIGHT = 1280;
+
+    @Test
+    public void test_flashShapeView_drawDoesNotAllocate() {
+        assertSettledFramesDoNotAllocate(FlashShapeView.class);
+    }
+
+    @Test
+    public void test_scrollingRailsView_drawDoesNotAllocate() {
+        assertSettledFramesDoNotAllocate(ScrollingRailsView.class);
+    }
+
+    @Test
+    public void test_imageFlashView_drawDoesNotAllocate() {
+        assertSettledFramesDoNotAllocate(ImageFlashView.class);
+    }
+
+    private void assertSettledFramesDoNotAllocate(
+            final Class<? extends AbsCustomScrollingView<?>> viewClass) {
+        Instrumentation instrumentation = InstrumentationRegistry.getInstrumentation();
+        instrumentation.runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                Context context = InstrumentationRegistry.getTargetContext();
+                AbsCustomScrollingView<?> view = createView(viewClass, context);
+                view.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                        View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+                view.layout(0, 0, WIDTH, HEIGHT);
+
+                Bitmap bitmap = Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888);
+                Canvas canvas = new Canvas(bitmap);
+                int[] scrollPositions =
+                        new int[] {0, HEIGHT / 3, HEIGHT, HEIGHT + HEIGHT / 2, 2 * HEIGHT};
+                for (int scrollY : scrollPositions) {
+                    view.scrollTo(0, scrollY);
+
+                    // The first frames at a new position may compute shape geometry and record
+                    // settled pages into their render caches.
+                    view.draw(canvas);
+                    view.draw(canvas);
+                    assertEquals("Allocations while drawing " + viewClass.getSimpleName()
+                                    + " at scrollY " + view.getScrollY(),
+                            0, DrawAllocationCounter.draw(view, canvas));
+                }
+                bitmap.recycle();
+            }
+        });
+    }
+
+    private static AbsCustomScrollingView<?> createView(
+            Class<? extends AbsCustomScrollingView<?>> viewClass, Context context) {
+        try {
+            return viewClass.getConstructor(Context.class).newInstance(context);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.jarvis.dragdropresearch.views;
+
+import android.view.MotionEvent;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stream of touch events with times relative to the first event, so that it can be replayed
+ * into a view against any clock.
+ * <p>
+ * Recordings are either captured from a live view through {@link Recorder}, or scripted with
+ * {@link Builder}.
+ */
+public class TouchRecording {
+
+    private final List<Event> mEvents;
+
+    private TouchRecording(List<Event> events) {
+        mEvents = events;
+    }
+
+    public int getEventCount() {
+        return mEvents.size();
+    }
+
+    /**
+     * @return Time of the event at the given index, in milliseconds from the first event.
+     */
+    public long getEventTime(int index) {
+        return mEvents.get(index).mTime;
+    }
+
+    /**
+     * @return Time of the last event, in milliseconds from the first event.
+     */
+    public long getDuration() {
+        return mEvents.isEmpty() ? 0 : mEvents.get(mEvents.size() - 1).mTime;
+    }
+
+    /**
+     * Create the event at the given index. The caller owns the event and must recycle it.
+     *
+     * @param baseTime Uptime, in milliseconds, that the recording starts at.
+     */
+    @NonNull
+    public MotionEvent obtainEvent(int index, long baseTime) {
+        final Event event = mEvents.get(index);
+        final int pointerCount = event.mPointerIds.length;
+        MotionEvent.PointerProperties[] properties =
+                new MotionEvent.PointerProperties[pointerCount];
+        MotionEvent.PointerCoords[] coords = new MotionEvent.PointerCoords[pointerCount];
+        for (int i = 0; i < pointerCount; i++) {
+            properties[i] = new MotionEvent.PointerProperties();
+            properties[i].id = event.mPointerIds[i];
+            coords[i] = new MotionEvent.PointerCoords();
+            coords[i].x = event.mXs[i];
+            coords[i].y = event.mYs[i];
+            coords[i].pressure = 1;
+            coords[i].size = 1;
+        }
+        return MotionEvent.obtain(baseTime + event.mDownTime, baseTime + event.mTime,
+                event.mAction, pointerCount, properties, coords, 0, 0, 1, 1, 0, 0, 0, 0);
+    }
+
+    private static class Event {
+        final int mAction;
+        final long mDownTime;
+        final long mTime;
+        final int[] mPointerIds;
+        final float[] mXs;
+        final float[] mYs;
+
+        Event(int action, long downTime, long time, int[] pointerIds, float[] xs, float[] ys) {
+            mAction = action;
+            mDownTime = downTime;
+            mTime = time;
+            mPointerIds = pointerIds;
+            mXs = xs;
+            mYs = ys;
+        }
+    }
+
+    /**
+     * Captures the touch events received by a view. Events are recorded as they are delivered,
+     * and the view still handles them.
+     */
+    public static class Recorder implements View.OnTouchListener {
+        private final List<Event> mEvents = new ArrayList<>();
+        private long mStartTime = -1;
+
+        @Override
+        public boolean onTouch(View view, MotionEvent event) {
+            if (mStartTime < 0) {
+                mStartTime = event.getDownTime();
+            }
+            final int pointerCount = event.getPointerCount();
+            int[] pointerIds = new int[pointerCount];
+            float[] xs = new float[pointerCount];
+            float[] ys = new float[pointerCount];
+            for (int i = 0; i < pointerCount; i++) {
+                pointerIds[i] = event.getPointerId(i);
+                xs[i] = event.getX(i);
+                ys[i] = event.getY(i);
+            }
+            mEvents.add(new Event(event.getAction(), event.getDownTime() - mStartTime,
+                    event.getEventTime() - mStartTime, pointerIds, xs, ys));
+            return false;
+        }
+
+        @NonNull
+        public TouchRecording build() {
+            return new TouchRecording(new ArrayList<>(mEvents));
+        }
+    }
+
+    /**
+     * Scripts a gesture on a fixed clock. Every call that moves a pointer advances the clock by
+     * the event interval, so the velocity seen by the view only depends on the script.
+     */
+    public static class Builder {
+        private static final int MAX_POINTERS = 2;
+
+        private final long mEventInterval;
+        private final List<Event> mEvents = new ArrayList<>();
+        private final int[] mIds = new int[MAX_POINTERS];
+        private final float[] mXs = new float[MAX_POINTERS];
+        private final float[] mYs = new float[MAX_POINTERS];
+        private int mPointerCount;
+        private long mDownTime;
+        private long mTime;
+
+        /**
+         * @param eventIntervalMillis Time between consecutive events.
+         */
+        public Builder(long eventIntervalMillis) {
+            mEventInterval = eventIntervalMillis;
+        }
+
+        public Builder down(float x, float y) {
+            if (mPointerCount != 0) {
+                throw new IllegalStateException("Gesture already started.");
+            }
+            mDownTime = mTime;
+            mIds[0] = 0;
+            mXs[0] = x;
+            mYs[0] = y;
+            mPointerCount = 1;
+            addEvent(MotionEvent.ACTION_DOWN);
+            return this;
+        }
+
+        /**
+         * Put a second pointer down.
+         */
+        public Builder pointerDown(float x, float y) {
+            if (mPointerCount != 1) {
+                throw new IllegalStateException(
+                        "Second pointer requires exactly one pointer down.");
+            }
+            mIds[1] = mIds[0] == 0 ? 1 : 0;
+            mXs[1] = x;
+            mYs[1] = y;
+            mPointerCount = 2;
+            addEvent(MotionEvent.ACTION_POINTER_DOWN
+                    | (1 << MotionEvent.ACTION_POINTER_INDEX_SHIFT));
+            return this;
+        }
+
+        /**
+         * Move the pointers that are down by the same amount, in the given number of events.
+         */
+        public Builder moveBy(float dx, float dy, int steps) {
+            if (mPointerCount == 0) {
+                throw new IllegalStateException("No pointer is down.");
+            }
+            for (int step = 0; step < steps; step++) {
+                mTime += mEventInterval;
+                for (int i = 0; i < mPointerCount; i++) {
+                    mXs[i] += dx / steps;
+                    mYs[i] += dy / steps;
+                }
+                addEvent(MotionEvent.ACTION_MOVE);
+            }
+            return this;
+        }
+
+        /**
+         * Lift the pointer at the given index while the other one stays down.
+         */
+        public Builder pointerUp(int pointerIndex) {
+            if (mPointerCount != 2) {
+                throw new IllegalStateException("Pointer up requires two pointers down.");
+            }
+            addEvent(MotionEvent.ACTION_POINTER_UP
+                    | (pointerIndex << MotionEvent.ACTION_POINTER_INDEX_SHIFT));
+            if (pointerIndex == 0) {
+                // The remaining pointer keeps its id.
+                mIds[0] = mIds[1];
+                mXs[0] = mXs[1];
+                mYs[0] = mYs[1];
+            }
+            mPointerCount = 1;
+            return this;
+        }
+
+        public Builder up() {
+            if (mPointerCount != 1) {
+                throw new IllegalStateException("Up requires exactly one pointer down.");
+            }
+            addEvent(MotionEvent.ACTION_UP);
+            mPointerCount = 0;
+            return this;
+        }
+
+        /**
+         * Leave time between the previous event and the next one.
+         */
+        public Builder pause(long millis) {
+            mTime += millis;
+            return this;
+        }
+
+        @NonNull
+        public TouchRecording build() {
+            if (mPointerCount != 0) {
+                throw new IllegalStateException("Gesture has pointers still down.");
+            }
+            return new TouchRecording(new ArrayList<>(mEvents));
+        }
+
+        private void addEvent(int action) {
+            int[] pointerIds = new int[mPointerCount];
+            float[] xs = new float[mPointerCount];
+            float[] ys = new float[mPointerCount];
+            for (int i = 0; i < mPointerCount; i++) {
+                pointerIds[i] = mIds[i];
+                xs[i] = mXs[i];
+                ys[i] = mYs[i];
+            }
+            mEvents.add(new Event(action, mDownTime, mTime, pointerIds, xs, ys));
+        }
+    }
+}
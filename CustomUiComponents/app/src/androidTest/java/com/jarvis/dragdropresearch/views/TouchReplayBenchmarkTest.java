@@ -0,0 +1,112 @@
+package com.jarvis.dragdropresearch.views;
+
+import android.app.Instrumentation;
+import android.content.Context;
+import android.util.Log;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import androidx.test.InstrumentationRegistry;
+import androidx.test.runner.AndroidJUnit4;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Replays scripted gestures into the custom scrolling views and logs the draw time and
+ * allocations of every replay, so that scroll performance can be compared across changes.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TouchReplayBenchmarkTest {
+    private static final String TAG = TouchReplayBenchmarkTest.class.getSimpleName();
+    private static final int WIDTH = 720;
+    private static final int HEIGHT = 1280;
+
+    @Test
+    public void test_flashShapeView_replay() {
+        replayGestures(FlashShapeView.class);
+    }
+
+    @Test
+    public void test_scrollingRailsView_replay() {
+        replayGestures(ScrollingRailsView.class);
+    }
+
+    @Test
+    public void test_imageFlashView_replay() {
+        replayGestures(ImageFlashView.class);
+    }
+
+    private void replayGestures(Class<? extends AbsCustomScrollingView<?>> viewClass) {
+        replay(viewClass, "drag", createDrag());
+        replay(viewClass, "fling", createFling());
+        replay(viewClass, "two-pointer drag", createTwoPointerDrag());
+    }
+
+    private void replay(final Class<? extends AbsCustomScrollingView<?>> viewClass,
+            String gesture, TouchRecording recording) {
+        Instrumentation instrumentation = InstrumentationRegistry.getInstrumentation();
+        final AbsCustomScrollingView<?>[] view = new AbsCustomScrollingView<?>[1];
+        instrumentation.runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                view[0] = createView(viewClass, InstrumentationRegistry.getTargetContext());
+            }
+        });
+
+        TouchReplayHarness harness = new TouchReplayHarness(instrumentation, view[0], WIDTH,
+                HEIGHT);
+        TouchReplayHarness.Report report = harness.replay(recording);
+        harness.release();
+
+        Log.i(TAG, viewClass.getSimpleName() + " " + gesture + ": " + report);
+        assertTrue("Frames missing for " + gesture, report.getFrameCount()
+                > recording.getDuration() / TouchReplayHarness.FRAME_INTERVAL_MILLIS);
+        assertTrue("Content did not scroll for " + gesture, report.getFinalScrollY() > 0);
+    }
+
+    /**
+     * Slow drag up, held still before release so that it does not fling.
+     */
+    private static TouchRecording createDrag() {
+        return new TouchRecording.Builder(TouchReplayHarness.FRAME_INTERVAL_MILLIS)
+                .down(WIDTH / 2, HEIGHT - 200)
+                .moveBy(0, -600, 30)
+                .pause(300)
+                .up()
+                .build();
+    }
+
+    private static TouchRecording createFling() {
+        return new TouchRecording.Builder(TouchReplayHarness.FRAME_INTERVAL_MILLIS)
+                .down(WIDTH / 2, HEIGHT - 100)
+                .moveBy(0, -900, 6)
+                .up()
+                .build();
+    }
+
+    /**
+     * Drag with a second pointer that takes over once the first one is lifted.
+     */
+    private static TouchRecording createTwoPointerDrag() {
+        return new TouchRecording.Builder(TouchReplayHarness.FRAME_INTERVAL_MILLIS)
+                .down(WIDTH / 3, HEIGHT - 200)
+                .moveBy(0, -200, 10)
+                .pointerDown(2 * WIDTH / 3, HEIGHT - 200)
+                .moveBy(0, -200, 10)
+                .pointerUp(0)
+                .moveBy(0, -200, 10)
+                .pause(300)
+                .up()
+                .build();
+    }
+
+    private static AbsCustomScrollingView<?> createView(
+            Class<? extends AbsCustomScrollingView<?>> viewClass, Context context) {
+        try {
+            return viewClass.getConstructor(Context.class).newInstance(context);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
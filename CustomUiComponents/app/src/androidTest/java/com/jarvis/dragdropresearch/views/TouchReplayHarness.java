@@ -0,0 +1,195 @@
+package com.jarvis.dragdropresearch.views;
+
+import android.app.Instrumentation;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Replays a {@link TouchRecording} into a scrolling view and draws every frame into an offscreen
+ * bitmap, reporting how long each draw took and how many objects it allocated.
+ * <p>
+ * Frames are laid out on a fixed clock. The events of a recording are dispatched in the frame
+ * their time falls in, with event times derived from that clock, so drags and the velocity they
+ * leave a fling with only depend on the recording. Fling animations are driven by
+ * {@link android.widget.OverScroller}, which reads the system animation clock, so frames are also
+ * paced to the frame interval in real time until the view settles.
+ */
+public class TouchReplayHarness {
+    public static final long FRAME_INTERVAL_MILLIS = 16;
+
+    /**
+     * Upper bound on the frames drawn after the last event while waiting for the view to settle.
+     */
+    private static final int MAX_SETTLE_FRAMES = 600;
+
+    private static final long[] DRAW_TIME_BOUNDS_MICROS =
+            new long[] {1000, 2000, 4000, 8000, 12000, 16000, 24000, 33000, 50000, 100000};
+
+    private final Instrumentation mInstrumentation;
+    private final AbsCustomScrollingView<?> mView;
+    private final Canvas mCanvas;
+    private final Bitmap mBitmap;
+
+    /**
+     * Measure and lay out the view at the given size. Must not be called on the main thread.
+     */
+    public TouchReplayHarness(@NonNull Instrumentation instrumentation,
+            @NonNull final AbsCustomScrollingView<?> view, final int width, final int height) {
+        mInstrumentation = instrumentation;
+        mView = view;
+        mBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        mCanvas = new Canvas(mBitmap);
+        instrumentation.runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                view.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                        View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
+                view.layout(0, 0, width, height);
+            }
+        });
+    }
+
+    /**
+     * Replay the recording, then keep drawing frames until the view stops moving. Must not be
+     * called on the main thread.
+     */
+    @NonNull
+    public Report replay(@NonNull final TouchRecording recording) {
+        final Report report = new Report();
+        final long baseTime = SystemClock.uptimeMillis();
+        final int eventCount = recording.getEventCount();
+        final boolean[] settled = new boolean[1];
+
+        int nextEvent = 0;
+        int settleFrames = 0;
+        for (int frame = 0; ; frame++) {
+            final long frameTime = frame * FRAME_INTERVAL_MILLIS;
+            final long wait = baseTime + frameTime - SystemClock.uptimeMillis();
+            if (wait > 0) {
+                SystemClock.sleep(wait);
+            }
+
+            final int firstEvent = nextEvent;
+            while (nextEvent < eventCount && recording.getEventTime(nextEvent) <= frameTime) {
+                nextEvent++;
+            }
+            final int lastEvent = nextEvent;
+            mInstrumentation.runOnMainSync(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = firstEvent; i < lastEvent; i++) {
+                        MotionEvent event = recording.obtainEvent(i, baseTime);
+                        mView.dispatchTouchEvent(event);
+                        event.recycle();
+                    }
+                    drawFrame(report);
+                    settled[0] = !mView.isBeingDragged() && !mView.isFlinging();
+                }
+            });
+
+            if (nextEvent == eventCount) {
+                if (settled[0] || ++settleFrames > MAX_SETTLE_FRAMES) {
+                    break;
+                }
+            }
+        }
+        return report;
+    }
+
+    public void release() {
+        mBitmap.recycle();
+    }
+
+    private void drawFrame(Report report) {
+        mView.computeScroll();
+        final long startNanos = System.nanoTime();
+        final int allocationCount = DrawAllocationCounter.draw(mView, mCanvas);
+        report.addFrame(System.nanoTime() - startNanos, allocationCount,
+                mView.getScrollX(), mView.getScrollY());
+    }
+
+    /**
+     * Per-frame results of a replay.
+     */
+    public static class Report {
+        private final FrameHistogram mDrawTimeHistogram =
+                new FrameHistogram(DRAW_TIME_BOUNDS_MICROS);
+        private long[] mDrawTimeNanos = new long[64];
+        private int[] mAllocationCounts = new int[64];
+        private int mFrameCount;
+        private long mTotalAllocationCount;
+        private int mMaxAllocationCount;
+        private int mFinalScrollX;
+        private int mFinalScrollY;
+
+        void addFrame(long drawTimeNanos, int allocationCount, int scrollX, int scrollY) {
+            if (mFrameCount == mDrawTimeNanos.length) {
+                mDrawTimeNanos = Arrays.copyOf(mDrawTimeNanos, 2 * mFrameCount);
+                mAllocationCounts = Arrays.copyOf(mAllocationCounts, 2 * mFrameCount);
+            }
+            mDrawTimeNanos[mFrameCount] = drawTimeNanos;
+            mAllocationCounts[mFrameCount] = allocationCount;
+            mFrameCount++;
+
+            mDrawTimeHistogram.record(drawTimeNanos / 1000);
+            mTotalAllocationCount += allocationCount;
+            mMaxAllocationCount = Math.max(mMaxAllocationCount, allocationCount);
+            mFinalScrollX = scrollX;
+            mFinalScrollY = scrollY;
+        }
+
+        public int getFrameCount() {
+            return mFrameCount;
+        }
+
+        public long getDrawTimeNanos(int frame) {
+            return mDrawTimeNanos[frame];
+        }
+
+        public int getAllocationCount(int frame) {
+            return mAllocationCounts[frame];
+        }
+
+        /**
+         * @return Histogram of the draw time of every frame, in microseconds.
+         */
+        public FrameHistogram getDrawTimeHistogram() {
+            return mDrawTimeHistogram;
+        }
+
+        public long getTotalAllocationCount() {
+            return mTotalAllocationCount;
+        }
+
+        public int getMaxAllocationCount() {
+            return mMaxAllocationCount;
+        }
+
+        public int getFinalScrollX() {
+            return mFinalScrollX;
+        }
+
+        public int getFinalScrollY() {
+            return mFinalScrollY;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.US,
+                    "frames=%d draw(us) mean=%.0f p50<=%d p90<=%d p99<=%d max=%d"
+                            + " allocations total=%d max=%d scroll=(%d, %d)",
+                    mFrameCount, mDrawTimeHistogram.getMean(),
+                    mDrawTimeHistogram.getPercentile(50), mDrawTimeHistogram.getPercentile(90),
+                    mDrawTimeHistogram.getPercentile(99), mDrawTimeHistogram.getMax(),
+                    mTotalAllocationCount, mMaxAllocationCount, mFinalScrollX, mFinalScrollY);
+        }
+    }
+}
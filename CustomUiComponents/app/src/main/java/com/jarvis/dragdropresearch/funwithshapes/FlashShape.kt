@@ -117,9 +117,15 @@ abstract class FlashShape(type: Type) {
      * This array will be used to color the segments, with array[i] coloring segment[i].
      */
     fun generateRandomComponentColors() {
-        val componentColors = IntArray(getMaxComponents())
+        generateRandomComponentColors(Random(System.currentTimeMillis()))
+    }
 
-        val random = Random(System.currentTimeMillis())
+    /**
+     * Generate a random array of colors of size, drawing from the given source of randomness so
+     * that the colors can be reproduced from a seed.
+     */
+    fun generateRandomComponentColors(random: Random) {
+        val componentColors = IntArray(getMaxComponents())
 
         for (i in componentColors.indices) {
             componentColors[i] =
@@ -0,0 +1,131 @@
+package com.jarvis.dragdropresearch.funwithshapes;
+
+import com.jarvis.dragdropresearch.interpolators.RectangleGeometry;
+import com.jarvis.dragdropresearch.interpolators.StarGeometry;
+import com.jarvis.dragdropresearch.interpolators.TriangleGeometry;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares the immutable geometry of shapes between every shape of the same type and size, keyed by
+ * shape type, width, height and whether the shape is symmetric. Interpolators built from a shared
+ * geometry only hold their own value and output, so pages of the same size no longer compute and
+ * store the same lines, midpoints and intersections.
+ * <p>
+ * Geometry can be looked up and added from any thread.
+ */
+public class ShapeGeometryCache {
+
+    private final ConcurrentHashMap<Key, Object> mGeometries = new ConcurrentHashMap<>();
+
+    /**
+     * @return Geometry of a star of the given size, computed on the calling thread if it is not
+     * cached yet.
+     */
+    @NonNull
+    public StarGeometry getStarGeometry(float width, float height) {
+        StarGeometry geometry = peekStarGeometry(width, height);
+        if (geometry == null) {
+            geometry = new StarGeometry(width, height);
+            Object previous = mGeometries.putIfAbsent(
+                    new Key(FlashShape.Type.STAR, width, height, false), geometry);
+            if (previous != null) {
+                // Another thread computed the same geometry first.
+                geometry = (StarGeometry)previous;
+            }
+        }
+        return geometry;
+    }
+
+    /**
+     * @return Geometry of a star of the given size if it is cached, null otherwise.
+     */
+    @Nullable
+    public StarGeometry peekStarGeometry(float width, float height) {
+        return (StarGeometry)mGeometries.get(new Key(FlashShape.Type.STAR, width, height, false));
+    }
+
+    /**
+     * @return Geometry of a triangle with the given maximum altitude and base.
+     */
+    @NonNull
+    public TriangleGeometry getTriangleGeometry(float altitude, float base, boolean symmetric) {
+        Key key = new Key(FlashShape.Type.TRIANGLE, base, altitude, symmetric);
+        TriangleGeometry geometry = (TriangleGeometry)mGeometries.get(key);
+        if (geometry == null) {
+            geometry = new TriangleGeometry(altitude, base, symmetric);
+            Object previous = mGeometries.putIfAbsent(key, geometry);
+            if (previous != null) {
+                geometry = (TriangleGeometry)previous;
+            }
+        }
+        return geometry;
+    }
+
+    /**
+     * @return Geometry of a rectangle drawn in bounds of the given size.
+     */
+    @NonNull
+    public RectangleGeometry getRectangleGeometry(float height, float width, boolean symmetric) {
+        Key key = new Key(FlashShape.Type.RECTANGLE, width, height, symmetric);
+        RectangleGeometry geometry = (RectangleGeometry)mGeometries.get(key);
+        if (geometry == null) {
+            geometry = new RectangleGeometry(height, width, symmetric);
+            Object previous = mGeometries.putIfAbsent(key, geometry);
+            if (previous != null) {
+                geometry = (RectangleGeometry)previous;
+            }
+        }
+        return geometry;
+    }
+
+    /**
+     * @return Number of cached geometries.
+     */
+    public int size() {
+        return mGeometries.size();
+    }
+
+    /**
+     * Drop every geometry, typically once shapes are no longer drawn at the cached sizes. Shapes
+     * keep the geometry they were built with.
+     */
+    public void clear() {
+        mGeometries.clear();
+    }
+
+    private static final class Key {
+        private final FlashShape.Type mType;
+        private final float mWidth;
+        private final float mHeight;
+        private final boolean mSymmetric;
+
+        Key(FlashShape.Type type, float width, float height, boolean symmetric) {
+            mType = type;
+            mWidth = width;
+            mHeight = height;
+            mSymmetric = symmetric;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key)o;
+            return mType == key.mType && Float.compare(mWidth, key.mWidth) == 0
+                    && Float.compare(mHeight, key.mHeight) == 0 && mSymmetric == key.mSymmetric;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = mType.hashCode();
+            result = 31 * result + Float.floatToIntBits(mWidth);
+            result = 31 * result + Float.floatToIntBits(mHeight);
+            return 31 * result + (mSymmetric ? 1 : 0);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.jarvis.dragdropresearch.funwithshapes;
+
+import android.graphics.Path;
+import android.graphics.RectF;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Geometry of the arcs that make up a spiral, relative to the center of the spiral.
+ * <p>
+ * Segment {@code i} is a half oval of {@code (i + 1)} times the width and height factors of the
+ * spiral. Even segments are bottom halves, odd segments are top halves. The first segment is
+ * centered, top segments then start at the left edge of the spiral drawn so far and bottom
+ * segments end at its right edge. Those edges are tracked as segments are added, so every segment
+ * is computed in constant time and only once: growing the spiral appends segments, and shrinking
+ * it keeps the computed ones for when it grows back.
+ */
+public class SpiralGeometry {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final float mSegmentWidthFactor;
+    private final float mSegmentHeightFactor;
+
+    // Left, top, right and bottom of the oval of every computed segment.
+    private float[] mArcBounds = new float[4 * INITIAL_CAPACITY];
+    // Start and sweep angle of every computed segment.
+    private float[] mArcAngles = new float[2 * INITIAL_CAPACITY];
+    private int mComputedSegmentCount;
+    private int mSegmentCount;
+
+    // Horizontal extent of the computed segments.
+    private float mLeft;
+    private float mRight;
+
+    private final Path mPath = new Path();
+    private final RectF mArcRect = new RectF();
+    private int mPathSegmentCount;
+
+    /**
+     * @param segmentWidthFactor Width added to the oval of every segment.
+     * @param segmentHeightFactor Height added to the oval of every segment.
+     */
+    public SpiralGeometry(float segmentWidthFactor, float segmentHeightFactor) {
+        mSegmentWidthFactor = segmentWidthFactor;
+        mSegmentHeightFactor = segmentHeightFactor;
+    }
+
+    /**
+     * Set the number of segments of the spiral, computing the segments not computed yet.
+     */
+    public void setSegmentCount(int segmentCount) {
+        if (segmentCount > mComputedSegmentCount) {
+            ensureCapacity(segmentCount);
+            for (int i = mComputedSegmentCount; i < segmentCount; i++) {
+                computeSegment(i);
+            }
+            mComputedSegmentCount = segmentCount;
+        }
+        mSegmentCount = segmentCount;
+    }
+
+    public int getSegmentCount() {
+        return mSegmentCount;
+    }
+
+    /**
+     * @return Bounds of the oval of every segment, as left, top, right and bottom relative to the
+     * center of the spiral. Only the first {@code 4 * }{@link #getSegmentCount()} values are
+     * valid. The array is reused and must not be modified.
+     */
+    @NonNull
+    public float[] getArcBounds() {
+        return mArcBounds;
+    }
+
+    /**
+     * @return Start and sweep angle of every segment. Only the first
+     * {@code 2 * }{@link #getSegmentCount()} values are valid. The array is reused and must not be
+     * modified.
+     */
+    @NonNull
+    public float[] getArcAngles() {
+        return mArcAngles;
+    }
+
+    /**
+     * @param maxSegments Maximum number of segments to include, starting from the center.
+     * @return Path of the segments, relative to the center of the spiral. The path is reused and
+     * extended with new segments rather than rebuilt while the spiral grows.
+     */
+    @NonNull
+    public Path getPath(int maxSegments) {
+        final int segmentCount = Math.min(mSegmentCount, maxSegments);
+        if (segmentCount < mPathSegmentCount) {
+            mPath.reset();
+            mPathSegmentCount = 0;
+        }
+        for (int i = mPathSegmentCount; i < segmentCount; i++) {
+            mArcRect.set(mArcBounds[4 * i], mArcBounds[4 * i + 1], mArcBounds[4 * i + 2],
+                    mArcBounds[4 * i + 3]);
+            mPath.addArc(mArcRect, mArcAngles[2 * i], mArcAngles[2 * i + 1]);
+        }
+        mPathSegmentCount = segmentCount;
+        return mPath;
+    }
+
+    private void computeSegment(int index) {
+        final float width = (index + 1) * mSegmentWidthFactor;
+        final float height = (index + 1) * mSegmentHeightFactor;
+        final boolean top = index % 2 != 0;
+
+        final float left;
+        if (index == 0) {
+            left = -width / 2;
+        } else if (top) {
+            left = mLeft;
+        } else {
+            left = mRight - width;
+        }
+        final float right = left + width;
+
+        mArcBounds[4 * index] = left;
+        mArcBounds[4 * index + 1] = -height / 2;
+        mArcBounds[4 * index + 2] = right;
+        mArcBounds[4 * index + 3] = height / 2;
+        mArcAngles[2 * index] = top ? 180 : 0;
+        mArcAngles[2 * index + 1] = 180;
+
+        mLeft = index == 0 ? left : Math.min(mLeft, left);
+        mRight = index == 0 ? right : Math.max(mRight, right);
+    }
+
+    private void ensureCapacity(int segmentCount) {
+        if (4 * segmentCount > mArcBounds.length) {
+            final int capacity = Math.max(segmentCount, 2 * mArcBounds.length / 4);
+            mArcBounds = Arrays.copyOf(mArcBounds, 4 * capacity);
+            mArcAngles = Arrays.copyOf(mArcAngles, 2 * capacity);
+        }
+    }
+}
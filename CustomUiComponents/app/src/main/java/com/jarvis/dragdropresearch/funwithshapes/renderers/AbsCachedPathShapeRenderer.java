@@ -0,0 +1,118 @@
+package com.jarvis.dragdropresearch.funwithshapes.renderers;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+
+import com.jarvis.dragdropresearch.funwithshapes.FlashShape;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Base {@link ShapeRenderer} for shapes drawn as filled paths, one per colored component. Paths
+ * are taken from a {@link ShapePathCache} when one is set, and only rebuilt when the shape moves
+ * to an interpolation level that is not cached. The components can also be added to a
+ * {@link ShapeVertexBatch} as triangles.
+ */
+public abstract class AbsCachedPathShapeRenderer extends AbsShapeRenderer
+        implements BatchableShapeRenderer, ShapePathCache.PathBuilder {
+
+    private final ShapePathCache mPathCache;
+    private final RectF mLocalBounds = new RectF();
+
+    /**
+     * @param pathCache Cache to take paths from, or null to rebuild them on every frame.
+     */
+    protected AbsCachedPathShapeRenderer(@NonNull Paint.Style style, float strokeWidth,
+            @Nullable ShapePathCache pathCache) {
+        super(style, strokeWidth);
+        mPathCache = pathCache;
+    }
+
+    @Nullable
+    public ShapePathCache getPathCache() {
+        return mPathCache;
+    }
+
+    @Override
+    public void release(@NonNull FlashShape shape) {
+        if (mPathCache != null) {
+            mPathCache.remove(shape);
+        }
+    }
+
+    @Override
+    protected final void onDraw(@NonNull Canvas canvas, @NonNull FlashShape shape,
+            @NonNull RectF bounds, @NonNull Paint paint) {
+        if (mPathCache == null) {
+            onDrawUncached(canvas, shape, bounds, paint);
+            return;
+        }
+
+        ShapePathCache.Entry entry = mPathCache.obtain(shape, getInterpolation(shape),
+                bounds.width(), bounds.height(), this);
+        canvas.translate(bounds.left, bounds.top);
+        if (isMultiColored(shape)) {
+            final int[] componentColors = shape.getComponentColors();
+            for (int i = 0; i < entry.getPathCount(); i++) {
+                paint.setColor(componentColors[i % componentColors.length]);
+                canvas.drawPath(entry.getPath(i), paint);
+            }
+        } else {
+            canvas.drawPath(entry.getMergedPath(), paint);
+        }
+        canvas.translate(-bounds.left, -bounds.top);
+    }
+
+    @Override
+    public final void addToBatch(@NonNull FlashShape shape, @NonNull RectF bounds,
+            @NonNull ShapeVertexBatch batch) {
+        onAddToBatch(shape, bounds, batch);
+    }
+
+    @Override
+    public final int buildPaths(@NonNull FlashShape shape, float width, float height,
+            @NonNull ShapePathCache.Entry entry) {
+        mLocalBounds.set(0, 0, width, height);
+        return onBuildPaths(shape, mLocalBounds, entry);
+    }
+
+    /**
+     * @return True if the components of the shape are drawn in the component colors of the shape
+     * rather than in its interpolated color.
+     */
+    protected abstract boolean isMultiColored(@NonNull FlashShape shape);
+
+    /**
+     * @return Color the given component of the shape is drawn in.
+     */
+    protected int getComponentColor(@NonNull FlashShape shape, int component) {
+        if (isMultiColored(shape)) {
+            final int[] componentColors = shape.getComponentColors();
+            return componentColors[component % componentColors.length];
+        }
+        return shape.getColorInterpolator().getInterpolatedShade();
+    }
+
+    /**
+     * Add the triangles of every component of the shape to the batch, in the colors returned by
+     * {@link #getComponentColor(FlashShape, int)}.
+     */
+    protected abstract void onAddToBatch(@NonNull FlashShape shape, @NonNull RectF bounds,
+            @NonNull ShapeVertexBatch batch);
+
+    /**
+     * Add one path per colored component of the shape to the entry.
+     *
+     * @return Number of points added to the paths.
+     */
+    protected abstract int onBuildPaths(@NonNull FlashShape shape, @NonNull RectF bounds,
+            @NonNull ShapePathCache.Entry entry);
+
+    /**
+     * Draw the shape without a path cache.
+     */
+    protected abstract void onDrawUncached(@NonNull Canvas canvas, @NonNull FlashShape shape,
+            @NonNull RectF bounds, @NonNull Paint paint);
+}
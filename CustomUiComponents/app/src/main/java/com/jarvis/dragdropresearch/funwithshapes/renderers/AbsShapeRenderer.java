@@ -0,0 +1,108 @@
+package com.jarvis.dragdropresearch.funwithshapes.renderers;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffXfermode;
+import android.graphics.RectF;
+
+import com.jarvis.dragdropresearch.funwithshapes.FlashShape;
+import com.jarvis.dragdropresearch.views.AbsCustomScrollingView;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Base {@link ShapeRenderer} that handles the color of the shape. Subclasses update and draw the
+ * geometry of their shape type.
+ */
+public abstract class AbsShapeRenderer implements ShapeRenderer {
+    private static final PorterDuffXfermode XFERMODE_SRC_OVER =
+            new PorterDuffXfermode(PorterDuff.Mode.SRC_OVER);
+
+    private final Paint mPaint = new Paint();
+
+    private int mDetailLevel = AbsCustomScrollingView.DETAIL_FULL;
+    private RenderQuality mRenderQuality = RenderQuality.HIGH;
+
+    /**
+     * @param style Style of the paint the shapes are drawn with.
+     * @param strokeWidth Stroke width of the paint the shapes are drawn with.
+     */
+    protected AbsShapeRenderer(@NonNull Paint.Style style, float strokeWidth) {
+        mPaint.setStyle(style);
+        mPaint.setStrokeWidth(strokeWidth);
+        updatePaint();
+    }
+
+    @Override
+    public final void update(@NonNull FlashShape shape, int value) {
+        shape.getColorInterpolator().updateValue(value);
+        onUpdateGeometry(shape, value);
+    }
+
+    @Override
+    public final void draw(@NonNull Canvas canvas, @NonNull FlashShape shape,
+            @NonNull RectF bounds) {
+        mPaint.setColor(shape.getColorInterpolator().getInterpolatedShade());
+        onDraw(canvas, shape, bounds, mPaint);
+    }
+
+    @Override
+    public void release(@NonNull FlashShape shape) {
+    }
+
+    @Override
+    public void setDetailLevel(int detailLevel) {
+        mDetailLevel = detailLevel;
+        updatePaint();
+    }
+
+    protected int getDetailLevel() {
+        return mDetailLevel;
+    }
+
+    @Override
+    public void setRenderQuality(@NonNull RenderQuality quality) {
+        mRenderQuality = quality;
+        updatePaint();
+    }
+
+    @NonNull
+    protected RenderQuality getRenderQuality() {
+        return mRenderQuality;
+    }
+
+    /**
+     * @return True if shapes that allow it may currently be drawn in their component colors, which
+     * is only the case at full detail on devices whose quality tier allows it.
+     */
+    protected boolean isMultiColorAllowed() {
+        return mDetailLevel == AbsCustomScrollingView.DETAIL_FULL
+                && mRenderQuality.isMultiColored();
+    }
+
+    /**
+     * Below full detail, or if the quality tier does not allow them, shapes are drawn without
+     * anti-aliasing and blended with the default source-over mode rather than an explicit
+     * xfermode.
+     */
+    private void updatePaint() {
+        final boolean fullDetail = mDetailLevel == AbsCustomScrollingView.DETAIL_FULL;
+        mPaint.setAntiAlias(fullDetail && mRenderQuality.isAntiAlias());
+        mPaint.setXfermode(fullDetail && mRenderQuality.usesExplicitXfermode()
+                ? XFERMODE_SRC_OVER : null);
+    }
+
+    /**
+     * Update the interpolators of the geometry of the shape.
+     */
+    protected abstract void onUpdateGeometry(@NonNull FlashShape shape, int value);
+
+    /**
+     * Draw the geometry of the shape.
+     *
+     * @param paint Paint set to the interpolated color of the shape.
+     */
+    protected abstract void onDraw(@NonNull Canvas canvas, @NonNull FlashShape shape,
+            @NonNull RectF bounds, @NonNull Paint paint);
+}
@@ -0,0 +1,38 @@
+package com.jarvis.dragdropresearch.funwithshapes.renderers;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+
+import com.jarvis.dragdropresearch.funwithshapes.ArcShape;
+import com.jarvis.dragdropresearch.funwithshapes.FlashShape;
+import com.jarvis.dragdropresearch.utils.DrawingUtils;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Draws {@link ArcShape}s as filled pie slices.
+ */
+public class ArcShapeRenderer extends AbsShapeRenderer {
+
+    public ArcShapeRenderer(float strokeWidth) {
+        super(Paint.Style.FILL, strokeWidth);
+    }
+
+    @Override
+    protected void onUpdateGeometry(@NonNull FlashShape shape, int value) {
+        ((ArcShape)shape).getAngleInterpolator().updateValue(value);
+    }
+
+    @Override
+    public float getInterpolation(@NonNull FlashShape shape) {
+        return ((ArcShape)shape).getAngleInterpolator().getInterpolation();
+    }
+
+    @Override
+    protected void onDraw(@NonNull Canvas canvas, @NonNull FlashShape shape,
+            @NonNull RectF bounds, @NonNull Paint paint) {
+        DrawingUtils.drawArcShape(canvas, (ArcShape)shape, bounds, paint,
+                getRenderQuality().isMultiColored() && shape.allowMultiColoredComponents());
+    }
+}
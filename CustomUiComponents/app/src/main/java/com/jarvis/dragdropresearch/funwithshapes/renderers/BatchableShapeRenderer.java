@@ -0,0 +1,20 @@
+package com.jarvis.dragdropresearch.funwithshapes.renderers;
+
+import android.graphics.RectF;
+
+import com.jarvis.dragdropresearch.funwithshapes.FlashShape;
+
+import androidx.annotation.NonNull;
+
+/**
+ * {@link ShapeRenderer} able to add its shapes to a {@link ShapeVertexBatch} instead of drawing
+ * them directly.
+ */
+public interface BatchableShapeRenderer extends ShapeRenderer {
+
+    /**
+     * Add the shape, in its current interpolated state within the given bounds, to the batch.
+     */
+    void addToBatch(@NonNull FlashShape shape, @NonNull RectF bounds,
+            @NonNull ShapeVertexBatch batch);
+}
@@ -0,0 +1,74 @@
+package com.jarvis.dragdropresearch.funwithshapes.renderers;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+
+import com.jarvis.dragdropresearch.funwithshapes.FlashShape;
+import com.jarvis.dragdropresearch.funwithshapes.RectangleShape;
+import com.jarvis.dragdropresearch.utils.DrawingUtils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * Draws {@link RectangleShape}s as filled rectangles.
+ */
+public class RectangleShapeRenderer extends AbsCachedPathShapeRenderer {
+
+    public RectangleShapeRenderer(float strokeWidth) {
+        this(strokeWidth, null);
+    }
+
+    public RectangleShapeRenderer(float strokeWidth, @Nullable ShapePathCache pathCache) {
+        super(Paint.Style.FILL, strokeWidth, pathCache);
+    }
+
+    @Override
+    protected void onUpdateGeometry(@NonNull FlashShape shape, int value) {
+        ((RectangleShape)shape).getRectangleInterpolator().updateValue(value);
+    }
+
+    @Override
+    public float getInterpolation(@NonNull FlashShape shape) {
+        return ((RectangleShape)shape).getRectangleInterpolator().getInterpolation();
+    }
+
+    @Override
+    protected boolean isMultiColored(@NonNull FlashShape shape) {
+        return getRenderQuality().isMultiColored() && shape.allowMultiColoredComponents();
+    }
+
+    @Override
+    protected int onBuildPaths(@NonNull FlashShape shape, @NonNull RectF bounds,
+            @NonNull ShapePathCache.Entry entry) {
+        List<RectF> components = ((RectangleShape)shape).getRectangleInterpolator()
+                .getDrawingDescriptor().getRectangleComponents();
+        for (int i = 0; i < components.size(); i++) {
+            DrawingUtils.addRectangleComponent(entry.nextPath(), components.get(i), bounds);
+        }
+        return 4 * components.size();
+    }
+
+    @Override
+    protected void onAddToBatch(@NonNull FlashShape shape, @NonNull RectF bounds,
+            @NonNull ShapeVertexBatch batch) {
+        List<RectF> components = ((RectangleShape)shape).getRectangleInterpolator()
+                .getDrawingDescriptor().getRectangleComponents();
+        for (int i = 0; i < components.size(); i++) {
+            RectF component = components.get(i);
+            batch.addRect(bounds.left + component.left, bounds.top + component.top,
+                    bounds.left + component.right, bounds.top + component.bottom,
+                    getComponentColor(shape, i));
+        }
+    }
+
+    @Override
+    protected void onDrawUncached(@NonNull Canvas canvas, @NonNull FlashShape shape,
+            @NonNull RectF bounds, @NonNull Paint paint) {
+        DrawingUtils.drawRectangleShape(canvas, (RectangleShape)shape, bounds, paint,
+                isMultiColored(shape));
+    }
+}
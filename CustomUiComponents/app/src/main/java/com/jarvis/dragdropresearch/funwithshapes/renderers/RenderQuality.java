@@ -0,0 +1,129 @@
+package com.jarvis.dragdropresearch.funwithshapes.renderers;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Quality tier shapes are rendered at, chosen once for the device. Where the level of detail
+ * trades quality for speed while the view moves fast, the tier caps the quality shapes are drawn
+ * with at any speed, so that slower devices keep up with the frame rate.
+ * <p>
+ * Tiers are immutable and can be shared by every renderer.
+ */
+public final class RenderQuality {
+    public static final int TIER_LOW = 0;
+    public static final int TIER_MEDIUM = 1;
+    public static final int TIER_HIGH = 2;
+
+    /**
+     * Longest calibration frame, in nanoseconds, for a device to be in {@link #TIER_HIGH}. A
+     * calibration frame only draws shapes, so this leaves most of a 60fps frame for the rest of
+     * the work.
+     */
+    public static final long HIGH_TIER_MAX_FRAME_NANOS = 4000000L;
+
+    /**
+     * Longest calibration frame, in nanoseconds, for a device to be in {@link #TIER_MEDIUM}.
+     */
+    public static final long MEDIUM_TIER_MAX_FRAME_NANOS = 8000000L;
+
+    /**
+     * Anti-aliased, explicitly blended and multicolored shapes with every spiral segment.
+     */
+    public static final RenderQuality HIGH =
+            new RenderQuality(TIER_HIGH, true, true, true, Integer.MAX_VALUE);
+
+    /**
+     * Multicolored shapes without anti-aliasing, and at most 16 spiral segments.
+     */
+    public static final RenderQuality MEDIUM =
+            new RenderQuality(TIER_MEDIUM, false, false, true, 16);
+
+    /**
+     * Single-colored shapes without anti-aliasing, and at most 8 spiral segments.
+     */
+    public static final RenderQuality LOW =
+            new RenderQuality(TIER_LOW, false, false, false, 8);
+
+    private final int mTier;
+    private final boolean mAntiAlias;
+    private final boolean mExplicitXfermode;
+    private final boolean mMultiColored;
+    private final int mSpiralSegmentLimit;
+
+    private RenderQuality(int tier, boolean antiAlias, boolean explicitXfermode,
+            boolean multiColored, int spiralSegmentLimit) {
+        mTier = tier;
+        mAntiAlias = antiAlias;
+        mExplicitXfermode = explicitXfermode;
+        mMultiColored = multiColored;
+        mSpiralSegmentLimit = spiralSegmentLimit;
+    }
+
+    /**
+     * @param tier One of {@link #TIER_LOW}, {@link #TIER_MEDIUM} or {@link #TIER_HIGH}.
+     */
+    @NonNull
+    public static RenderQuality forTier(int tier) {
+        switch (tier) {
+            case TIER_LOW:
+                return LOW;
+            case TIER_MEDIUM:
+                return MEDIUM;
+            case TIER_HIGH:
+                return HIGH;
+            default:
+                throw new IllegalArgumentException("Unknown render quality tier " + tier);
+        }
+    }
+
+    /**
+     * @param frameNanos Average time, in nanoseconds, taken to draw a calibration frame at
+     * {@link #HIGH} quality.
+     * @return Highest tier the device can draw at without missing frames.
+     */
+    @NonNull
+    public static RenderQuality fromCalibration(long frameNanos) {
+        if (frameNanos <= HIGH_TIER_MAX_FRAME_NANOS) {
+            return HIGH;
+        } else if (frameNanos <= MEDIUM_TIER_MAX_FRAME_NANOS) {
+            return MEDIUM;
+        }
+        return LOW;
+    }
+
+    /**
+     * @return One of {@link #TIER_LOW}, {@link #TIER_MEDIUM} or {@link #TIER_HIGH}.
+     */
+    public int getTier() {
+        return mTier;
+    }
+
+    /**
+     * @return True if shapes are anti-aliased at full detail.
+     */
+    public boolean isAntiAlias() {
+        return mAntiAlias;
+    }
+
+    /**
+     * @return True if shapes are blended with an explicit source-over xfermode at full detail,
+     * rather than the default blending.
+     */
+    public boolean usesExplicitXfermode() {
+        return mExplicitXfermode;
+    }
+
+    /**
+     * @return True if shapes that allow it may be drawn in their component colors.
+     */
+    public boolean isMultiColored() {
+        return mMultiColored;
+    }
+
+    /**
+     * @return Largest number of segments drawn for a spiral.
+     */
+    public int getSpiralSegmentLimit() {
+        return mSpiralSegmentLimit;
+    }
+}
@@ -0,0 +1,273 @@
+package com.jarvis.dragdropresearch.funwithshapes.renderers;
+
+import android.graphics.Path;
+
+import com.jarvis.dragdropresearch.funwithshapes.FlashShape;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches the {@link Path}s of interpolated shapes, keyed by shape instance and by interpolation
+ * quantized to a fixed number of levels. Frames whose interpolation lands on a level that was
+ * already built reuse its paths instead of rebuilding them, which makes the geometry of a shape
+ * accurate to within one level.
+ * <p>
+ * Entries are evicted least recently used first once their estimated size goes over the memory
+ * cap, or when their shape is {@link #remove(FlashShape) removed}. Paths are built with their
+ * origin at the top left of the shape bounds, so they can be drawn at any position. Only meant
+ * to be used from the main thread.
+ */
+public class ShapePathCache {
+    public static final int DEFAULT_LEVEL_COUNT = 256;
+    public static final int DEFAULT_MAX_SIZE_BYTES = 512 * 1024;
+
+    // Rough native cost of a path and of each of its points, used to enforce the memory cap.
+    private static final int PATH_SIZE_BYTES = 64;
+    private static final int POINT_SIZE_BYTES = 9;
+
+    private static final int MAX_POOLED_ENTRIES = 8;
+
+    /**
+     * Builds the paths of a shape into a cache entry.
+     */
+    public interface PathBuilder {
+
+        /**
+         * Build the paths of the shape in its current interpolated state, with their origin at
+         * the top left of bounds of the given size.
+         *
+         * @param entry Entry to add the paths to through {@link Entry#nextPath()}.
+         * @return Number of points added to the paths, used to estimate their size.
+         */
+        int buildPaths(@NonNull FlashShape shape, float width, float height,
+                @NonNull Entry entry);
+    }
+
+    private final int mLevelCount;
+    private final int mMaxSizeBytes;
+    private final LinkedHashMap<Key, Entry> mEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ArrayList<Entry> mEntryPool = new ArrayList<>(MAX_POOLED_ENTRIES);
+    private final Key mLookupKey = new Key();
+    private int mSizeBytes;
+
+    public ShapePathCache() {
+        this(DEFAULT_LEVEL_COUNT, DEFAULT_MAX_SIZE_BYTES);
+    }
+
+    /**
+     * @param levelCount Number of levels the interpolation is quantized to. Must be at least 2.
+     * @param maxSizeBytes Estimated size of the cached paths above which entries are evicted.
+     */
+    public ShapePathCache(int levelCount, int maxSizeBytes) {
+        if (levelCount < 2) {
+            throw new IllegalArgumentException("Level count must be at least 2: " + levelCount);
+        }
+        if (maxSizeBytes <= 0) {
+            throw new IllegalArgumentException("Max size must be positive: " + maxSizeBytes);
+        }
+        mLevelCount = levelCount;
+        mMaxSizeBytes = maxSizeBytes;
+    }
+
+    public int getLevelCount() {
+        return mLevelCount;
+    }
+
+    public int getMaxSizeBytes() {
+        return mMaxSizeBytes;
+    }
+
+    /**
+     * @return Estimated size of the cached paths.
+     */
+    public int getSizeBytes() {
+        return mSizeBytes;
+    }
+
+    /**
+     * @return Paths of the shape at the level of the given interpolation, built by the builder
+     * if that level is not cached for bounds of the given size.
+     */
+    @NonNull
+    public Entry obtain(@NonNull FlashShape shape, float interpolation, float width, float height,
+            @NonNull PathBuilder builder) {
+        final int level = getLevel(interpolation);
+        mLookupKey.set(shape, level);
+        Entry entry = mEntries.get(mLookupKey);
+        if (entry != null && entry.mWidth == width && entry.mHeight == height) {
+            return entry;
+        }
+
+        if (entry != null) {
+            mSizeBytes -= entry.mSizeBytes;
+        } else {
+            entry = obtainEntry();
+            Key key = new Key();
+            key.set(shape, level);
+            mEntries.put(key, entry);
+        }
+
+        entry.reset(width, height);
+        final int pointCount = builder.buildPaths(shape, width, height, entry);
+        entry.mSizeBytes = entry.mPathCount * PATH_SIZE_BYTES + pointCount * POINT_SIZE_BYTES;
+        mSizeBytes += entry.mSizeBytes;
+        trimToSize(entry);
+        return entry;
+    }
+
+    /**
+     * Drop the entries of a shape, for shapes that will not be drawn again.
+     */
+    public void remove(@NonNull FlashShape shape) {
+        Iterator<Map.Entry<Key, Entry>> iterator = mEntries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Entry> mapEntry = iterator.next();
+            if (mapEntry.getKey().mShape == shape) {
+                iterator.remove();
+                Entry entry = mapEntry.getValue();
+                mSizeBytes -= entry.mSizeBytes;
+                recycleEntry(entry);
+            }
+        }
+    }
+
+    /**
+     * Drop every entry.
+     */
+    public void clear() {
+        for (Entry entry : mEntries.values()) {
+            recycleEntry(entry);
+        }
+        mEntries.clear();
+        mSizeBytes = 0;
+    }
+
+    private int getLevel(float interpolation) {
+        final float clamped = Math.max(0, Math.min(1, interpolation));
+        return Math.round(clamped * (mLevelCount - 1));
+    }
+
+    /**
+     * Evict least recently used entries until the cache fits its cap, keeping the entry that
+     * was just built.
+     */
+    private void trimToSize(Entry keep) {
+        Iterator<Map.Entry<Key, Entry>> iterator = mEntries.entrySet().iterator();
+        while (mSizeBytes > mMaxSizeBytes && iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            if (entry == keep) {
+                continue;
+            }
+            iterator.remove();
+            mSizeBytes -= entry.mSizeBytes;
+            recycleEntry(entry);
+        }
+    }
+
+    private Entry obtainEntry() {
+        return mEntryPool.isEmpty() ? new Entry() : mEntryPool.remove(mEntryPool.size() - 1);
+    }
+
+    private void recycleEntry(Entry entry) {
+        if (mEntryPool.size() < MAX_POOLED_ENTRIES) {
+            mEntryPool.add(entry);
+        }
+    }
+
+    /**
+     * Paths of a shape at one interpolation level. Paths are reused when the entry is rebuilt.
+     */
+    public static class Entry {
+        private final ArrayList<Path> mPaths = new ArrayList<>(5);
+        private final Path mMergedPath = new Path();
+        private boolean mMergedPathValid;
+        private int mPathCount;
+        private int mSizeBytes;
+        private float mWidth;
+        private float mHeight;
+
+        Entry() {
+        }
+
+        /**
+         * @return Next empty path of the entry. Called by {@link PathBuilder}s once per component
+         * of the shape.
+         */
+        @NonNull
+        public Path nextPath() {
+            if (mPathCount == mPaths.size()) {
+                mPaths.add(new Path());
+            }
+            Path path = mPaths.get(mPathCount++);
+            path.reset();
+            return path;
+        }
+
+        public int getPathCount() {
+            return mPathCount;
+        }
+
+        @NonNull
+        public Path getPath(int index) {
+            if (index >= mPathCount) {
+                throw new IndexOutOfBoundsException(
+                        "Path " + index + " out of " + mPathCount + " paths.");
+            }
+            return mPaths.get(index);
+        }
+
+        /**
+         * @return Every path of the entry combined into one, for drawing in a single color.
+         */
+        @NonNull
+        public Path getMergedPath() {
+            if (!mMergedPathValid) {
+                mMergedPath.reset();
+                for (int i = 0; i < mPathCount; i++) {
+                    mMergedPath.addPath(mPaths.get(i));
+                }
+                mMergedPathValid = true;
+            }
+            return mMergedPath;
+        }
+
+        void reset(float width, float height) {
+            mPathCount = 0;
+            mMergedPathValid = false;
+            mWidth = width;
+            mHeight = height;
+        }
+    }
+
+    /**
+     * Shape instance and interpolation level. Shapes are compared by identity.
+     */
+    private static class Key {
+        private FlashShape mShape;
+        private int mLevel;
+
+        void set(FlashShape shape, int level) {
+            mShape = shape;
+            mLevel = level;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key)o;
+            return mShape == key.mShape && mLevel == key.mLevel;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(mShape) + mLevel;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.jarvis.dragdropresearch.funwithshapes.renderers;
+
+import android.graphics.Canvas;
+import android.graphics.RectF;
+
+import com.jarvis.dragdropresearch.funwithshapes.FlashShape;
+import com.jarvis.dragdropresearch.views.AbsCustomScrollingView;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Updates and draws the {@link FlashShape}s of one {@link FlashShape.Type}. Renderers are looked
+ * up through a {@link ShapeRendererRegistry}, so that new kinds of shapes can be drawn without
+ * changes to the view drawing them.
+ * <p>
+ * Renderers own the drawing objects they need and reuse them across frames. Drawing only happens
+ * on the main thread, but {@link #update(FlashShape, int)} may be called from a background
+ * thread for shapes that are not being drawn.
+ */
+public interface ShapeRenderer {
+
+    /**
+     * Bring the interpolators of the shape up to date with the given interpolator value.
+     */
+    void update(@NonNull FlashShape shape, int value);
+
+    /**
+     * @return Interpolation of the geometry of the shape.
+     */
+    float getInterpolation(@NonNull FlashShape shape);
+
+    /**
+     * Draw the shape in its current interpolated state within the given bounds.
+     */
+    void draw(@NonNull Canvas canvas, @NonNull FlashShape shape, @NonNull RectF bounds);
+
+    /**
+     * Drop anything kept for the shape, which will not be drawn again.
+     */
+    void release(@NonNull FlashShape shape);
+
+    /**
+     * @param detailLevel One of {@link AbsCustomScrollingView#DETAIL_FULL},
+     * {@link AbsCustomScrollingView#DETAIL_REDUCED} or
+     * {@link AbsCustomScrollingView#DETAIL_MINIMAL}.
+     */
+    void setDetailLevel(int detailLevel);
+
+    /**
+     * @param quality Quality tier of the device, capping what is drawn at every level of detail.
+     */
+    void setRenderQuality(@NonNull RenderQuality quality);
+}
@@ -0,0 +1,109 @@
+package com.jarvis.dragdropresearch.funwithshapes.renderers;
+
+import com.jarvis.dragdropresearch.funwithshapes.FlashShape;
+import com.jarvis.dragdropresearch.views.AbsCustomScrollingView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * {@link ShapeRenderer}s by {@link FlashShape.Type}. Lookups index an array by the ordinal of the
+ * type, so dispatching a shape to its renderer costs no more than an array access.
+ */
+public class ShapeRendererRegistry {
+    private static final FlashShape.Type[] TYPES = FlashShape.Type.values();
+
+    private final ShapeRenderer[] mRenderers = new ShapeRenderer[TYPES.length];
+    private int mDetailLevel = AbsCustomScrollingView.DETAIL_FULL;
+    private RenderQuality mRenderQuality = RenderQuality.HIGH;
+
+    /**
+     * @param strokeWidth Stroke width the shapes are drawn with.
+     * @return Registry with the renderers of every built-in shape type, sharing a
+     * {@link ShapePathCache} with the default configuration.
+     */
+    @NonNull
+    public static ShapeRendererRegistry createDefault(float strokeWidth) {
+        return createDefault(strokeWidth, new ShapePathCache());
+    }
+
+    /**
+     * @param strokeWidth Stroke width the shapes are drawn with.
+     * @param pathCache Cache shared by the renderers of shapes drawn as paths, or null to
+     * rebuild paths on every frame.
+     * @return Registry with the renderers of every built-in shape type.
+     */
+    @NonNull
+    public static ShapeRendererRegistry createDefault(float strokeWidth,
+            @Nullable ShapePathCache pathCache) {
+        ShapeRendererRegistry registry = new ShapeRendererRegistry();
+        registry.register(FlashShape.Type.ARC, new ArcShapeRenderer(strokeWidth));
+        registry.register(FlashShape.Type.RECTANGLE,
+                new RectangleShapeRenderer(strokeWidth, pathCache));
+        registry.register(FlashShape.Type.SPIRAL, new SpiralShapeRenderer(strokeWidth));
+        registry.register(FlashShape.Type.STAR, new StarShapeRenderer(strokeWidth, pathCache));
+        registry.register(FlashShape.Type.TRIANGLE,
+                new TriangleShapeRenderer(strokeWidth, pathCache));
+        return registry;
+    }
+
+    /**
+     * Set the renderer for a shape type, replacing any renderer registered for it. The renderer
+     * starts at the current level of detail and quality of the registry.
+     */
+    public void register(@NonNull FlashShape.Type type, @NonNull ShapeRenderer renderer) {
+        renderer.setDetailLevel(mDetailLevel);
+        renderer.setRenderQuality(mRenderQuality);
+        mRenderers[type.ordinal()] = renderer;
+    }
+
+    /**
+     * @return Renderer registered for the type of the shape.
+     */
+    @NonNull
+    public ShapeRenderer get(@NonNull FlashShape shape) {
+        ShapeRenderer renderer = mRenderers[shape.getType().ordinal()];
+        if (renderer == null) {
+            throw new IllegalStateException(
+                    "No ShapeRenderer registered for shape type " + shape.getType());
+        }
+        return renderer;
+    }
+
+    /**
+     * Let the renderer of the shape drop anything kept for it, once the shape will not be drawn
+     * again.
+     */
+    public void release(@NonNull FlashShape shape) {
+        get(shape).release(shape);
+    }
+
+    /**
+     * Pass the level of detail on to every registered renderer.
+     */
+    public void setDetailLevel(int detailLevel) {
+        mDetailLevel = detailLevel;
+        for (ShapeRenderer renderer : mRenderers) {
+            if (renderer != null) {
+                renderer.setDetailLevel(detailLevel);
+            }
+        }
+    }
+
+    /**
+     * Pass the quality tier of the device on to every registered renderer.
+     */
+    public void setRenderQuality(@NonNull RenderQuality quality) {
+        mRenderQuality = quality;
+        for (ShapeRenderer renderer : mRenderers) {
+            if (renderer != null) {
+                renderer.setRenderQuality(quality);
+            }
+        }
+    }
+
+    @NonNull
+    public RenderQuality getRenderQuality() {
+        return mRenderQuality;
+    }
+}
@@ -0,0 +1,126 @@
+package com.jarvis.dragdropresearch.funwithshapes.renderers;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Collects filled triangles with per-vertex colors into a reusable vertex buffer, so that the
+ * filled shapes of many pages are submitted with a single {@link Canvas#drawVertices} call
+ * instead of one path per component.
+ * <p>
+ * Batched triangles are only drawn on {@link #flush(Canvas)}. Content drawn directly while
+ * triangles are pending would end up under them, so callers flush with
+ * {@link #flushIfIntersects(Canvas, float, float, float, float)} before drawing anything that
+ * may overlap the batch.
+ */
+public class ShapeVertexBatch {
+    private static final int INITIAL_VERTEX_CAPACITY = 64;
+
+    // Hardware accelerated canvases only support drawVertices() from Android 10.
+    private static final int MIN_HARDWARE_SDK = 29;
+
+    private final Paint mPaint = new Paint();
+    private final RectF mBounds = new RectF();
+
+    private float[] mVertices = new float[2 * INITIAL_VERTEX_CAPACITY];
+    private int[] mColors = new int[INITIAL_VERTEX_CAPACITY];
+    private int mVertexCount;
+
+    /**
+     * @return True if batched triangles can be drawn on the given canvas.
+     */
+    public static boolean isSupported(@NonNull Canvas canvas) {
+        return !canvas.isHardwareAccelerated() || Build.VERSION.SDK_INT >= MIN_HARDWARE_SDK;
+    }
+
+    public boolean isEmpty() {
+        return mVertexCount == 0;
+    }
+
+    /**
+     * @return Number of vertices waiting to be drawn.
+     */
+    public int getVertexCount() {
+        return mVertexCount;
+    }
+
+    /**
+     * Add a filled triangle.
+     *
+     * @param vertices x and y coordinates of the three vertices of the triangle.
+     */
+    public void addTriangle(@NonNull float[] vertices, int color) {
+        addTriangle(vertices, 0, color);
+    }
+
+    /**
+     * Add a filled triangle whose x and y coordinates start at the given offset in vertices.
+     */
+    public void addTriangle(@NonNull float[] vertices, int offset, int color) {
+        ensureCapacity(mVertexCount + 3);
+        for (int i = 0; i < 3; i++) {
+            addVertex(vertices[offset + 2 * i], vertices[offset + 2 * i + 1], color);
+        }
+    }
+
+    /**
+     * Add a filled rectangle, as two triangles.
+     */
+    public void addRect(float left, float top, float right, float bottom, int color) {
+        ensureCapacity(mVertexCount + 6);
+        addVertex(left, top, color);
+        addVertex(right, top, color);
+        addVertex(left, bottom, color);
+        addVertex(right, top, color);
+        addVertex(right, bottom, color);
+        addVertex(left, bottom, color);
+    }
+
+    /**
+     * Draw the pending triangles if they may overlap the given area.
+     */
+    public void flushIfIntersects(@NonNull Canvas canvas, float left, float top, float right,
+            float bottom) {
+        if (mVertexCount > 0 && mBounds.intersects(left, top, right, bottom)) {
+            flush(canvas);
+        }
+    }
+
+    /**
+     * Draw the pending triangles and empty the batch.
+     */
+    public void flush(@NonNull Canvas canvas) {
+        if (mVertexCount == 0) {
+            return;
+        }
+        canvas.drawVertices(Canvas.VertexMode.TRIANGLES, 2 * mVertexCount, mVertices, 0, null, 0,
+                mColors, 0, null, 0, 0, mPaint);
+        mVertexCount = 0;
+    }
+
+    private void addVertex(float x, float y, int color) {
+        if (mVertexCount == 0) {
+            mBounds.set(x, y, x, y);
+        } else {
+            mBounds.union(x, y);
+        }
+        mVertices[2 * mVertexCount] = x;
+        mVertices[2 * mVertexCount + 1] = y;
+        mColors[mVertexCount] = color;
+        mVertexCount++;
+    }
+
+    private void ensureCapacity(int vertexCount) {
+        if (vertexCount > mColors.length) {
+            final int capacity = Math.max(vertexCount, 2 * mColors.length);
+            mVertices = Arrays.copyOf(mVertices, 2 * capacity);
+            mColors = Arrays.copyOf(mColors, capacity);
+        }
+    }
+}
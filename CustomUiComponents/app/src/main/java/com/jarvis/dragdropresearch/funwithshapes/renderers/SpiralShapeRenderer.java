@@ -0,0 +1,65 @@
+package com.jarvis.dragdropresearch.funwithshapes.renderers;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+
+import com.jarvis.dragdropresearch.funwithshapes.FlashShape;
+import com.jarvis.dragdropresearch.funwithshapes.SpiralShape;
+import com.jarvis.dragdropresearch.utils.DrawingUtils;
+import com.jarvis.dragdropresearch.views.AbsCustomScrollingView;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Draws {@link SpiralShape}s as stroked arcs. Below full detail spirals are drawn as a single
+ * path in the shape color, and only their innermost segments are drawn at minimal detail.
+ */
+public class SpiralShapeRenderer extends AbsShapeRenderer {
+
+    /**
+     * Number of segments drawn at {@link AbsCustomScrollingView#DETAIL_MINIMAL}.
+     */
+    private static final int MINIMAL_DETAIL_SEGMENTS = 2;
+
+    private int mSegmentLimit = Integer.MAX_VALUE;
+
+    public SpiralShapeRenderer(float strokeWidth) {
+        super(Paint.Style.STROKE, strokeWidth);
+    }
+
+    @Override
+    public void setDetailLevel(int detailLevel) {
+        super.setDetailLevel(detailLevel);
+        updateSegmentLimit();
+    }
+
+    @Override
+    public void setRenderQuality(@NonNull RenderQuality quality) {
+        super.setRenderQuality(quality);
+        updateSegmentLimit();
+    }
+
+    private void updateSegmentLimit() {
+        final int qualityLimit = getRenderQuality().getSpiralSegmentLimit();
+        mSegmentLimit = getDetailLevel() == AbsCustomScrollingView.DETAIL_MINIMAL
+                ? Math.min(MINIMAL_DETAIL_SEGMENTS, qualityLimit) : qualityLimit;
+    }
+
+    @Override
+    protected void onUpdateGeometry(@NonNull FlashShape shape, int value) {
+        ((SpiralShape)shape).getSpiralInterpolator().updateValue(value);
+    }
+
+    @Override
+    public float getInterpolation(@NonNull FlashShape shape) {
+        return ((SpiralShape)shape).getSpiralInterpolator().getInterpolation();
+    }
+
+    @Override
+    protected void onDraw(@NonNull Canvas canvas, @NonNull FlashShape shape,
+            @NonNull RectF bounds, @NonNull Paint paint) {
+        DrawingUtils.drawSpiralShape(canvas, (SpiralShape)shape, bounds, paint, mSegmentLimit,
+                isMultiColorAllowed() && shape.allowMultiColoredComponents());
+    }
+}
@@ -0,0 +1,75 @@
+package com.jarvis.dragdropresearch.funwithshapes.renderers;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+
+import com.jarvis.dragdropresearch.funwithshapes.FlashShape;
+import com.jarvis.dragdropresearch.funwithshapes.StarShape;
+import com.jarvis.dragdropresearch.interpolators.StarInterpolator;
+import com.jarvis.dragdropresearch.utils.DrawingUtils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Draws {@link StarShape}s as filled triangles. Below full detail stars are drawn as a single
+ * path in the shape color.
+ */
+public class StarShapeRenderer extends AbsCachedPathShapeRenderer {
+    private final float[] mVertices =
+            new float[StarInterpolator.DrawingDescriptor.VERTICES_FLOAT_COUNT];
+
+    public StarShapeRenderer(float strokeWidth) {
+        this(strokeWidth, null);
+    }
+
+    public StarShapeRenderer(float strokeWidth, @Nullable ShapePathCache pathCache) {
+        super(Paint.Style.FILL, strokeWidth, pathCache);
+    }
+
+    @Override
+    protected void onUpdateGeometry(@NonNull FlashShape shape, int value) {
+        ((StarShape)shape).getStarInterpolator().updateValue(value);
+    }
+
+    @Override
+    public float getInterpolation(@NonNull FlashShape shape) {
+        return ((StarShape)shape).getStarInterpolator().getInterpolation();
+    }
+
+    @Override
+    protected boolean isMultiColored(@NonNull FlashShape shape) {
+        return isMultiColorAllowed() && shape.allowMultiColoredComponents();
+    }
+
+    @Override
+    protected int onBuildPaths(@NonNull FlashShape shape, @NonNull RectF bounds,
+            @NonNull ShapePathCache.Entry entry) {
+        StarInterpolator.DrawingDescriptor descriptor =
+                ((StarShape)shape).getStarInterpolator().getDrawingDescriptor();
+        for (int i = 0; i < DrawingUtils.STAR_COMPONENT_COUNT; i++) {
+            DrawingUtils.addStarComponent(entry.nextPath(), descriptor, bounds, i);
+        }
+        return 3 * DrawingUtils.STAR_COMPONENT_COUNT;
+    }
+
+    @Override
+    protected void onAddToBatch(@NonNull FlashShape shape, @NonNull RectF bounds,
+            @NonNull ShapeVertexBatch batch) {
+        DrawingUtils.getStarVertices(
+                ((StarShape)shape).getStarInterpolator().getDrawingDescriptor(), bounds,
+                mVertices, 0);
+        final int stride = StarInterpolator.DrawingDescriptor.TRIANGLE_FLOAT_COUNT;
+        for (int i = 0; i < DrawingUtils.STAR_COMPONENT_COUNT; i++) {
+            batch.addTriangle(mVertices, i * stride, getComponentColor(shape, i));
+        }
+    }
+
+    @Override
+    protected void onDrawUncached(@NonNull Canvas canvas, @NonNull FlashShape shape,
+            @NonNull RectF bounds, @NonNull Paint paint) {
+        DrawingUtils.drawStarShape(canvas, (StarShape)shape, bounds, paint,
+                isMultiColored(shape));
+    }
+}
@@ -0,0 +1,75 @@
+package com.jarvis.dragdropresearch.funwithshapes.renderers;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+
+import com.jarvis.dragdropresearch.funwithshapes.FlashShape;
+import com.jarvis.dragdropresearch.funwithshapes.TriangleShape;
+import com.jarvis.dragdropresearch.utils.DrawingUtils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Draws {@link TriangleShape}s as filled triangles.
+ */
+public class TriangleShapeRenderer extends AbsCachedPathShapeRenderer {
+    private final float[] mVertices = new float[6];
+
+    public TriangleShapeRenderer(float strokeWidth) {
+        this(strokeWidth, null);
+    }
+
+    public TriangleShapeRenderer(float strokeWidth, @Nullable ShapePathCache pathCache) {
+        super(Paint.Style.FILL, strokeWidth, pathCache);
+    }
+
+    @Override
+    protected void onUpdateGeometry(@NonNull FlashShape shape, int value) {
+        ((TriangleShape)shape).getTriangleInterpolator().updateValue(value);
+    }
+
+    @Override
+    public float getInterpolation(@NonNull FlashShape shape) {
+        return ((TriangleShape)shape).getTriangleInterpolator().getInterpolation();
+    }
+
+    /**
+     * Only symmetric triangles have one component per color.
+     */
+    @Override
+    protected boolean isMultiColored(@NonNull FlashShape shape) {
+        return getRenderQuality().isMultiColored() && shape.allowMultiColoredComponents()
+                && ((TriangleShape)shape).getTriangleInterpolator().isSymmetric();
+    }
+
+    @Override
+    protected int onBuildPaths(@NonNull FlashShape shape, @NonNull RectF bounds,
+            @NonNull ShapePathCache.Entry entry) {
+        TriangleShape triangle = (TriangleShape)shape;
+        final int componentCount = DrawingUtils.getTriangleComponentCount(triangle);
+        for (int i = 0; i < componentCount; i++) {
+            DrawingUtils.addTriangleComponent(entry.nextPath(), triangle, bounds, i);
+        }
+        return 3 * componentCount;
+    }
+
+    @Override
+    protected void onAddToBatch(@NonNull FlashShape shape, @NonNull RectF bounds,
+            @NonNull ShapeVertexBatch batch) {
+        TriangleShape triangle = (TriangleShape)shape;
+        final int componentCount = DrawingUtils.getTriangleComponentCount(triangle);
+        for (int i = 0; i < componentCount; i++) {
+            DrawingUtils.getTriangleComponentVertices(triangle, bounds, i, mVertices);
+            batch.addTriangle(mVertices, getComponentColor(shape, i));
+        }
+    }
+
+    @Override
+    protected void onDrawUncached(@NonNull Canvas canvas, @NonNull FlashShape shape,
+            @NonNull RectF bounds, @NonNull Paint paint) {
+        DrawingUtils.drawTriangleShape(canvas, (TriangleShape)shape, bounds, paint,
+                isMultiColored(shape));
+    }
+}
@@ -26,9 +26,18 @@ public class AlphaInterpolator extends Interpolator {
 
     /**
      * @return integer in the range of 0...255 representing the alpha channel with 255 representing
-     * full opaqueness and 0 representing full transparency.
+     * full opaqueness and 0 representing full transparency. Easing curves that overshoot are
+     * clamped to that range.
      */
     public int getInterpolatedAlpha() {
-        return (int)(255 * getInterpolation());
+        return getInterpolatedAlpha(getInterpolation());
+    }
+
+    /**
+     * @return Alpha channel for the given interpolation, clamped like
+     * {@link #getInterpolatedAlpha()}.
+     */
+    public static int getInterpolatedAlpha(float interpolation) {
+        return Math.max(0, Math.min(255, (int)(255 * interpolation)));
     }
 }
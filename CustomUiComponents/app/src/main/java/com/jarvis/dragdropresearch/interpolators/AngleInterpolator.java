@@ -1,9 +1,6 @@
 package com.jarvis.dragdropresearch.interpolators;
 
-import android.util.Pair;
-
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 public class AngleInterpolator extends Interpolator {
 
@@ -11,6 +8,10 @@ public class AngleInterpolator extends Interpolator {
     private DrawingDescriptor mDrawingDescriptor = new DrawingDescriptor();
     private int mMaxComponents = 1;
 
+    // Inputs the drawing metrics were last computed for.
+    private float mDrawingMetricsAngle = Float.NaN;
+    private int mDrawingMetricsComponents;
+
     public AngleInterpolator(int maxValue) {
         super(maxValue);
     }
@@ -42,55 +43,92 @@ public class AngleInterpolator extends Interpolator {
      * with the current interpolated angle.
      */
     public DrawingDescriptor getDrawingDescriptor() {
-        computeDrawingMetrics();
+        if (getInterpolatedAngle() != mDrawingMetricsAngle
+                || mMaxComponents != mDrawingMetricsComponents) {
+            computeDrawingMetrics();
+        }
         return mDrawingDescriptor;
     }
 
     private void computeDrawingMetrics() {
-        List<Pair<Float, Float>> drawingAngles = new ArrayList<>();
+        final float interpolatedAngle = getInterpolatedAngle();
+        final DrawingDescriptor descriptor = mDrawingDescriptor;
         if (mMaxComponents <= 1) {
-            drawingAngles.add(new Pair<>(0f, getInterpolatedAngle()));
+            descriptor.mStartAngles[0] = 0f;
+            descriptor.mSweepAngles[0] = interpolatedAngle;
+            descriptor.mCount = 1;
         } else {// Number of degrees that each component will take up in the arc.
             float angleFactor = 360.0f / mMaxComponents;
 
             // Total number of components that makeup the current interpolated angle.
-            int componentCount = (int)Math.floor(getInterpolatedAngle() / angleFactor);
+            int componentCount = (int)Math.floor(interpolatedAngle / angleFactor);
 
             // Left-over degrees after dividing the interpolated angle by the angle factor.
-            float componentModulus = getInterpolatedAngle() % angleFactor;
+            float componentModulus = interpolatedAngle % angleFactor;
 
+            descriptor.ensureCapacity(componentCount + 1);
+            final float[] startAngles = descriptor.mStartAngles;
+            final float[] sweepAngles = descriptor.mSweepAngles;
             float currentStartAngle = 0;
-
-            for (int i = 0; i < componentCount; i++) {
-                drawingAngles.add(new Pair<>(currentStartAngle, angleFactor));
+            int count = 0;
+            for (; count < componentCount; count++) {
+                startAngles[count] = currentStartAngle;
+                sweepAngles[count] = angleFactor;
                 currentStartAngle += angleFactor;
             }
             if (componentModulus != 0) {
-                drawingAngles.add(new Pair<>(currentStartAngle, componentModulus));
+                startAngles[count] = currentStartAngle;
+                sweepAngles[count] = componentModulus;
+                count++;
             }
+            descriptor.mCount = count;
         }
 
-        mDrawingDescriptor.setDrawingAngles(drawingAngles);
+        mDrawingMetricsAngle = interpolatedAngle;
+        mDrawingMetricsComponents = mMaxComponents;
     }
 
     /**
      * Contains the data needed to draw this angle as an arc.
+     * <p>
+     * The start and sweep angles of the slices of the arc are held in parallel arrays, which are
+     * reused and only grown when the arc has more slices than ever before. Only the first
+     * {@link #getCount()} angles of each array are valid.
      */
     public static class DrawingDescriptor {
 
-        private List<Pair<Float, Float>> drawingAngles;
+        private float[] mStartAngles = new float[1];
+        private float[] mSweepAngles = new float[1];
+        private int mCount;
 
         /**
-         * @return {@link List<Pair<Float,Float>> describing the start/sweep angles that make up
-         * the current angle. The first element in the pair is the start angle. The second is the sweep angle.
+         * @return Number of slices that make up the current angle.
          */
-        public List<Pair<Float, Float>> getDrawingAngles() {
-            return drawingAngles;
+        public int getCount() {
+            return mCount;
         }
 
-        private void setDrawingAngles(
-                List<Pair<Float, Float>> drawingAngles) {
-            this.drawingAngles = drawingAngles;
+        /**
+         * @return Start angle of each slice, in degrees. The array is updated in place and must
+         * not be modified.
+         */
+        public float[] getStartAngles() {
+            return mStartAngles;
+        }
+
+        /**
+         * @return Sweep angle of each slice, in degrees, indexed like {@link #getStartAngles()}.
+         * The array is updated in place and must not be modified.
+         */
+        public float[] getSweepAngles() {
+            return mSweepAngles;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (mStartAngles.length < capacity) {
+                mStartAngles = Arrays.copyOf(mStartAngles, capacity);
+                mSweepAngles = Arrays.copyOf(mSweepAngles, capacity);
+            }
         }
     }
 }
@@ -30,10 +30,19 @@ public class ColorInterpolator extends Interpolator {
     }
 
     /**
-     * @return integer representing the shade of the color based on the interpolated value.
+     * @return integer representing the shade of the color based on the interpolated value. Easing
+     * curves that overshoot are clamped to an opaque or transparent shade.
      */
     public int getInterpolatedShade() {
-        return ColorUtils.setAlphaComponent(mColor,
-                (int)(getInterpolation() * 255));
+        return getInterpolatedShade(mColor, getInterpolation());
+    }
+
+    /**
+     * @return Shade of the color for the given interpolation, clamped like
+     * {@link #getInterpolatedShade()}.
+     */
+    public static int getInterpolatedShade(int color, float interpolation) {
+        return ColorUtils.setAlphaComponent(color,
+                Math.max(0, Math.min(255, (int)(interpolation * 255))));
     }
 }
@@ -0,0 +1,182 @@
+package com.jarvis.dragdropresearch.interpolators;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Maps the linear interpolation of an {@link Interpolator} to an eased one. Curves are compiled
+ * once into a lookup table of evenly spaced samples, and evaluated by linear interpolation between
+ * the two samples around the fraction, so evaluating any curve costs two array reads.
+ * <p>
+ * Built-in curves map 0 to 0 and 1 to 1, but may go out of that range in between, as springs
+ * overshoot. Curves are immutable and can be shared by any number of interpolators.
+ */
+public final class EasingCurve {
+
+    /**
+     * Number of intervals between the samples of the lookup table.
+     */
+    public static final int SAMPLE_INTERVALS = 256;
+
+    /**
+     * Curve compiled into a lookup table by {@link #compile(Function)}.
+     */
+    public interface Function {
+        /**
+         * @param fraction Linear interpolation, from 0 to 1.
+         * @return Eased interpolation.
+         */
+        float evaluate(float fraction);
+    }
+
+    private final float[] mSamples;
+
+    private EasingCurve(float[] samples) {
+        mSamples = samples;
+    }
+
+    /**
+     * @return Curve sampled from the given function.
+     */
+    @NonNull
+    public static EasingCurve compile(@NonNull Function function) {
+        final float[] samples = new float[SAMPLE_INTERVALS + 1];
+        for (int i = 0; i <= SAMPLE_INTERVALS; i++) {
+            samples[i] = function.evaluate((float)i / SAMPLE_INTERVALS);
+        }
+        return new EasingCurve(samples);
+    }
+
+    /**
+     * @return Curve of a cubic bezier from (0, 0) to (1, 1), with the given control points, as in
+     * CSS timing functions. The x coordinates of the control points must be between 0 and 1.
+     */
+    @NonNull
+    public static EasingCurve cubicBezier(final float x1, final float y1, final float x2,
+            final float y2) {
+        if (x1 < 0 || x1 > 1 || x2 < 0 || x2 > 1) {
+            throw new IllegalArgumentException(
+                    "Control point x coordinates must be in [0, 1]: " + x1 + ", " + x2);
+        }
+        return compile(new Function() {
+            @Override
+            public float evaluate(float fraction) {
+                if (fraction <= 0 || fraction >= 1) {
+                    return fraction <= 0 ? 0 : 1;
+                }
+                // x(t) is increasing, so the parameter is found by bisection.
+                float low = 0;
+                float high = 1;
+                float t = fraction;
+                for (int i = 0; i < 24; i++) {
+                    final float x = bezier(t, x1, x2);
+                    if (x < fraction) {
+                        low = t;
+                    } else {
+                        high = t;
+                    }
+                    t = (low + high) / 2;
+                }
+                return bezier(t, y1, y2);
+            }
+        });
+    }
+
+    /**
+     * Curve of a spring released at 0 and settling at 1.
+     *
+     * @param dampingRatio Damping ratio of the spring, greater than 0. Springs under 1 overshoot
+     * and oscillate around 1, springs from 1 do not.
+     * @param oscillations Number of oscillations of the undamped spring over the curve, greater
+     * than 0. Stiffer springs oscillate more.
+     */
+    @NonNull
+    public static EasingCurve spring(final float dampingRatio, final float oscillations) {
+        if (dampingRatio <= 0 || oscillations <= 0) {
+            throw new IllegalArgumentException("Damping ratio " + dampingRatio
+                    + " and oscillations " + oscillations + " must be greater than 0");
+        }
+        final double frequency = 2 * Math.PI * oscillations;
+        final EasingCurve curve = compile(new Function() {
+            @Override
+            public float evaluate(float fraction) {
+                final double decay = Math.exp(-dampingRatio * frequency * fraction);
+                if (dampingRatio < 1) {
+                    final double dampedFrequency =
+                            frequency * Math.sqrt(1 - dampingRatio * dampingRatio);
+                    final double phase = dampedFrequency * fraction;
+                    return (float)(1 - decay * (Math.cos(phase) + dampingRatio * frequency
+                            / dampedFrequency * Math.sin(phase)));
+                }
+                // Critically damped, which overdamped springs are approximated with.
+                return (float)(1 - decay * (1 + frequency * fraction));
+            }
+        });
+        // The spring may not have fully settled at the end of the curve.
+        curve.mSamples[SAMPLE_INTERVALS] = 1;
+        return curve;
+    }
+
+    /**
+     * @return Curve that jumps in the given number of equal steps, at the end of each step as in
+     * CSS step-end. Each jump is spread over one interval of the lookup table.
+     */
+    @NonNull
+    public static EasingCurve steps(final int stepCount) {
+        if (stepCount < 1) {
+            throw new IllegalArgumentException("Step count must be at least 1: " + stepCount);
+        }
+        final float[] samples = new float[SAMPLE_INTERVALS + 1];
+        for (int i = 0; i <= SAMPLE_INTERVALS; i++) {
+            samples[i] = (float)((long)i * stepCount / SAMPLE_INTERVALS) / stepCount;
+        }
+        return new EasingCurve(samples);
+    }
+
+    /**
+     * @param values Values of the curve at evenly spaced fractions, the first at 0 and the last at
+     * 1. At least two values are needed.
+     * @return Curve going through the given values, linearly between them.
+     */
+    @NonNull
+    public static EasingCurve sampled(@NonNull final float[] values) {
+        if (values.length < 2) {
+            throw new IllegalArgumentException(
+                    "At least two values are needed, got " + values.length);
+        }
+        return compile(new Function() {
+            @Override
+            public float evaluate(float fraction) {
+                return interpolate(values, fraction);
+            }
+        });
+    }
+
+    /**
+     * @param fraction Linear interpolation. Values outside [0, 1] are clamped.
+     * @return Eased interpolation.
+     */
+    public float getValue(float fraction) {
+        return interpolate(mSamples, fraction);
+    }
+
+    private static float interpolate(float[] samples, float fraction) {
+        final int intervals = samples.length - 1;
+        if (fraction <= 0) {
+            return samples[0];
+        } else if (fraction >= 1) {
+            return samples[intervals];
+        }
+        final float position = fraction * intervals;
+        final int index = Math.min((int)position, intervals - 1);
+        final float weight = position - index;
+        return samples[index] + weight * (samples[index + 1] - samples[index]);
+    }
+
+    /**
+     * @return Coordinate of a cubic bezier from 0 to 1 with the given control point coordinates.
+     */
+    private static float bezier(float t, float first, float second) {
+        final float inverse = 1 - t;
+        return 3 * inverse * inverse * t * first + 3 * inverse * t * t * second + t * t * t;
+    }
+}
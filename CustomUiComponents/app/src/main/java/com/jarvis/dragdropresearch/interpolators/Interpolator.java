@@ -1,5 +1,7 @@
 package com.jarvis.dragdropresearch.interpolators;
 
+import androidx.annotation.Nullable;
+
 public class Interpolator {
 
     private int mMaxValue;
@@ -8,6 +10,8 @@ public class Interpolator {
 
     private float mInterpolation;
 
+    private EasingCurve mEasingCurve;
+
     public Interpolator(int maxValue) {
         this.mMaxValue = maxValue;
     }
@@ -29,17 +33,41 @@ public class Interpolator {
         calculateInterpolatedValue();
     }
 
+    /**
+     * @param easingCurve Curve applied to the linear interpolation of the value, or null for a
+     * linear interpolation. The interpolation of the current value is updated.
+     */
+    public void setEasingCurve(@Nullable EasingCurve easingCurve) {
+        mEasingCurve = easingCurve;
+        calculateInterpolatedValue();
+    }
+
+    @Nullable
+    public EasingCurve getEasingCurve() {
+        return mEasingCurve;
+    }
+
     private void calculateInterpolatedValue() {
-        if (mValue >= mMaxValue) {
-            mInterpolation = 1.0f;
-        } else if (mMaxValue <= 0) {
-            mInterpolation = 0f;
-        } else {
-            mInterpolation = ((float)Math.abs(mValue) / (float)mMaxValue);
+        mInterpolation = interpolate(mValue, mMaxValue);
+        if (mEasingCurve != null) {
+            mInterpolation = mEasingCurve.getValue(mInterpolation);
         }
     }
 
     public float getInterpolation() {
         return mInterpolation;
     }
+
+    /**
+     * @return Linear interpolation of the value, as {@link #getInterpolation()} without an easing
+     * curve.
+     */
+    public static float interpolate(int value, int maxValue) {
+        if (value >= maxValue) {
+            return 1.0f;
+        } else if (maxValue <= 0) {
+            return 0f;
+        }
+        return ((float)Math.abs(value) / (float)maxValue);
+    }
 }
@@ -0,0 +1,80 @@
+package com.jarvis.dragdropresearch.interpolators;
+
+import java.util.Arrays;
+
+/**
+ * Linear interpolations of many values at once, stored as parallel arrays of max values, values
+ * and interpolations rather than as one {@link Interpolator} per value. Entries are interpolated
+ * as they are set and read back by index, which lets a caller keep one entry per item of a list
+ * and compute what it draws straight from the arrays.
+ * <p>
+ * Interpolations are linear, as {@link Interpolator#getInterpolation()} without an easing curve.
+ * Banks are not thread safe.
+ */
+public class InterpolatorBank {
+    private int mSize;
+    private int[] mMaxValues = new int[0];
+    private int[] mValues = new int[0];
+    private float[] mInterpolations = new float[0];
+
+    /**
+     * Change the number of entries. Entries below the new size keep their content, and entries
+     * added by growing the bank are zero.
+     */
+    public void setSize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size must not be negative: " + size);
+        }
+        if (size > mValues.length) {
+            final int capacity = Math.max(size, 2 * mValues.length);
+            mMaxValues = Arrays.copyOf(mMaxValues, capacity);
+            mValues = Arrays.copyOf(mValues, capacity);
+            mInterpolations = Arrays.copyOf(mInterpolations, capacity);
+        } else if (size < mSize) {
+            Arrays.fill(mMaxValues, size, mSize, 0);
+            Arrays.fill(mValues, size, mSize, 0);
+            Arrays.fill(mInterpolations, size, mSize, 0);
+        }
+        mSize = size;
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * Set the max value and value of an entry and interpolate it.
+     *
+     * @return True if the max value or the value of the entry changed.
+     */
+    public boolean set(int index, int maxValue, int value) {
+        checkIndex(index);
+        final boolean changed = mMaxValues[index] != maxValue || mValues[index] != value;
+        mMaxValues[index] = maxValue;
+        mValues[index] = value;
+        mInterpolations[index] = Interpolator.interpolate(value, maxValue);
+        return changed;
+    }
+
+    public int getMaxValue(int index) {
+        return mMaxValues[checkIndex(index)];
+    }
+
+    public int getValue(int index) {
+        return mValues[checkIndex(index)];
+    }
+
+    /**
+     * @return Interpolation of the entry as of the last {@link #set(int, int, int)}.
+     */
+    public float getInterpolation(int index) {
+        return mInterpolations[checkIndex(index)];
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= mSize) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + mSize);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,76 @@
+package com.jarvis.dragdropresearch.interpolators;
+
+/**
+ * Immutable dimensions of a rectangle, shared by every {@link RectangleInterpolator} built for a
+ * rectangle of the same size.
+ */
+public final class RectangleGeometry {
+    private final float mWidth;
+    private final float mHeight;
+    private final float mDrawingBoundsWidth;
+    private final float mDrawingBoundsHeight;
+    private final boolean mSymmetric;
+
+    /**
+     * @param height Height of the bounds the rectangle is drawn in.
+     * @param width Width of the bounds the rectangle is drawn in.
+     * @param symmetric True if the rectangle is drawn as four rectangles into one, in which case
+     * the dimensions are halved.
+     */
+    public RectangleGeometry(float height, float width, boolean symmetric) {
+        this(symmetric ? width / 2 : width, symmetric ? height / 2 : height, width, height,
+                symmetric);
+    }
+
+    private RectangleGeometry(float width, float height, float drawingBoundsWidth,
+            float drawingBoundsHeight, boolean symmetric) {
+        mWidth = width;
+        mHeight = height;
+        mDrawingBoundsWidth = drawingBoundsWidth;
+        mDrawingBoundsHeight = drawingBoundsHeight;
+        mSymmetric = symmetric;
+    }
+
+    /**
+     * @return Width of the rectangle, halved if it is symmetric.
+     */
+    public float getWidth() {
+        return mWidth;
+    }
+
+    /**
+     * @return Height of the rectangle, halved if it is symmetric.
+     */
+    public float getHeight() {
+        return mHeight;
+    }
+
+    public float getDrawingBoundsWidth() {
+        return mDrawingBoundsWidth;
+    }
+
+    public float getDrawingBoundsHeight() {
+        return mDrawingBoundsHeight;
+    }
+
+    public boolean isSymmetric() {
+        return mSymmetric;
+    }
+
+    RectangleGeometry withSize(float width, float height) {
+        return new RectangleGeometry(width, height, mDrawingBoundsWidth, mDrawingBoundsHeight,
+                mSymmetric);
+    }
+
+    /**
+     * @return Geometry of the same rectangle drawn as symmetric or not.
+     */
+    RectangleGeometry withSymmetric(boolean symmetric) {
+        if (symmetric == mSymmetric) {
+            return this;
+        }
+        final float scale = symmetric ? 0.5f : 2;
+        return new RectangleGeometry(mWidth * scale, mHeight * scale, mDrawingBoundsWidth,
+                mDrawingBoundsHeight, symmetric);
+    }
+}
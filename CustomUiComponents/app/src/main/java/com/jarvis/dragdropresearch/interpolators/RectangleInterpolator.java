@@ -2,6 +2,8 @@ package com.jarvis.dragdropresearch.interpolators;
 
 import android.graphics.RectF;
 
+import androidx.annotation.NonNull;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -9,13 +11,15 @@ public class RectangleInterpolator extends Interpolator {
     public static final int INTERPOLATION_VALUES_WIDTH = 0;
     public static final int INTERPOLATION_VALUES_HEIGHT = 1;
 
-    private float mWidth;
-    private float mHeight;
-    private float mDrawingBoundsWidth;
-    private float mDrawingBoundsHeight;
-    private boolean mSymmetric;
+    private RectangleGeometry mGeometry;
+
+    private DrawingDescriptor mDrawingDescriptor = new DrawingDescriptor();
 
-    private DrawingDescriptor mDrawingDescriptor;
+    // Reused by every call to calculateDrawingMetrics().
+    private final List<RectF> mRectangleComponents = new ArrayList<>(4);
+    private final RectF[] mComponentRects =
+            new RectF[] {new RectF(), new RectF(), new RectF(), new RectF()};
+    private final RectF mBounds = new RectF();
 
     private float[] mInterpolatedDimensions = new float[2];
 
@@ -41,49 +45,59 @@ public class RectangleInterpolator extends Interpolator {
      * new dimensions.
      */
     public RectangleInterpolator(int maxValue, float height, float width, boolean symmetric) {
+        this(maxValue, new RectangleGeometry(height, width, symmetric));
+    }
+
+    /**
+     * Create a new rectangle interpolator for a rectangle whose geometry is shared with other
+     * interpolators.
+     *
+     * @param maxValue Max value for the units upon which the interpolation fraction will be calculated.
+     * @param geometry Dimensions of the rectangle.
+     */
+    public RectangleInterpolator(int maxValue, @NonNull RectangleGeometry geometry) {
         super(maxValue);
-        mDrawingBoundsHeight = height;
-        mDrawingBoundsWidth = width;
-        mHeight = height > 0 ? height : 1;
-        mWidth = width > 0 ? width : 1;
-        mWidth = symmetric ? width / 2 : width;
-        mHeight = symmetric ? height / 2 : height;
+        mGeometry = geometry;
+    }
 
-        mSymmetric = symmetric;
+    @NonNull
+    public RectangleGeometry getGeometry() {
+        return mGeometry;
     }
 
     public float getWidth() {
-        return mWidth;
+        return mGeometry.getWidth();
     }
 
     public void setWidth(float width) {
-        mWidth = width;
+        // The geometry may be shared, so it is replaced rather than modified.
+        mGeometry = mGeometry.withSize(width, mGeometry.getHeight());
     }
 
     /**
      * @return Width of the rectangle in which the rectangles returned in {@link DrawingDescriptor#getRectangleComponents()}  is based.
      */
     public float getDrawingBoundsWidth() {
-        return mDrawingBoundsWidth;
+        return mGeometry.getDrawingBoundsWidth();
     }
 
     /**
      * @return Height of the rectangle in which the rectangles returned in {@link DrawingDescriptor#getRectangleComponents()}  is based.
      */
     public float getDrawingBoundsHeight() {
-        return mDrawingBoundsHeight;
+        return mGeometry.getDrawingBoundsHeight();
     }
 
     public float getHeight() {
-        return mHeight;
+        return mGeometry.getHeight();
     }
 
     public void setHeight(float height) {
-        mHeight = height;
+        mGeometry = mGeometry.withSize(mGeometry.getWidth(), height);
     }
 
     public boolean isSymmetric() {
-        return mSymmetric;
+        return mGeometry.isSymmetric();
     }
 
     /**
@@ -92,22 +106,12 @@ public class RectangleInterpolator extends Interpolator {
      * the new dimensions.
      */
     public void setSymmetric(boolean symmetric) {
-        if (symmetric == mSymmetric) return;
-
-        if (symmetric) {
-            mWidth = mWidth / 2;
-            mHeight = mHeight / 2;
-        } else {
-            mWidth = mWidth * 2;
-            mHeight = mHeight * 2;
-        }
-
-        mSymmetric = symmetric;
+        mGeometry = mGeometry.withSymmetric(symmetric);
     }
 
     public float[] getInterpolatedDimensions() {
-        float interpolatedWidth = getInterpolation() * mWidth;
-        float interpolatedHeight = getInterpolation() * mHeight;
+        float interpolatedWidth = getInterpolation() * mGeometry.getWidth();
+        float interpolatedHeight = getInterpolation() * mGeometry.getHeight();
 
         mInterpolatedDimensions[INTERPOLATION_VALUES_WIDTH] = interpolatedWidth;
         mInterpolatedDimensions[INTERPOLATION_VALUES_HEIGHT] = interpolatedHeight;
@@ -126,47 +130,53 @@ public class RectangleInterpolator extends Interpolator {
     }
 
     private void calculateDrawingMetrics() {
-        mDrawingDescriptor = new DrawingDescriptor();
-        List<RectF> rects = new ArrayList<>();
-        RectF bounds = new RectF(0, 0, mDrawingBoundsWidth, mDrawingBoundsHeight);
+        List<RectF> rects = mRectangleComponents;
+        rects.clear();
+        RectF bounds = mBounds;
+        bounds.set(0, 0, mGeometry.getDrawingBoundsWidth(), mGeometry.getDrawingBoundsHeight());
 
-        float interpolatedWidth = getInterpolation() * mWidth;
-        float interpolatedHeight = getInterpolation() * mHeight;
+        float interpolatedWidth = getInterpolation() * mGeometry.getWidth();
+        float interpolatedHeight = getInterpolation() * mGeometry.getHeight();
 
-        if (!mSymmetric) {
+        if (!mGeometry.isSymmetric()) {
             float top = bounds.bottom - interpolatedHeight;
             float bottom = bounds.bottom;
             float left = bounds.left;
             float right = left + interpolatedWidth;
-            rects.add(new RectF(left, top, right, bottom));
+            mComponentRects[0].set(left, top, right, bottom);
+            rects.add(mComponentRects[0]);
         } else {
             // Bottom Left Rectangle
             float top = bounds.bottom - interpolatedHeight;
             float bottom = bounds.bottom;
             float left = bounds.left;
             float right = left + interpolatedWidth;
-            rects.add(new RectF(left, top, right, bottom));
+            mComponentRects[0].set(left, top, right, bottom);
+            rects.add(mComponentRects[0]);
 
             // Bottom Right Rectangle
             top = bounds.bottom - interpolatedHeight;
             bottom = bounds.bottom;
             left = bounds.right - interpolatedWidth;
             right = bounds.right;
-            rects.add(new RectF(left, top, right, bottom));
+            mComponentRects[1].set(left, top, right, bottom);
+            rects.add(mComponentRects[1]);
 
             // Top Left Rectangle
             top = bounds.top;
             bottom = bounds.top + interpolatedHeight;
             left = bounds.left;
             right = bounds.left + interpolatedWidth;
-            rects.add(new RectF(left, top, right, bottom));
+            mComponentRects[2].set(left, top, right, bottom);
+            rects.add(mComponentRects[2]);
 
             // Top Right Rectangle
             top = bounds.top;
             bottom = bounds.top + interpolatedHeight;
             left = bounds.right - interpolatedWidth;
             right = bounds.right;
-            rects.add(new RectF(left, top, right, bottom));
+            mComponentRects[3].set(left, top, right, bottom);
+            rects.add(mComponentRects[3]);
         }
 
         mDrawingDescriptor.setRectangleComponents(rects);
@@ -1,5 +1,6 @@
 package com.jarvis.dragdropresearch.interpolators;
 
+import com.jarvis.dragdropresearch.funwithshapes.SpiralGeometry;
 import com.jarvis.dragdropresearch.funwithshapes.SpiralSegment;
 
 import java.util.ArrayList;
@@ -17,7 +18,24 @@ public class SpiralInterpolator extends Interpolator {
 
     private boolean mAllowMulticoloredSegments;
 
-    private List<SpiralSegment> mSegments = new ArrayList<>();
+    /**
+     * Largest number of segments of the spiral, or 0 if its max width is not positive or its max
+     * height is negative.
+     */
+    private final int mMaxSegmentCount;
+
+    // Width and height of the oval of every segment, which only depend on its index.
+    private final float[] mSegmentWidths;
+    private final float[] mSegmentHeights;
+
+    /**
+     * One segment per index, created the first time {@link #getSegments()} is called.
+     * {@link #mSegments} holds as many of them as the spiral has segments.
+     */
+    private SpiralSegment[] mSegmentPool;
+    private List<SpiralSegment> mSegments;
+
+    private final SpiralGeometry mGeometry;
 
     public SpiralInterpolator(int maxValue, float maxSegmentHeight,
             float maxSegmentWidth, int maxSegmentCount) {
@@ -31,36 +49,85 @@ public class SpiralInterpolator extends Interpolator {
         final int finalSegmentCount = maxSegmentCount < 1 ? 1 : maxSegmentCount;
         mSegmentWidthFactor = mMaxSegmentWidth / finalSegmentCount;
         mSegmentHeightFactor = mSegmentHeightWidthRatio * mSegmentWidthFactor;
+        mGeometry = new SpiralGeometry(mSegmentWidthFactor, mSegmentHeightFactor);
+
+        mMaxSegmentCount = mMaxSegmentWidth > 0 && mMaxSegmentHeight >= 0 ? finalSegmentCount : 0;
+        mSegmentWidths = new float[mMaxSegmentCount];
+        mSegmentHeights = new float[mMaxSegmentCount];
+        for (int i = 0; i < mMaxSegmentCount; i++) {
+            mSegmentWidths[i] = (i + 1) * mSegmentWidthFactor;
+            mSegmentHeights[i] = (i + 1) * mSegmentHeightFactor;
+        }
     }
 
     public SpiralInterpolator(int maxValue, int maxSegmentHeight, int maxSegmentWidth) {
         this(maxValue, maxSegmentHeight, maxSegmentWidth, 1);
     }
 
+    /**
+     * @return Segments for the current interpolation. The list and its segments are reused, and
+     * only appended to or truncated when the segment count changes, so neither must be modified.
+     */
     public List<SpiralSegment> getSegments() {
-        float interpolatedWidth = getInterpolation() * mMaxSegmentWidth;
-        int segmentCount = (int)(interpolatedWidth / mSegmentWidthFactor);
-
-        int finalSegmentCount = 0;
-
-        // Ensure that width or height are not out of bounds of the max.
-        while (finalSegmentCount <= segmentCount &&
-                finalSegmentCount * mSegmentHeightFactor <= mMaxSegmentHeight
-                && finalSegmentCount * mSegmentWidthFactor < mMaxSegmentWidth) {
-            finalSegmentCount++;
+        if (mSegmentPool == null) {
+            mSegmentPool = new SpiralSegment[mMaxSegmentCount];
+            for (int i = 0; i < mMaxSegmentCount; i++) {
+                SpiralSegment segment = new SpiralSegment(i % 2 == 0 ? SpiralSegment.Type.BOTTOM :
+                        SpiralSegment.Type.TOP);
+                segment.setWidth(mSegmentWidths[i]);
+                segment.setHeight(mSegmentHeights[i]);
+                mSegmentPool[i] = segment;
+            }
+            mSegments = new ArrayList<>(mMaxSegmentCount);
         }
 
-        mSegments.clear();
-        for (int i = 0; i < finalSegmentCount; i++) {
-            SpiralSegment segment = new SpiralSegment(i % 2 == 0 ? SpiralSegment.Type.BOTTOM :
-                    SpiralSegment.Type.TOP);
-            segment.setWidth((i + 1) * mSegmentWidthFactor);
-            segment.setHeight((i + 1) * mSegmentHeightFactor);
-            mSegments.add(segment);
+        final int segmentCount = getSegmentCount();
+        for (int i = mSegments.size() - 1; i >= segmentCount; i--) {
+            mSegments.remove(i);
+        }
+        for (int i = mSegments.size(); i < segmentCount; i++) {
+            mSegments.add(mSegmentPool[i]);
         }
-
         return mSegments;
     }
 
+    /**
+     * @return Width of the oval of every segment. Only the first {@link #getSegmentCount()}
+     * values are for segments of the current interpolation. The array must not be modified.
+     */
+    public float[] getSegmentWidths() {
+        return mSegmentWidths;
+    }
+
+    /**
+     * @return Height of the oval of every segment, indexed like {@link #getSegmentWidths()}. The
+     * array must not be modified.
+     */
+    public float[] getSegmentHeights() {
+        return mSegmentHeights;
+    }
+
+    /**
+     * @return Geometry of the segments for the current interpolation. The geometry is reused and
+     * only computes segments it has not computed before.
+     */
+    public SpiralGeometry getGeometry() {
+        mGeometry.setSegmentCount(getSegmentCount());
+        return mGeometry;
+    }
+
+    /**
+     * @return Number of segments for the current interpolation.
+     */
+    public int getSegmentCount() {
+        float interpolatedWidth = getInterpolation() * mMaxSegmentWidth;
+        int segmentCount = (int)(interpolatedWidth / mSegmentWidthFactor);
+
+        // One segment more than the segment widths covered by the interpolated width, and the
+        // first segment at no width, up to the max segment count so that neither the width nor
+        // the height of a segment is out of bounds of the max.
+        return Math.max(0, Math.min(segmentCount + 1, mMaxSegmentCount));
+    }
+
     // TODO: Create a Builder to handle the construction.
 }
@@ -0,0 +1,270 @@
+package com.jarvis.dragdropresearch.interpolators;
+
+import android.graphics.PointF;
+import android.util.Log;
+
+import com.jarvis.dragdropresearch.math.Line;
+import com.jarvis.dragdropresearch.math.LineUtils;
+
+/**
+ * Immutable snapshot of the metrics of a star of a given size: the sides of its inner pentagon,
+ * the bisectors of the bottom sides, the size and peak of each of its five triangles, and the
+ * coefficients that place every vertex of the star for a given interpolation.
+ * <p>
+ * These only depend on the width and height of the star, so they can be computed ahead of time on
+ * any thread and handed to {@link StarInterpolator.Builder#setGeometry(StarGeometry)}. Every field
+ * is final and none of the points or lines is modified after construction, so a snapshot can be
+ * read from any thread once it is published, without locking, and shared by every star of the
+ * same size.
+ */
+public final class StarGeometry {
+    private static final String TAG = StarGeometry.class.getName();
+
+    private final float mWidth;
+    private final float mHeight;
+
+    // Sides
+    final Line mTopLine;
+    final Line mLeftSideLine;
+    final Line mRightSideLine;
+    final Line mBottomLeftLine;
+    final Line mBottomRightLine;
+
+    // Lines that bisect the bottom left and right sides. These lines determine where
+    // the bottom left and right triangles intersect the x-axis.
+    final Line mBottomRightBisector;
+    final Line mBottomLeftBisector;
+    final Float mBottomRightBisectorSlope;
+    final Float mBottomLeftBisectorSlope;
+
+    // Unit vectors along the bottom sides and their bisectors, used to place the vertices of the
+    // bottom triangles. Null if the lines could not be constructed.
+    final PointF mBottomRightLineDirection;
+    final PointF mBottomLeftLineDirection;
+    final PointF mBottomRightBisectorDirection;
+    final PointF mBottomLeftBisectorDirection;
+
+    // Key Points
+    final PointF mBottomRightLineMidpoint;
+    final PointF mBottomLeftLineMidpoint;
+    final PointF mCenterPolygonPeakPoint;
+    final PointF mIntersectionLeftSideBottomLeftSide;
+    final PointF mIntersectionRightSideBottomRightSide;
+
+    // Points where the bottom left and right triangles intersect the X axis.
+    final PointF mBottomRightLineBisectorXAxisIntercept;
+    final PointF mBottomLeftLineBisectorXAxisIntercept;
+
+    // Triangles. The left and right triangles have the same size.
+    final TriangleGeometry mTopTriangle;
+    final PointF mTopTrianglePeak;
+    final TriangleGeometry mSideTriangle;
+    final PointF mLeftTrianglePeak;
+    final PointF mRightTrianglePeak;
+    final TriangleGeometry mBottomRightTriangle;
+    final TriangleGeometry mBottomLeftTriangle;
+
+    // Vertices of the star at an interpolation of t are mVertexOrigins + t * mVertexSlopes,
+    // packed like StarInterpolator.DrawingDescriptor#getVertices(). Every vertex starts at the
+    // peak of its triangle, and the base vertices move away from it linearly in t.
+    final float[] mVertexOrigins =
+            new float[StarInterpolator.DrawingDescriptor.VERTICES_FLOAT_COUNT];
+    final float[] mVertexSlopes =
+            new float[StarInterpolator.DrawingDescriptor.VERTICES_FLOAT_COUNT];
+
+    public StarGeometry(float width, float height) {
+        mWidth = width;
+        mHeight = height;
+        float ratioWidthToHeight = width / height;
+
+        PointF center = new PointF(width / 2f, height / 2f);
+
+        // Dimensions of the top,left and right sides of the square of the inner pentagon.
+        float centerPolygonHeight = height / 4f;
+        float centerPolygonWidth = centerPolygonHeight * ratioWidthToHeight;
+
+        float topLineYIntercept = center.y + centerPolygonHeight / 2f;
+        float leftLineXIntercept = center.x - centerPolygonWidth / 2f;
+        float rightLineXIntercept = center.x + centerPolygonWidth / 2f;
+
+        float centerPolygonPeakHeight = centerPolygonHeight + centerPolygonHeight / 4f;
+
+        // Center polygon lines.
+        mTopLine = new Line.Builder(Line.Type.HORIZONTAL)
+                .setYIntercept(topLineYIntercept)
+                .build();
+        mLeftSideLine = new Line.Builder(Line.Type.VERTICAL)
+                .setXIntercept(leftLineXIntercept)
+                .build();
+        mRightSideLine = new Line.Builder(Line.Type.VERTICAL)
+                .setXIntercept(rightLineXIntercept)
+                .build();
+
+        mCenterPolygonPeakPoint =
+                new PointF(center.x, topLineYIntercept - centerPolygonPeakHeight);
+        mIntersectionRightSideBottomRightSide =
+                new PointF(rightLineXIntercept, topLineYIntercept - centerPolygonHeight);
+        mIntersectionLeftSideBottomLeftSide =
+                new PointF(leftLineXIntercept, topLineYIntercept - centerPolygonHeight);
+
+        mBottomRightLine = LineUtils.createLineFromTwoPoints(mCenterPolygonPeakPoint,
+                mIntersectionRightSideBottomRightSide);
+        mBottomLeftLine = LineUtils.createLineFromTwoPoints(mCenterPolygonPeakPoint,
+                mIntersectionLeftSideBottomLeftSide);
+        if (mBottomRightLine == null || mBottomLeftLine == null) {
+            Log.d(TAG, "Error constructing star. Bottom lines are null");
+        }
+        mBottomRightLineMidpoint = mBottomRightLine == null ? null : mBottomRightLine
+                .getMidpoint(mCenterPolygonPeakPoint, mIntersectionRightSideBottomRightSide);
+        mBottomLeftLineMidpoint = mBottomLeftLine == null ? null : mBottomLeftLine
+                .getMidpoint(mCenterPolygonPeakPoint, mIntersectionLeftSideBottomLeftSide);
+
+        // Bisectors of the bottom lines, and where they intersect the x-axis.
+        mBottomRightBisectorSlope =
+                mBottomRightLine == null ? null : mBottomRightLine.getOrthogonalLineSlope();
+        mBottomLeftBisectorSlope =
+                mBottomLeftLine == null ? null : mBottomLeftLine.getOrthogonalLineSlope();
+        if (mBottomRightBisectorSlope == null || mBottomLeftBisectorSlope == null) {
+            Log.d(TAG, "Error constructing star. Bottom line bisector slopes are null.");
+            mBottomRightBisector = null;
+            mBottomLeftBisector = null;
+            mBottomRightLineBisectorXAxisIntercept = null;
+            mBottomLeftLineBisectorXAxisIntercept = null;
+            mBottomRightLineDirection = null;
+            mBottomLeftLineDirection = null;
+            mBottomRightBisectorDirection = null;
+            mBottomLeftBisectorDirection = null;
+        } else {
+            mBottomRightBisector = LineUtils.createLineFromSlopeAndPoint(
+                    mBottomRightBisectorSlope, mBottomRightLineMidpoint);
+            mBottomLeftBisector = LineUtils.createLineFromSlopeAndPoint(
+                    mBottomLeftBisectorSlope, mBottomLeftLineMidpoint);
+
+            Line xAxis = LineUtils.createLineFromSlopeAndPoint(0f, new PointF(0, 0));
+            mBottomRightLineBisectorXAxisIntercept =
+                    LineUtils.getPointOfIntersection(xAxis, mBottomRightBisector);
+            mBottomLeftLineBisectorXAxisIntercept =
+                    LineUtils.getPointOfIntersection(xAxis, mBottomLeftBisector);
+
+            mBottomRightLineDirection = mBottomRightLine.getUnitVector();
+            mBottomLeftLineDirection = mBottomLeftLine.getUnitVector();
+            mBottomRightBisectorDirection = mBottomRightBisector.getUnitVector();
+            mBottomLeftBisectorDirection = mBottomLeftBisector.getUnitVector();
+        }
+
+        //1 . Top triangle
+        float topTriangleBase = rightLineXIntercept - leftLineXIntercept;
+        float topTriangleAltitude = height - topLineYIntercept;
+        mTopTriangle = new TriangleGeometry(topTriangleAltitude, topTriangleBase, false);
+        mTopTrianglePeak = new PointF(mCenterPolygonPeakPoint.x,
+                topLineYIntercept + topTriangleAltitude);
+
+        //2. Left and right triangles
+        float sideTriangleBase = centerPolygonHeight;
+        float sideTriangleAltitude = leftLineXIntercept;
+        mSideTriangle = new TriangleGeometry(sideTriangleAltitude, sideTriangleBase, false);
+        mLeftTrianglePeak = new PointF(0, topLineYIntercept - sideTriangleBase / 2);
+        mRightTrianglePeak = new PointF(rightLineXIntercept + sideTriangleAltitude,
+                topLineYIntercept - sideTriangleBase / 2);
+
+        //3. Bottom triangles.
+        float bottomRightTriangleBase = LineUtils.getDistanceBetweenPoints(
+                mCenterPolygonPeakPoint, mIntersectionRightSideBottomRightSide);
+        float bottomLeftTriangleBase = LineUtils.getDistanceBetweenPoints(
+                mCenterPolygonPeakPoint, mIntersectionLeftSideBottomLeftSide);
+        float bottomRightTriangleAltitude = mBottomRightLineBisectorXAxisIntercept == null ? 0
+                : LineUtils.getDistanceBetweenPoints(mBottomRightLineMidpoint,
+                        mBottomRightLineBisectorXAxisIntercept);
+        float bottomLeftTriangleAltitude = mBottomLeftLineBisectorXAxisIntercept == null ? 0
+                : LineUtils.getDistanceBetweenPoints(mBottomLeftLineMidpoint,
+                        mBottomLeftLineBisectorXAxisIntercept);
+        mBottomRightTriangle = new TriangleGeometry(bottomRightTriangleAltitude,
+                bottomRightTriangleBase, false);
+        mBottomLeftTriangle = new TriangleGeometry(bottomLeftTriangleAltitude,
+                bottomLeftTriangleBase, false);
+
+        computeVertexCoefficients();
+    }
+
+    /**
+     * Fill {@link #mVertexOrigins} and {@link #mVertexSlopes}. Each triangle is interpolated on
+     * its altitude, so at an interpolation of t its base is t times its full base, at t times its
+     * full altitude from the peak.
+     */
+    private void computeVertexCoefficients() {
+        float halfBase = mTopTriangle.getBase() / 2;
+        float altitude = mTopTriangle.getAltitude();
+        setTriangleCoefficients(StarInterpolator.DrawingDescriptor.TRIANGLE_TOP, mTopTrianglePeak,
+                halfBase, -altitude, -halfBase, -altitude);
+
+        halfBase = mSideTriangle.getBase() / 2;
+        altitude = mSideTriangle.getAltitude();
+        setTriangleCoefficients(StarInterpolator.DrawingDescriptor.TRIANGLE_LEFT,
+                mLeftTrianglePeak, altitude, halfBase, altitude, -halfBase);
+        setTriangleCoefficients(StarInterpolator.DrawingDescriptor.TRIANGLE_RIGHT,
+                mRightTrianglePeak, -altitude, halfBase, -altitude, -halfBase);
+
+        if (mBottomLeftLineBisectorXAxisIntercept == null
+                || mBottomRightLineBisectorXAxisIntercept == null) {
+            // Already logged above. The bottom triangles are left at the origin.
+            return;
+        }
+
+        // The base of the bottom left triangle is parallel to the bottom left side, at a distance
+        // of altitude from the peak along the bisector.
+        PointF bisector = mBottomLeftBisectorDirection;
+        PointF side = mBottomLeftLineDirection;
+        halfBase = mBottomLeftTriangle.getBase() / 2;
+        altitude = mBottomLeftTriangle.getAltitude();
+        setTriangleCoefficients(StarInterpolator.DrawingDescriptor.TRIANGLE_BOTTOM_LEFT,
+                mBottomLeftLineBisectorXAxisIntercept,
+                altitude * bisector.x - halfBase * side.x,
+                altitude * bisector.y - halfBase * side.y,
+                altitude * bisector.x + halfBase * side.x,
+                altitude * bisector.y + halfBase * side.y);
+
+        // The bottom right bisector points away from its triangle, so the base is behind the peak.
+        bisector = mBottomRightBisectorDirection;
+        side = mBottomRightLineDirection;
+        halfBase = mBottomRightTriangle.getBase() / 2;
+        altitude = mBottomRightTriangle.getAltitude();
+        setTriangleCoefficients(StarInterpolator.DrawingDescriptor.TRIANGLE_BOTTOM_RIGHT,
+                mBottomRightLineBisectorXAxisIntercept,
+                -altitude * bisector.x - halfBase * side.x,
+                -altitude * bisector.y - halfBase * side.y,
+                -altitude * bisector.x + halfBase * side.x,
+                -altitude * bisector.y + halfBase * side.y);
+    }
+
+    /**
+     * Set the coefficients of the vertices of a triangle from its peak and the direction its two
+     * base vertices move in, per unit of interpolation.
+     */
+    private void setTriangleCoefficients(int triangle, PointF peak, float firstSlopeX,
+            float firstSlopeY, float secondSlopeX, float secondSlopeY) {
+        final int offset = triangle * StarInterpolator.DrawingDescriptor.TRIANGLE_FLOAT_COUNT;
+        for (int i = 0; i < StarInterpolator.DrawingDescriptor.TRIANGLE_FLOAT_COUNT; i += 2) {
+            mVertexOrigins[offset + i] = peak.x;
+            mVertexOrigins[offset + i + 1] = peak.y;
+        }
+        mVertexSlopes[offset + 2] = firstSlopeX;
+        mVertexSlopes[offset + 3] = firstSlopeY;
+        mVertexSlopes[offset + 4] = secondSlopeX;
+        mVertexSlopes[offset + 5] = secondSlopeY;
+    }
+
+    public float getWidth() {
+        return mWidth;
+    }
+
+    public float getHeight() {
+        return mHeight;
+    }
+
+    /**
+     * @return True if this geometry is for a star of the given size.
+     */
+    public boolean hasSize(float width, float height) {
+        return mWidth == width && mHeight == height;
+    }
+}
@@ -1,565 +1,281 @@
 package com.jarvis.dragdropresearch.interpolators;
 
 import android.graphics.PointF;
-import android.util.Log;
 
 import com.jarvis.dragdropresearch.math.Line;
-import com.jarvis.dragdropresearch.math.LineUtils;
 
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
 public class StarInterpolator extends Interpolator {
-    private static final String TAG = StarInterpolator.class.getName();
-
-    private float mWidth;
-    private float mHeight;
-
-    // Sides
-    private Line mTopLine;
-    private Line mLeftSideLine;
-    private Line mRightSideLine;
-    private Line mBottomLeftLine;
-    private Line mBottomRightLine;
-
-    // Lines that bisect the bottom left and right sides. These lines determine where
-    // the bottom left and right triangles intersect the x-axis.
-    private Line mBottomRightBisector;
-    private Line mBottomLeftBisector;
-    private Float mBottomRightBisectorSlope;
-    private Float mBottomLeftBisectorSlope;
-
-    // Interpolators
-    private TriangleInterpolator mTopTriangleInterpolator;
-    private TriangleInterpolator mRightTriangleInterpolator;
-    private TriangleInterpolator mLeftTriangleInterpolator;
-    private TriangleInterpolator mBottomRightTriangleInterpolator;
-    private TriangleInterpolator mBottomLeftTriangleInterpolator;
-
-    // Key Points
-    private PointF mBottomRightLineMidpoint;
-    private PointF mBottomLeftLineMidpoint;
-    private PointF mCenterPolygonPeakPoint;
-    private PointF mIntersectionLeftSideBottomLeftSide;
-    private PointF mIntersectionRightSideBottomRightSide;
-
-    // Points where the bottom left and right triangles intersect the X axis.
-    private PointF mBottomRightLineBisectorXAxisIntercept;
-    private PointF mBottomLeftLineBisectorXAxisIntercept;
+    /**
+     * Metrics of the star, shared by every star of the same size. Each star only holds its value
+     * and the vertices it was last drawn with.
+     */
+    private final StarGeometry mGeometry;
 
     private DrawingDescriptor mDrawingDescriptor;
 
-    private StarInterpolator(int maxValue, float width, float height) {
-        super(maxValue);
-        mWidth = width;
-        mHeight = height;
-    }
+    /**
+     * Interpolation that the vertices in {@link #mDrawingDescriptor} were last computed for.
+     */
+    private float mDrawingDescriptorInterpolation = Float.NaN;
 
-    @Override
-    public void updateValue(int value) {
-        super.updateValue(value);
-        mTopTriangleInterpolator.updateValue(value);
-        mLeftTriangleInterpolator.updateValue(value);
-        mBottomLeftTriangleInterpolator.updateValue(value);
-        mRightTriangleInterpolator.updateValue(value);
-        mBottomRightTriangleInterpolator.updateValue(value);
+    private StarInterpolator(int maxValue, StarGeometry geometry) {
+        super(maxValue);
+        mGeometry = geometry;
     }
 
     @VisibleForTesting
     public Line getBottomRightBisector() {
-        return mBottomRightBisector;
+        return mGeometry.mBottomRightBisector;
     }
 
     @VisibleForTesting
     public Line getBottomLeftBisector() {
-        return mBottomLeftBisector;
+        return mGeometry.mBottomLeftBisector;
     }
 
     @VisibleForTesting
     public PointF getBottomRightLineMidpoint() {
-        return mBottomRightLineMidpoint;
+        return copyOf(mGeometry.mBottomRightLineMidpoint);
     }
 
     @VisibleForTesting
     public PointF getBottomLeftLineMidpoint() {
-        return mBottomLeftLineMidpoint;
+        return copyOf(mGeometry.mBottomLeftLineMidpoint);
     }
 
     @VisibleForTesting
     public TriangleInterpolator getTopTriangleInterpolator() {
-        return mTopTriangleInterpolator;
+        return createTriangleInterpolator(mGeometry.mTopTriangle);
     }
 
     @VisibleForTesting
     public TriangleInterpolator getRightTriangleInterpolator() {
-        return mRightTriangleInterpolator;
+        return createTriangleInterpolator(mGeometry.mSideTriangle);
     }
 
     @VisibleForTesting
     public TriangleInterpolator getLeftTriangleInterpolator() {
-        return mLeftTriangleInterpolator;
+        return createTriangleInterpolator(mGeometry.mSideTriangle);
     }
 
     @VisibleForTesting
     public TriangleInterpolator getBottomRightTriangleInterpolator() {
-        return mBottomRightTriangleInterpolator;
+        return createTriangleInterpolator(mGeometry.mBottomRightTriangle);
     }
 
     @VisibleForTesting
     public TriangleInterpolator getBottomLeftTriangleInterpolator() {
-        return mBottomLeftTriangleInterpolator;
+        return createTriangleInterpolator(mGeometry.mBottomLeftTriangle);
     }
 
     @VisibleForTesting
     public PointF getBottomRightLineBisectorXAxisIntercept() {
-        return mBottomRightLineBisectorXAxisIntercept;
+        return copyOf(mGeometry.mBottomRightLineBisectorXAxisIntercept);
     }
 
     @VisibleForTesting
     public PointF getBottomLeftLineBisectorXAxisIntercept() {
-        return mBottomLeftLineBisectorXAxisIntercept;
+        return copyOf(mGeometry.mBottomLeftLineBisectorXAxisIntercept);
     }
 
-    private void constructStarMetrics() {
-        float ratioWidthToHeight = mWidth / mHeight;
-        mDrawingDescriptor = new DrawingDescriptor();
-
-        PointF center = new PointF(mWidth / 2f, mHeight / 2f);
-
-        // Dimensions of the top,left and right sides of the square of the inner pentagon.
-        float centerPolygonHeight = mHeight / 4f;
-        float centerPolygonWidth = centerPolygonHeight * ratioWidthToHeight;
-
-        float topLineYIntercept = center.y + centerPolygonHeight / 2f;
-        float leftLineXIntercept = center.x - centerPolygonWidth / 2f;
-        float rightLineXIntercept = center.x + centerPolygonWidth / 2f;
-
-        float centerPolygonPeakHeight = centerPolygonHeight + centerPolygonHeight / 4f;
-
-        createCenterPolygonLines(center, centerPolygonHeight, centerPolygonPeakHeight,
-                topLineYIntercept, leftLineXIntercept, rightLineXIntercept);
-
-        createBottomLineBisectors();
-
-        createTriangleMetrics(mCenterPolygonPeakPoint, centerPolygonHeight,
-                mIntersectionRightSideBottomRightSide, mIntersectionLeftSideBottomLeftSide);
+    /**
+     * Points of the geometry are shared by every star of the same size, so callers get a copy.
+     */
+    private static PointF copyOf(PointF point) {
+        return new PointF(point.x, point.y);
     }
 
-    private void createCenterPolygonLines(PointF center, float centerPolygonHeight,
-            float centerPolygonPeakHeight, float topLineYIntercept, float leftLineXIntercept,
-            float rightLineXIntercept) {
-        // Build top line
-        Line.Builder builder = new Line.Builder(Line.Type.HORIZONTAL);
-        builder.setYIntercept(topLineYIntercept);
-        mTopLine = builder.build();
-
-        // Build left line
-        builder = new Line.Builder(Line.Type.VERTICAL);
-        builder.setXIntercept(leftLineXIntercept);
-        mLeftSideLine = builder.build();
-
-        // Build right side line
-        builder = new Line.Builder(Line.Type.VERTICAL);
-        builder.setXIntercept(rightLineXIntercept);
-        mRightSideLine = builder.build();
-
-        // Build Bottom Lines
-        // Total height of the inner pentagon
-        mCenterPolygonPeakPoint =
-                new PointF(center.x, mTopLine.getYIntercept() - centerPolygonPeakHeight);
-
-        // Build bottom right line;
-        mIntersectionRightSideBottomRightSide = new PointF(mRightSideLine.getXIntercept(),
-                mTopLine.getYIntercept() - centerPolygonHeight);
-        mBottomRightLine = LineUtils.createLineFromTwoPoints(mCenterPolygonPeakPoint,
-                mIntersectionRightSideBottomRightSide);
-        if (mBottomRightLine != null) {
-            mBottomRightLineMidpoint = mBottomRightLine
-                    .getMidpoint(mCenterPolygonPeakPoint, mIntersectionRightSideBottomRightSide);
-        } else {
-            Log.d(TAG, "Error constructing star. Bottom right line is null");
-            return;
-        }
-
-        // Build bottom left line;
-        mIntersectionLeftSideBottomLeftSide = new PointF(mLeftSideLine.getXIntercept(),
-                mTopLine.getYIntercept() - centerPolygonHeight);
-        mBottomLeftLine = LineUtils.createLineFromTwoPoints(mCenterPolygonPeakPoint,
-                mIntersectionLeftSideBottomLeftSide);
-        if (mBottomLeftLine != null) {
-            mBottomLeftLineMidpoint = mBottomLeftLine
-                    .getMidpoint(mCenterPolygonPeakPoint, mIntersectionLeftSideBottomLeftSide);
-        } else {
-            Log.d(TAG, "Error constructing star. Bottom left line is null");
-        }
+    /**
+     * @return Size-dependent metrics of the star, shared with any interpolator built from the same
+     * snapshot.
+     */
+    public StarGeometry getGeometry() {
+        return mGeometry;
     }
 
-    private void createBottomLineBisectors() {
-        if (mBottomLeftLine.getSlope() == null || mBottomRightLine.getSlope() == null) {
-            Log.d(TAG, "Error constructing star. Bottom lines slope is null.");
-        } else {
-            mBottomRightBisectorSlope = mBottomRightLine.getOrthogonalLineSlope();
-            mBottomLeftBisectorSlope = mBottomLeftLine.getOrthogonalLineSlope();
-
-            if (mBottomRightBisectorSlope == null) {
-                Log.d(TAG, "Error constructing star. Bottom right line bisector slope is null.");
-                return;
-            } else if (mBottomLeftBisectorSlope == null) {
-                Log.d(TAG, "Error constructing star. Bottom left line bisector is null.");
-                return;
-            }
-
-            // Define line for bottom right bisector and left bisector
-            mBottomRightBisector = LineUtils.createLineFromSlopeAndPoint(mBottomRightBisectorSlope,
-                    mBottomRightLineMidpoint);
-            mBottomLeftBisector = LineUtils
-                    .createLineFromSlopeAndPoint(mBottomLeftBisectorSlope, mBottomLeftLineMidpoint);
-
-            // Determine where bisectors intersect the x-axis
-            Line xAxis = LineUtils.createLineFromSlopeAndPoint(0f, new PointF(0, 0));
-            mBottomRightLineBisectorXAxisIntercept =
-                    LineUtils.getPointOfIntersection(xAxis, mBottomRightBisector);
-            mBottomLeftLineBisectorXAxisIntercept =
-                    LineUtils.getPointOfIntersection(xAxis, mBottomLeftBisector);
-        }
+    /**
+     * @return New interpolator for one of the triangles of the star at the current value. The
+     * triangles are not interpolated separately, so this is only meant for tests.
+     */
+    private TriangleInterpolator createTriangleInterpolator(TriangleGeometry triangle) {
+        TriangleInterpolator interpolator = new TriangleInterpolator(getMaxValue(), triangle);
+        interpolator.updateValue(getValue());
+        return interpolator;
     }
 
-    private void createTriangleMetrics(PointF centerPolygonPeakPoint, float centerPolygonHeight,
-            PointF intersectionRightSideBottomRightSide,
-            PointF intersectionLeftSideBottomLeftSide) {
-
-        //1 . Top triangle
-        float topTriangleBase = mRightSideLine.getXIntercept() - mLeftSideLine.getXIntercept();
-        float topTriangleAltitude = mHeight - mTopLine.getYIntercept();
-
-        mTopTriangleInterpolator =
-                new TriangleInterpolator(getMaxValue(), topTriangleAltitude, topTriangleBase);
-        mDrawingDescriptor.setTopTrianglePeak(new PointF(centerPolygonPeakPoint.x,
-                mTopLine.getYIntercept() + topTriangleAltitude));
-
-        //2. Left and right triangles
-        float leftTriangleBase = centerPolygonHeight;
-        float rightTriangleBase = leftTriangleBase;
-        float leftTriangleAltitude = mLeftSideLine.getXIntercept();
-        float rightTriangleAltitude = leftTriangleAltitude;
-
-        mLeftTriangleInterpolator =
-                new TriangleInterpolator(getMaxValue(), leftTriangleAltitude, leftTriangleBase);
-        mRightTriangleInterpolator =
-                new TriangleInterpolator(getMaxValue(), rightTriangleAltitude, rightTriangleBase);
-        mDrawingDescriptor
-                .setLeftTrianglePeak(
-                        new PointF(0, mTopLine.getYIntercept() - leftTriangleBase / 2));
-        mDrawingDescriptor
-                .setRightTrianglePeak(
-                        new PointF(mRightSideLine.getXIntercept() + rightTriangleAltitude,
-                                mTopLine.getYIntercept() - rightTriangleBase / 2));
-
-        //3. Bottom triangles.
-        float bottomRightTriangleBase = LineUtils.getDistanceBetweenPoints(centerPolygonPeakPoint,
-                intersectionRightSideBottomRightSide);
-        float bottomLeftTriangleBase = LineUtils.getDistanceBetweenPoints(centerPolygonPeakPoint,
-                intersectionLeftSideBottomLeftSide);
-        float bottomRightTriangleAltitude = LineUtils
-                .getDistanceBetweenPoints(mBottomRightLineMidpoint,
-                        mBottomRightLineBisectorXAxisIntercept);
-        float bottomLeftTriangleAltitude = LineUtils
-                .getDistanceBetweenPoints(mBottomLeftLineMidpoint,
-                        mBottomLeftLineBisectorXAxisIntercept);
-        mDrawingDescriptor.setBottomLeftTrianglePeak(mBottomLeftLineBisectorXAxisIntercept);
-        mDrawingDescriptor.setBottomRightTrianglePeak(mBottomRightLineBisectorXAxisIntercept);
-
-        mBottomRightTriangleInterpolator =
-                new TriangleInterpolator(getMaxValue(), bottomRightTriangleAltitude,
-                        bottomRightTriangleBase);
-        mBottomLeftTriangleInterpolator =
-                new TriangleInterpolator(getMaxValue(), bottomLeftTriangleAltitude,
-                        bottomLeftTriangleBase);
-
-        mDrawingDescriptor
-                .setBottomLeftLineBisectorXAxisIntercept(mBottomLeftLineBisectorXAxisIntercept);
-        mDrawingDescriptor.setBottomLeftLineMidpoint(mBottomLeftLineMidpoint);
-        mDrawingDescriptor
-                .setBottomRightLineBisectorXAxisIntercept(mBottomRightLineBisectorXAxisIntercept);
-        mDrawingDescriptor.setBottomRightLineMidpoint(mBottomRightLineMidpoint);
+    private void createDrawingDescriptor() {
+        mDrawingDescriptor = new DrawingDescriptor();
     }
 
     /**
      * @return {@link DrawingDescriptor} containing the coordinates for drawing the star triangles.
+     * The descriptor is updated in place when the interpolation changes.
      */
     public DrawingDescriptor getDrawingDescriptor() {
-        calculateTopTriangleDrawing();
-        calculateRightTriangleDrawing();
-        calculateLeftTriangleDrawing();
-        calculateBottomLeftTriangleDrawing();
-        calculateBottomRightTriangleDrawing();
-        return mDrawingDescriptor;
-    }
-
-    private void calculateTopTriangleDrawing() {
-        float[] interpolatedValues = mTopTriangleInterpolator.getInterpolatedValues();
-        PointF peakVertex = mDrawingDescriptor.getTopTrianglePeak();
-
-        float halfBase = interpolatedValues[TriangleInterpolator.INTERPOLATION_VALUES_BASE] / 2;
-        float altitude = interpolatedValues[TriangleInterpolator.INTERPOLATION_VALUES_ALTITUDE];
-        mDrawingDescriptor.setTopTriangleLeftVertex(
-                new PointF(peakVertex.x - halfBase, peakVertex.y - altitude));
-        mDrawingDescriptor.setTopTriangleRightVertex(
-                new PointF(peakVertex.x + halfBase, peakVertex.y - altitude));
-    }
-
-    private void calculateLeftTriangleDrawing() {
-        float[] interpolatedValues = mLeftTriangleInterpolator.getInterpolatedValues();
-        PointF peakVertex = mDrawingDescriptor.getLeftTrianglePeak();
-
-        float halfBase = interpolatedValues[TriangleInterpolator.INTERPOLATION_VALUES_BASE] / 2;
-        float altitude = interpolatedValues[TriangleInterpolator.INTERPOLATION_VALUES_ALTITUDE];
-        mDrawingDescriptor.setLeftTriangleTopVertex(
-                new PointF(altitude, peakVertex.y + halfBase));
-        mDrawingDescriptor.setLeftTriangleBottomVertex(
-                new PointF(altitude, peakVertex.y - halfBase));
-    }
-
-    private void calculateRightTriangleDrawing() {
-        float[] interpolatedValues = mRightTriangleInterpolator.getInterpolatedValues();
-        PointF peakVertex = mDrawingDescriptor.getRightTrianglePeak();
-
-        float halfBase = interpolatedValues[TriangleInterpolator.INTERPOLATION_VALUES_BASE] / 2;
-        float altitude = interpolatedValues[TriangleInterpolator.INTERPOLATION_VALUES_ALTITUDE];
-        mDrawingDescriptor.setRightTriangleTopVertex(
-                new PointF(peakVertex.x - altitude, peakVertex.y + halfBase));
-        mDrawingDescriptor.setRightTriangleBottomVertex(
-                new PointF(peakVertex.x - altitude, peakVertex.y - halfBase));
-    }
-
-    private void calculateBottomLeftTriangleDrawing() {
-        float[] interpolatedValues = mBottomLeftTriangleInterpolator.getInterpolatedValues();
-        PointF peakVertex = mDrawingDescriptor.getBottomLeftTrianglePeak();
-
-        float halfBase = interpolatedValues[TriangleInterpolator.INTERPOLATION_VALUES_BASE] / 2;
-        float altitude = interpolatedValues[TriangleInterpolator.INTERPOLATION_VALUES_ALTITUDE];
-
-        // Calculate the point distance of altitude away from the peak.
-        Line bottomLeftLineXAxisBisector =
-                LineUtils.createLineFromSlopeAndPoint(mBottomLeftBisectorSlope, peakVertex);
-        PointF pointOnBisector =
-                bottomLeftLineXAxisBisector.getPointAtDistance(peakVertex, altitude);
-        if (pointOnBisector == null) {
-            Log.d(TAG, "calculateBottomLeftTriangleDrawing() : pointOnBisector is null");
-            return;
+        if (getInterpolation() == mDrawingDescriptorInterpolation) {
+            return mDrawingDescriptor;
         }
-
-        Line baseLine =
-                LineUtils.createLineFromSlopeAndPoint(mBottomLeftLine.getSlope(), pointOnBisector);
-        mDrawingDescriptor.setBottomLeftTriangleUpperLeftVertex(
-                baseLine.getPointAtDistance(pointOnBisector, -1f * halfBase));
-        mDrawingDescriptor.setBottomLeftTriangleUpperRightVertex(
-                baseLine.getPointAtDistance(pointOnBisector, halfBase));
-    }
-
-    private void calculateBottomRightTriangleDrawing() {
-        float[] interpolatedValues = mBottomRightTriangleInterpolator.getInterpolatedValues();
-        PointF peakVertex = mDrawingDescriptor.getBottomRightTrianglePeak();
-
-        float halfBase = interpolatedValues[TriangleInterpolator.INTERPOLATION_VALUES_BASE] / 2;
-        float altitude = interpolatedValues[TriangleInterpolator.INTERPOLATION_VALUES_ALTITUDE];
-
-        // Calculate the point distance of altitude away from the peak.
-        Line bottomRightLineXAxisBisector =
-                LineUtils.createLineFromSlopeAndPoint(mBottomRightBisectorSlope, peakVertex);
-        PointF pointOnBisector =
-                bottomRightLineXAxisBisector.getPointAtDistance(peakVertex, -1f * altitude);
-        if (pointOnBisector == null) {
-            Log.d(TAG, "calculateBottomRightTriangleDrawing() : pointOnBisector is null");
-            return;
-        }
-
-        Line baseLine =
-                LineUtils.createLineFromSlopeAndPoint(mBottomRightLine.getSlope(), pointOnBisector);
-        mDrawingDescriptor.setBottomRightTriangleUpperLeftVertex(
-                baseLine.getPointAtDistance(pointOnBisector, -1f * halfBase));
-        mDrawingDescriptor.setBottomRightTriangleUpperRightVertex(
-                baseLine.getPointAtDistance(pointOnBisector, halfBase));
+        mDrawingDescriptorInterpolation = getInterpolation();
+        mDrawingDescriptor.interpolate(mGeometry, mDrawingDescriptorInterpolation);
+        return mDrawingDescriptor;
     }
 
     /**
      * Contains the metrics needed to draw this star in the coordinate plane.
+     * <p>
+     * The vertices of the five triangles are packed in a single array, see {@link #getVertices()},
+     * which is updated in place when the interpolation changes. The {@link PointF} getters read
+     * from that array into points owned by the descriptor, so they are also updated in place.
      */
     public static class DrawingDescriptor {
+        public static final int TRIANGLE_TOP = 0;
+        public static final int TRIANGLE_LEFT = 1;
+        public static final int TRIANGLE_RIGHT = 2;
+        public static final int TRIANGLE_BOTTOM_RIGHT = 3;
+        public static final int TRIANGLE_BOTTOM_LEFT = 4;
+        public static final int TRIANGLE_COUNT = 5;
+
+        /**
+         * Number of floats for one triangle in {@link #getVertices()}: x and y of the peak, then
+         * of the two vertices of the base.
+         */
+        public static final int TRIANGLE_FLOAT_COUNT = 6;
+
+        /**
+         * Number of floats in {@link #getVertices()}.
+         */
+        public static final int VERTICES_FLOAT_COUNT = TRIANGLE_COUNT * TRIANGLE_FLOAT_COUNT;
+
+        private final float[] mVertices = new float[VERTICES_FLOAT_COUNT];
+
         // Bottom Right Triangle
-        private PointF mBottomRightTriangleUpperRightVertex;
-        private PointF mBottomRightTriangleUpperLeftVertex;
-        private PointF mBottomRightTrianglePeak;
+        private final PointF mBottomRightTriangleUpperRightVertex = new PointF();
+        private final PointF mBottomRightTriangleUpperLeftVertex = new PointF();
+        private final PointF mBottomRightTrianglePeak = new PointF();
 
         // Bottom Left Triangle
-        private PointF mBottomLeftTriangleUpperLeftVertex;
-        private PointF mBottomLeftTriangleUpperRightVertex;
-        private PointF mBottomLeftTrianglePeak;
+        private final PointF mBottomLeftTriangleUpperLeftVertex = new PointF();
+        private final PointF mBottomLeftTriangleUpperRightVertex = new PointF();
+        private final PointF mBottomLeftTrianglePeak = new PointF();
 
         // Top Triangle
-        private PointF mTopTriangleLeftVertex;
-        private PointF mTopTriangleRightVertex;
-        private PointF mTopTrianglePeak;
+        private final PointF mTopTriangleLeftVertex = new PointF();
+        private final PointF mTopTriangleRightVertex = new PointF();
+        private final PointF mTopTrianglePeak = new PointF();
 
         // Left Triangle
-        private PointF mLeftTriangleTopVertex;
-        private PointF mLeftTriangleBottomVertex;
-        private PointF mLeftTrianglePeak;
+        private final PointF mLeftTriangleTopVertex = new PointF();
+        private final PointF mLeftTriangleBottomVertex = new PointF();
+        private final PointF mLeftTrianglePeak = new PointF();
 
         // Right Triangle
-        private PointF mRightTriangleTopVertex;
-        private PointF mRightTriangleBottomVertex;
-        private PointF mRightTrianglePeak;
-
-        private PointF mBottomLeftLineMidpoint;
-        private PointF mBottomRightLineMidpoint;
-        private PointF mBottomRightLineBisectorXAxisIntercept;
-        private PointF mBottomLeftLineBisectorXAxisIntercept;
-        private PointF mCenterPolygonPeakPoint;
-        private PointF mIntersectionLeftSideBottomLeftSide;
-        private PointF mIntersectionRightSideBottomRightSide;
+        private final PointF mRightTriangleTopVertex = new PointF();
+        private final PointF mRightTriangleBottomVertex = new PointF();
+        private final PointF mRightTrianglePeak = new PointF();
+
+        /**
+         * @return Vertices of the five triangles, {@link #TRIANGLE_FLOAT_COUNT} floats per
+         * triangle in the order of the TRIANGLE_ constants. Points have their origin at the bottom
+         * left of the star, with y pointing up. The array is updated in place and must not be
+         * modified.
+         */
+        public float[] getVertices() {
+            return mVertices;
+        }
+
+        /**
+         * Copy the vertices returned by {@link #getVertices()} into a buffer owned by the caller.
+         *
+         * @param outVertices Array to copy {@link #VERTICES_FLOAT_COUNT} floats into.
+         * @param offset Index in outVertices of the first float to write.
+         */
+        public void getVertices(float[] outVertices, int offset) {
+            System.arraycopy(mVertices, 0, outVertices, offset, VERTICES_FLOAT_COUNT);
+        }
+
+        /**
+         * Place every vertex at the given interpolation, in one pass over the coefficients of the
+         * geometry.
+         */
+        private void interpolate(StarGeometry geometry, float interpolation) {
+            final float[] vertices = mVertices;
+            final float[] origins = geometry.mVertexOrigins;
+            final float[] slopes = geometry.mVertexSlopes;
+            for (int i = 0; i < VERTICES_FLOAT_COUNT; i++) {
+                vertices[i] = origins[i] + interpolation * slopes[i];
+            }
+        }
+
+        /**
+         * @return outPoint, set to the given vertex of a triangle, 0 being the peak.
+         */
+        private PointF getVertex(int triangle, int vertex, PointF outPoint) {
+            final int offset = triangle * TRIANGLE_FLOAT_COUNT + 2 * vertex;
+            outPoint.set(mVertices[offset], mVertices[offset + 1]);
+            return outPoint;
+        }
 
         public PointF getBottomRightTriangleUpperRightVertex() {
-            return mBottomRightTriangleUpperRightVertex;
+            return getVertex(TRIANGLE_BOTTOM_RIGHT, 2, mBottomRightTriangleUpperRightVertex);
         }
 
         public PointF getBottomRightTriangleUpperLeftVertex() {
-            return mBottomRightTriangleUpperLeftVertex;
+            return getVertex(TRIANGLE_BOTTOM_RIGHT, 1, mBottomRightTriangleUpperLeftVertex);
         }
 
         public PointF getBottomLeftTriangleUpperLeftVertex() {
-            return mBottomLeftTriangleUpperLeftVertex;
+            return getVertex(TRIANGLE_BOTTOM_LEFT, 1, mBottomLeftTriangleUpperLeftVertex);
         }
 
         public PointF getBottomLeftTriangleUpperRightVertex() {
-            return mBottomLeftTriangleUpperRightVertex;
+            return getVertex(TRIANGLE_BOTTOM_LEFT, 2, mBottomLeftTriangleUpperRightVertex);
         }
 
         public PointF getBottomRightTrianglePeak() {
-            return mBottomRightTrianglePeak;
+            return getVertex(TRIANGLE_BOTTOM_RIGHT, 0, mBottomRightTrianglePeak);
         }
 
         public PointF getBottomLeftTrianglePeak() {
-            return mBottomLeftTrianglePeak;
-        }
-
-
-        private void setBottomLeftLineMidpoint(PointF bottomLeftLineMidpoint) {
-            mBottomLeftLineMidpoint = bottomLeftLineMidpoint;
-        }
-
-        private void setBottomRightLineMidpoint(PointF bottomRightLineMidpoint) {
-            mBottomRightLineMidpoint = bottomRightLineMidpoint;
-        }
-
-        private void setBottomRightLineBisectorXAxisIntercept(
-                PointF bottomRightLineBisectorXAxisIntercept) {
-            mBottomRightLineBisectorXAxisIntercept = bottomRightLineBisectorXAxisIntercept;
-        }
-
-        private void setBottomLeftLineBisectorXAxisIntercept(
-                PointF bottomLeftLineBisectorXAxisIntercept) {
-            mBottomLeftLineBisectorXAxisIntercept = bottomLeftLineBisectorXAxisIntercept;
-        }
-
-        private void setBottomRightTriangleUpperRightVertex(
-                PointF bottomRightTriangleUpperRightVertex) {
-            mBottomRightTriangleUpperRightVertex = bottomRightTriangleUpperRightVertex;
-        }
-
-        private void setBottomRightTriangleUpperLeftVertex(
-                PointF bottomRightTriangleUpperLeftVertex) {
-            mBottomRightTriangleUpperLeftVertex = bottomRightTriangleUpperLeftVertex;
-        }
-
-        private void setBottomLeftTriangleUpperLeftVertex(
-                PointF bottomLeftTriangleUpperLeftVertex) {
-            mBottomLeftTriangleUpperLeftVertex = bottomLeftTriangleUpperLeftVertex;
-        }
-
-        private void setBottomLeftTriangleUpperRightVertex(
-                PointF bottomLeftTriangleUpperRightVertex) {
-            mBottomLeftTriangleUpperRightVertex = bottomLeftTriangleUpperRightVertex;
-        }
-
-        private void setBottomRightTrianglePeak(
-                PointF bottomRightTrianglePeak) {
-            mBottomRightTrianglePeak = bottomRightTrianglePeak;
-        }
-
-        private void setBottomLeftTrianglePeak(PointF bottomLeftTrianglePeak) {
-            mBottomLeftTrianglePeak = bottomLeftTrianglePeak;
+            return getVertex(TRIANGLE_BOTTOM_LEFT, 0, mBottomLeftTrianglePeak);
         }
 
         public PointF getTopTriangleLeftVertex() {
-            return mTopTriangleLeftVertex;
-        }
-
-        private void setTopTriangleLeftVertex(PointF topTriangleLeftVertex) {
-            mTopTriangleLeftVertex = topTriangleLeftVertex;
+            return getVertex(TRIANGLE_TOP, 2, mTopTriangleLeftVertex);
         }
 
         public PointF getTopTriangleRightVertex() {
-            return mTopTriangleRightVertex;
-        }
-
-        private void setTopTriangleRightVertex(PointF topTriangleRightVertex) {
-            mTopTriangleRightVertex = topTriangleRightVertex;
+            return getVertex(TRIANGLE_TOP, 1, mTopTriangleRightVertex);
         }
 
         public PointF getTopTrianglePeak() {
-            return mTopTrianglePeak;
-        }
-
-        private void setTopTrianglePeak(PointF topTrianglePeak) {
-            mTopTrianglePeak = topTrianglePeak;
+            return getVertex(TRIANGLE_TOP, 0, mTopTrianglePeak);
         }
 
         public PointF getLeftTriangleTopVertex() {
-            return mLeftTriangleTopVertex;
-        }
-
-        private void setLeftTriangleTopVertex(PointF leftTriangleTopVertex) {
-            mLeftTriangleTopVertex = leftTriangleTopVertex;
+            return getVertex(TRIANGLE_LEFT, 1, mLeftTriangleTopVertex);
         }
 
         public PointF getLeftTriangleBottomVertex() {
-            return mLeftTriangleBottomVertex;
-        }
-
-        private void setLeftTriangleBottomVertex(PointF leftTriangleBottomVertex) {
-            mLeftTriangleBottomVertex = leftTriangleBottomVertex;
+            return getVertex(TRIANGLE_LEFT, 2, mLeftTriangleBottomVertex);
         }
 
         public PointF getLeftTrianglePeak() {
-            return mLeftTrianglePeak;
-        }
-
-        private void setLeftTrianglePeak(PointF leftTrianglePeak) {
-            mLeftTrianglePeak = leftTrianglePeak;
+            return getVertex(TRIANGLE_LEFT, 0, mLeftTrianglePeak);
         }
 
         public PointF getRightTriangleTopVertex() {
-            return mRightTriangleTopVertex;
-        }
-
-        private void setRightTriangleTopVertex(PointF rightTriangleTopVertex) {
-            mRightTriangleTopVertex = rightTriangleTopVertex;
+            return getVertex(TRIANGLE_RIGHT, 1, mRightTriangleTopVertex);
         }
 
         public PointF getRightTriangleBottomVertex() {
-            return mRightTriangleBottomVertex;
-        }
-
-        private void setRightTriangleBottomVertex(PointF rightTriangleBottomVertex) {
-            mRightTriangleBottomVertex = rightTriangleBottomVertex;
+            return getVertex(TRIANGLE_RIGHT, 2, mRightTriangleBottomVertex);
         }
 
         public PointF getRightTrianglePeak() {
-            return mRightTrianglePeak;
-        }
-
-        private void setRightTrianglePeak(PointF rightTrianglePeak) {
-            mRightTrianglePeak = rightTrianglePeak;
+            return getVertex(TRIANGLE_RIGHT, 0, mRightTrianglePeak);
         }
     }
 
@@ -567,6 +283,7 @@ public class StarInterpolator extends Interpolator {
         private int mMaxValue;
         private float mWidth;
         private float mHeight;
+        private StarGeometry mGeometry;
 
         public Builder(int maxValue) {
             mMaxValue = maxValue;
@@ -582,9 +299,29 @@ public class StarInterpolator extends Interpolator {
             return this;
         }
 
+        /**
+         * @param geometry Metrics computed ahead of time for a star of the size set on this
+         * builder, or null to compute them when building.
+         */
+        public Builder setGeometry(@Nullable StarGeometry geometry) {
+            mGeometry = geometry;
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException If the geometry set on this builder is for a star of a
+         * different size.
+         */
         public StarInterpolator build() {
-            StarInterpolator interpolator = new StarInterpolator(mMaxValue, mWidth, mHeight);
-            interpolator.constructStarMetrics();
+            StarGeometry geometry = mGeometry;
+            if (geometry == null) {
+                geometry = new StarGeometry(mWidth, mHeight);
+            } else if (!geometry.hasSize(mWidth, mHeight)) {
+                throw new IllegalArgumentException("Geometry is for a " + geometry.getWidth()
+                        + "x" + geometry.getHeight() + " star, not " + mWidth + "x" + mHeight);
+            }
+            StarInterpolator interpolator = new StarInterpolator(mMaxValue, geometry);
+            interpolator.createDrawingDescriptor();
             return interpolator;
         }
     }
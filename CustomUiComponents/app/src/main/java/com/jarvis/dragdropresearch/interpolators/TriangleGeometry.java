@@ -0,0 +1,49 @@
+package com.jarvis.dragdropresearch.interpolators;
+
+/**
+ * Immutable dimensions of a triangle, shared by every {@link TriangleInterpolator} built for a
+ * triangle of the same size.
+ */
+public final class TriangleGeometry {
+    private final float mBase;
+    private final float mAltitude;
+    private final boolean mSymmetric;
+
+    /**
+     * @param altitude Max altitude for the triangle. Should be greater than 0. If not, a value of 1
+     * will be used.
+     * @param base Max value for the base of the triangle.
+     * @param symmetric True if the triangle is drawn as two triangles joining into one, in which
+     * case the base is halved.
+     */
+    public TriangleGeometry(float altitude, float base, boolean symmetric) {
+        mBase = symmetric ? base / 2 : base;
+        mAltitude = altitude > 0 ? altitude : 1;
+        mSymmetric = symmetric;
+    }
+
+    /**
+     * @return Base of the triangle, halved if it is symmetric.
+     */
+    public float getBase() {
+        return mBase;
+    }
+
+    public float getAltitude() {
+        return mAltitude;
+    }
+
+    public boolean isSymmetric() {
+        return mSymmetric;
+    }
+
+    /**
+     * @return Geometry of the same triangle drawn as symmetric or not.
+     */
+    TriangleGeometry withSymmetric(boolean symmetric) {
+        if (symmetric == mSymmetric) {
+            return this;
+        }
+        return new TriangleGeometry(mAltitude, mSymmetric ? 2 * mBase : mBase, symmetric);
+    }
+}
@@ -1,12 +1,12 @@
 package com.jarvis.dragdropresearch.interpolators;
 
+import androidx.annotation.NonNull;
+
 public class TriangleInterpolator extends Interpolator {
     public static final int INTERPOLATION_VALUES_BASE = 0;
     public static final int INTERPOLATION_VALUES_ALTITUDE = 1;
 
-    private float mBase;
-
-    private float mAltitude;
+    private TriangleGeometry mGeometry;
 
     private boolean mInterpolateOnAltitude = true;
 
@@ -14,8 +14,6 @@ public class TriangleInterpolator extends Interpolator {
 
     private float[] mInterpolatedValues = new float[2];
 
-    private boolean mSymmetric;
-
     /**
      * Create a new triangle interpolator.
      *
@@ -41,19 +39,32 @@ public class TriangleInterpolator extends Interpolator {
      * When true, the base will be halved and the interpolation will be based on the halved base.
      */
     public TriangleInterpolator(int maxValue, float altitude, float base, boolean symmetric) {
+        this(maxValue, new TriangleGeometry(altitude, base, symmetric));
+    }
+
+    /**
+     * Create a new triangle interpolator for a triangle whose geometry is shared with other
+     * interpolators.
+     *
+     * @param maxValue Max value for the units upon which the interpolation fraction will be calculated.
+     * @param geometry Dimensions of the triangle.
+     */
+    public TriangleInterpolator(int maxValue, @NonNull TriangleGeometry geometry) {
         super(maxValue);
-        mBase = base > 0 ? base : 1;
-        mBase = symmetric ? base / 2 : base;
-        mAltitude = altitude > 0 ? altitude : 1;
-        mSymmetric = symmetric;
+        mGeometry = geometry;
+    }
+
+    @NonNull
+    public TriangleGeometry getGeometry() {
+        return mGeometry;
     }
 
     public float getBase() {
-        return mBase;
+        return mGeometry.getBase();
     }
 
     public float getAltitude() {
-        return mAltitude;
+        return mGeometry.getAltitude();
     }
 
     /**
@@ -73,7 +84,7 @@ public class TriangleInterpolator extends Interpolator {
     }
 
     public boolean isSymmetric() {
-        return mSymmetric;
+        return mGeometry.isSymmetric();
     }
 
     /**
@@ -82,28 +93,23 @@ public class TriangleInterpolator extends Interpolator {
      * the new base.
      */
     public void setSymmetric(boolean symmetric) {
-        if (symmetric == mSymmetric) return;
-
-        if (symmetric) {
-            mBase = mBase / 2;
-        } else {
-            mBase = 2 * mBase;
-        }
-
-        mSymmetric = symmetric;
+        // The geometry may be shared, so it is replaced rather than modified.
+        mGeometry = mGeometry.withSymmetric(symmetric);
     }
 
     public float[] getInterpolatedValues() {
+        final float base = mGeometry.getBase();
+        final float altitude = mGeometry.getAltitude();
 
         if (mInterpolateOnAltitude) {
-            float interpolatedAltitude = getInterpolation() * mAltitude;
-            float interpolatedBase = (interpolatedAltitude * mBase) / mAltitude;
+            float interpolatedAltitude = getInterpolation() * altitude;
+            float interpolatedBase = (interpolatedAltitude * base) / altitude;
 
             mInterpolatedValues[INTERPOLATION_VALUES_BASE] = interpolatedBase;
             mInterpolatedValues[INTERPOLATION_VALUES_ALTITUDE] = interpolatedAltitude;
         } else {
-            float interpolatedBase = getInterpolation() * mBase;
-            float interpolatedAltitude = (mAltitude * interpolatedBase) / mBase;
+            float interpolatedBase = getInterpolation() * base;
+            float interpolatedAltitude = (altitude * interpolatedBase) / base;
 
             mInterpolatedValues[INTERPOLATION_VALUES_BASE] = interpolatedBase;
             mInterpolatedValues[INTERPOLATION_VALUES_ALTITUDE] = interpolatedAltitude;
@@ -113,7 +119,7 @@ public class TriangleInterpolator extends Interpolator {
     }
 
     private int calculateAltitudeForInterpolatedBase() {
-        float interpolatedBase = (int)(getInterpolation() * mBase);
-        return (int)((mAltitude * interpolatedBase) / mBase);
+        float interpolatedBase = (int)(getInterpolation() * getBase());
+        return (int)((getAltitude() * interpolatedBase) / getBase());
     }
 }
@@ -10,6 +10,8 @@ public class FlashImage {
     @DrawableRes
     private int mImageResId;
 
+    private String mCacheKey;
+
     private boolean mImageAvailable;
 
     private int mXOffset;
@@ -24,6 +26,15 @@ public class FlashImage {
 
     public void setImageResId(@DrawableRes int imageResId) {
         mImageResId = imageResId;
+        mCacheKey = String.valueOf(imageResId);
+    }
+
+    /**
+     * @return Key of the image bitmap in the {@link com.jarvis.dragdropresearch.utils.ImageCacheHelper}.
+     * Kept with the image so lookups while drawing do not allocate a new string.
+     */
+    public String getCacheKey() {
+        return mCacheKey;
     }
 
     /**
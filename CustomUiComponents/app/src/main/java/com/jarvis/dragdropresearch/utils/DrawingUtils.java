@@ -4,30 +4,38 @@ import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.RectF;
-import android.os.Build;
-import android.util.Pair;
 
 import com.jarvis.dragdropresearch.funwithshapes.ArcShape;
 import com.jarvis.dragdropresearch.funwithshapes.RectangleShape;
-import com.jarvis.dragdropresearch.funwithshapes.SpiralArcDescriptor;
+import com.jarvis.dragdropresearch.funwithshapes.SpiralGeometry;
 import com.jarvis.dragdropresearch.funwithshapes.SpiralSegment;
 import com.jarvis.dragdropresearch.funwithshapes.SpiralShape;
 import com.jarvis.dragdropresearch.funwithshapes.StarShape;
 import com.jarvis.dragdropresearch.funwithshapes.TriangleShape;
 import com.jarvis.dragdropresearch.interpolators.AngleInterpolator;
 import com.jarvis.dragdropresearch.interpolators.RectangleInterpolator;
-import com.jarvis.dragdropresearch.interpolators.SpiralInterpolator;
 import com.jarvis.dragdropresearch.interpolators.StarInterpolator;
 import com.jarvis.dragdropresearch.interpolators.TriangleInterpolator;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 /**
  * Collection of utility functions for managing drawing of certain objects.
  */
 public class DrawingUtils {
+    /**
+     * Number of triangles a {@link StarShape} is drawn with.
+     */
+    public static final int STAR_COMPONENT_COUNT =
+            StarInterpolator.DrawingDescriptor.TRIANGLE_COUNT;
+
+    // Scratch objects reused across calls so drawing does not allocate. Drawing only happens on
+    // the UI thread, so they are never used concurrently.
+    private static final Path sPath = new Path();
+    private static final RectF sArcRect = new RectF();
+    private static final float[] sTriangleVertices = new float[6];
+    private static final float[] sStarVertices =
+            new float[StarInterpolator.DrawingDescriptor.VERTICES_FLOAT_COUNT];
 
     private DrawingUtils() {
 
@@ -43,20 +51,31 @@ public class DrawingUtils {
      */
     public static void drawArcShape(Canvas canvas, ArcShape shape, RectF boundingRect,
             Paint paint) {
-        AngleInterpolator angleInterpolator = shape.getAngleInterpolator();
+        drawArcShape(canvas, shape, boundingRect, paint, shape.allowMultiColoredComponents());
+    }
 
-        List<Pair<Float, Float>> drawingAngles =
-                angleInterpolator.getDrawingDescriptor().getDrawingAngles();
+    /**
+     * Draw a {@link ArcShape} within the given bounds.
+     *
+     * @param canvas {@link Canvas} upon which to draw the arc.
+     * @param shape
+     * @param boundingRect {@link RectF} representing the bounds within the canvas.
+     * @param paint
+     * @param multiColored False to draw every slice in the color of the paint.
+     */
+    public static void drawArcShape(Canvas canvas, ArcShape shape, RectF boundingRect,
+            Paint paint, boolean multiColored) {
+        AngleInterpolator angleInterpolator = shape.getAngleInterpolator();
 
-        if (drawingAngles == null || drawingAngles.isEmpty()) return;
+        AngleInterpolator.DrawingDescriptor descriptor = angleInterpolator.getDrawingDescriptor();
+        float[] startAngles = descriptor.getStartAngles();
+        float[] sweepAngles = descriptor.getSweepAngles();
 
-        for (int i = 0; i < drawingAngles.size(); i++) {
-            Pair<Float, Float> current = drawingAngles.get(i);
-            if (shape.allowMultiColoredComponents()) {
+        for (int i = 0; i < descriptor.getCount(); i++) {
+            if (multiColored) {
                 paint.setColor(shape.getComponentColors()[i % shape.getComponentColors().length]);
             }
-            canvas.drawArc(boundingRect, current.first,
-                    current.second, true, paint);
+            canvas.drawArc(boundingRect, startAngles[i], sweepAngles[i], true, paint);
         }
     }
 
@@ -70,16 +89,29 @@ public class DrawingUtils {
      */
     public static void drawRectangleShape(Canvas canvas, RectangleShape shape, RectF bounds,
             Paint paint) {
+        drawRectangleShape(canvas, shape, bounds, paint, shape.allowMultiColoredComponents());
+    }
+
+    /**
+     * Draw a {@link RectangleShape} onto {@link Canvas} within provided bounds.
+     *
+     * @param canvas {@link Canvas} upon which to draw the arc.
+     * @param shape
+     * @param bounds {@link RectF} representing the bounds within the canvas.
+     * @param paint
+     * @param multiColored False to draw every component in the color of the paint.
+     */
+    public static void drawRectangleShape(Canvas canvas, RectangleShape shape, RectF bounds,
+            Paint paint, boolean multiColored) {
         RectangleInterpolator interpolator = shape.getRectangleInterpolator();
         RectangleInterpolator.DrawingDescriptor drawingDescriptor =
                 interpolator.getDrawingDescriptor();
         List<RectF> components = drawingDescriptor.getRectangleComponents();
 
         int[] componentColors = shape.getComponentColors();
-        boolean allowMultiColoredComponents = shape.allowMultiColoredComponents();
         int count = 0;
         for (RectF component : components) {
-            if (allowMultiColoredComponents) {
+            if (multiColored) {
                 paint.setColor(componentColors[count++ % componentColors.length]);
             }
             canvas.drawRect(bounds.left + component.left, bounds.top + component.top,
@@ -88,6 +120,67 @@ public class DrawingUtils {
         }
     }
 
+    /**
+     * Add a component of a {@link RectangleShape} to a path.
+     *
+     * @param path {@link Path} to add the component to.
+     * @param component Component from {@link RectangleInterpolator.DrawingDescriptor}, relative
+     * to the top left of the bounds.
+     * @param bounds {@link RectF} representing the bounds of the shape.
+     */
+    public static void addRectangleComponent(Path path, RectF component, RectF bounds) {
+        path.addRect(bounds.left + component.left, bounds.top + component.top,
+                bounds.left + component.right, bounds.top + component.bottom, Path.Direction.CW);
+    }
+
+    /**
+     * @return Number of triangles a {@link TriangleShape} is drawn with.
+     */
+    public static int getTriangleComponentCount(TriangleShape shape) {
+        return shape.getTriangleInterpolator().isSymmetric() ? 2 : 1;
+    }
+
+    /**
+     * Add a triangle of a {@link TriangleShape} to a path.
+     *
+     * @param path {@link Path} to add the triangle to.
+     * @param shape
+     * @param bounds {@link RectF} representing the bounds of the shape.
+     * @param component 0 for the left triangle, 1 for the right triangle of symmetric shapes.
+     */
+    public static void addTriangleComponent(Path path, TriangleShape shape, RectF bounds,
+            int component) {
+        getTriangleComponentVertices(shape, bounds, component, sTriangleVertices);
+        addTriangle(path, sTriangleVertices, 0);
+    }
+
+    /**
+     * Compute the vertices of a triangle of a {@link TriangleShape}.
+     *
+     * @param shape
+     * @param bounds {@link RectF} representing the bounds of the shape.
+     * @param component 0 for the left triangle, 1 for the right triangle of symmetric shapes.
+     * @param outVertices Array to write the x and y coordinates of the three vertices into.
+     */
+    public static void getTriangleComponentVertices(TriangleShape shape, RectF bounds,
+            int component, float[] outVertices) {
+        float[] interpolatedValues = shape.getTriangleInterpolator().getInterpolatedValues();
+        float base = interpolatedValues[TriangleInterpolator.INTERPOLATION_VALUES_BASE];
+        float altitude = interpolatedValues[TriangleInterpolator.INTERPOLATION_VALUES_ALTITUDE];
+
+        // The right angle of the left triangle is on its right, and the other way around.
+        float bottomLeftX = component == 0 ? bounds.left : bounds.right - base;
+        float bottomRightX = bottomLeftX + base;
+        float topX = component == 0 ? bottomRightX : bottomLeftX;
+
+        outVertices[0] = bottomLeftX;
+        outVertices[1] = bounds.bottom;
+        outVertices[2] = bottomRightX;
+        outVertices[3] = bounds.bottom;
+        outVertices[4] = topX;
+        outVertices[5] = bounds.bottom - altitude;
+    }
+
     /**
      * Draw a {@link TriangleShape} onto {@link Canvas} within provided bounds.
      *
@@ -98,63 +191,42 @@ public class DrawingUtils {
      */
     public static void drawTriangleShape(Canvas canvas, TriangleShape shape, RectF bounds,
             Paint paint) {
+        drawTriangleShape(canvas, shape, bounds, paint, shape.allowMultiColoredComponents());
+    }
+
+    /**
+     * Draw a {@link TriangleShape} onto {@link Canvas} within provided bounds.
+     *
+     * @param canvas {@link Canvas} upon which to draw the arc.
+     * @param shape
+     * @param bounds {@link RectF} representing the bounds within the canvas.
+     * @param paint
+     * @param multiColored False to draw both triangles of symmetric shapes in the color of the
+     * paint.
+     */
+    public static void drawTriangleShape(Canvas canvas, TriangleShape shape, RectF bounds,
+            Paint paint, boolean multiColored) {
         TriangleInterpolator triangleInterpolator = shape.getTriangleInterpolator();
-        float baseInterpolation = triangleInterpolator
-                .getInterpolatedValues()[TriangleInterpolator.INTERPOLATION_VALUES_BASE];
-        float altitudeInterpolation = triangleInterpolator
-                .getInterpolatedValues()[TriangleInterpolator.INTERPOLATION_VALUES_ALTITUDE];
-        int[] colors = new int[] {paint.getColor(), paint.getColor()};
-
-        if (shape.allowMultiColoredComponents()
-                && triangleInterpolator.isSymmetric()) {
+        int leftColor = paint.getColor();
+        int rightColor = paint.getColor();
+
+        if (multiColored && triangleInterpolator.isSymmetric()) {
             int[] componentColors = shape.getComponentColors();
-            colors[0] = shape.getComponentColors()[0 % componentColors.length];
-            colors[1] = shape.getComponentColors()[1 % componentColors.length];
+            leftColor = componentColors[0 % componentColors.length];
+            rightColor = componentColors[1 % componentColors.length];
         }
 
-        // *** Construct the Left Triangle ** //
-
-        // Bottom left vertex
-        float bottomLeftX = bounds.left;
-        float bottomLeftY = bounds.bottom;
-
-        // Bottom right corner
-        float bottomRightX = bottomLeftX + baseInterpolation;
-        float bottomRightY = bounds.bottom;
-
-        //Top Vertex
-        float topX = bottomRightX;
-        float topY = bottomRightY - altitudeInterpolation;
-
-        Path leftTriangle = new Path();
-        leftTriangle.lineTo(bottomLeftX, bottomLeftY);
-        leftTriangle.lineTo(bottomRightX, bottomRightY);
-        leftTriangle.lineTo(topX, topY);
-        leftTriangle.lineTo(bottomLeftX, bottomLeftY);
-
-        paint.setColor(colors[0]);
-        canvas.drawPath(leftTriangle, paint);
+        Path path = sPath;
+        path.reset();
+        addTriangleComponent(path, shape, bounds, 0);
+        paint.setColor(leftColor);
+        canvas.drawPath(path, paint);
 
         if (triangleInterpolator.isSymmetric()) {
-            // *** Construct the Right Triangle ** //
-
-            bottomLeftX = bounds.right - baseInterpolation;
-            bottomLeftY = bounds.bottom;
-
-            bottomRightX = bounds.right;
-            bottomRightY = bounds.bottom;
-
-            topX = bottomLeftX;
-            topY = bottomRightY - altitudeInterpolation;
-
-            Path rightTriangle = new Path();
-            rightTriangle.lineTo(bottomLeftX, bottomLeftY);
-            rightTriangle.lineTo(bottomRightX, bottomRightY);
-            rightTriangle.lineTo(topX, topY);
-            rightTriangle.lineTo(bottomLeftX, bottomLeftY);
-
-            paint.setColor(colors[1]);
-            canvas.drawPath(rightTriangle, paint);
+            path.reset();
+            addTriangleComponent(path, shape, bounds, 1);
+            paint.setColor(rightColor);
+            canvas.drawPath(path, paint);
         }
     }
 
@@ -168,121 +240,68 @@ public class DrawingUtils {
      */
     public static void drawSpiralShape(Canvas canvas, SpiralShape shape, RectF bounds,
             Paint paint) {
-        SpiralInterpolator interpolator = shape.getSpiralInterpolator();
-        Path path = new Path();
+        drawSpiralShape(canvas, shape, bounds, paint, Integer.MAX_VALUE,
+                shape.allowMultiColoredComponents());
+    }
 
-        List<SpiralArcDescriptor> arcDescriptors = new ArrayList<>();
-        List<SpiralSegment> segments = interpolator.getSegments();
-        if (segments == null || segments.isEmpty()) {
+    /**
+     * Draw a {@link SpiralShape} onto {@link Canvas} within provided bounds, with a limited level
+     * of detail.
+     *
+     * @param canvas {@link Canvas} upon which to draw the arc.
+     * @param shape
+     * @param bounds {@link RectF} representing the bounds within the canvas.
+     * @param paint
+     * @param maxSegments Maximum number of segments to draw, starting from the center.
+     * @param multiColored False to draw the spiral as a single path in the color of the paint.
+     */
+    public static void drawSpiralShape(Canvas canvas, SpiralShape shape, RectF bounds,
+            Paint paint, int maxSegments, boolean multiColored) {
+        SpiralGeometry geometry = shape.getSpiralInterpolator().getGeometry();
+        final int segmentCount = Math.min(geometry.getSegmentCount(), maxSegments);
+        if (segmentCount == 0) {
             return;
         }
 
-        // TODO: Populate array of random colors during initial setup to avoid excess
-        // object allocation in onDraw().
-
-        for (int i = 0; i < segments.size(); i++) {
-            final SpiralSegment segment = segments.get(i);
-
-            if (segment.getType() == SpiralSegment.Type.TOP) {
-                addTopSpiralSegment(path, arcDescriptors, bounds, segment);
-            } else {
-                addBottomSpiralSegment(path, arcDescriptors, bounds, segment);
-            }
-        }
-
-        final int defaultColor = paint.getColor();
-
-        final int[] segmentColors = shape.getComponentColors();
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP &&
-                shape.allowMultiColoredComponents()) {
-            for (int i = 0; i < arcDescriptors.size(); i++) {
-                SpiralArcDescriptor descriptor = arcDescriptors.get(i);
-
+        // Segments are laid out around the center of the spiral.
+        final float centerX = bounds.centerX();
+        final float centerY = bounds.centerY();
+        canvas.translate(centerX, centerY);
+        if (multiColored) {
+            final int defaultColor = paint.getColor();
+            final int[] segmentColors = shape.getComponentColors();
+            final float[] arcBounds = geometry.getArcBounds();
+            final float[] arcAngles = geometry.getArcAngles();
+            RectF arcRect = sArcRect;
+            for (int i = 0; i < segmentCount; i++) {
                 // Set segment color from poll of available segment colors.
                 int segmentColor = segmentColors[i % segmentColors.length];
-                if (shape.allowMultiColoredComponents() &&
-                        segmentColor != SpiralSegment.SEGMENT_COLOR_DEFAULT) {
+                if (segmentColor != SpiralSegment.SEGMENT_COLOR_DEFAULT) {
                     paint.setColor(segmentColor);
                 }
-                canvas.drawArc(descriptor.getLeft(), descriptor.getTop(), descriptor.getRight(),
-                        descriptor.getBottom(), descriptor.getStartAngle(),
-                        descriptor.getSweepAngle(), false, paint);
+                arcRect.set(arcBounds[4 * i], arcBounds[4 * i + 1], arcBounds[4 * i + 2],
+                        arcBounds[4 * i + 3]);
+                canvas.drawArc(arcRect, arcAngles[2 * i], arcAngles[2 * i + 1], false, paint);
 
                 paint.setColor(defaultColor);
             }
         } else {
-            canvas.drawPath(path, paint);
-        }
-    }
-
-    private static void addTopSpiralSegment(Path path,
-            List<SpiralArcDescriptor> arcDescriptors,
-            RectF bounds, SpiralSegment spiralSegment) {
-        float centerX = bounds.centerX();
-        float centerY = bounds.centerY();
-
-        float segmentBoundsLeft;
-        float segmentBoundsRight;
-        float segmentBoundsTop;
-        float segmentBoundsBottom;
-
-        if (path.isEmpty()) {
-            segmentBoundsLeft = centerX - spiralSegment.getWidth() / 2;
-            segmentBoundsRight = centerX + spiralSegment.getWidth() / 2;
-            segmentBoundsTop = centerY - spiralSegment.getHeight() / 2;
-            segmentBoundsBottom = centerY + spiralSegment.getHeight() / 2;
-        } else {
-            RectF pathBounds = new RectF();
-            path.computeBounds(pathBounds, true);
-
-            segmentBoundsLeft = pathBounds.left;
-            segmentBoundsRight = segmentBoundsLeft + spiralSegment.getWidth();
-            segmentBoundsTop = centerY - spiralSegment.getHeight() / 2;
-            segmentBoundsBottom = centerY + spiralSegment.getHeight() / 2;
-        }
-
-        arcDescriptors.add(new SpiralArcDescriptor(segmentBoundsLeft, segmentBoundsTop,
-                segmentBoundsBottom, segmentBoundsRight, 180,
-                180));
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-            path.addArc(segmentBoundsLeft, segmentBoundsTop, segmentBoundsRight,
-                    segmentBoundsBottom, 180, 180);
+            canvas.drawPath(geometry.getPath(segmentCount), paint);
         }
+        canvas.translate(-centerX, -centerY);
     }
 
-    private static void addBottomSpiralSegment(Path path,
-            List<SpiralArcDescriptor> arcDescriptors,
-            RectF bounds, SpiralSegment spiralSegment) {
-        float centerX = bounds.centerX();
-        float centerY = bounds.centerY();
-
-        float segmentBoundsLeft;
-        float segmentBoundsRight;
-        float segmentBoundsTop;
-        float segmentBoundsBottom;
-
-        if (path.isEmpty()) {
-            segmentBoundsLeft = centerX - spiralSegment.getWidth() / 2;
-            segmentBoundsRight = centerX + spiralSegment.getWidth() / 2;
-            segmentBoundsTop = centerY - spiralSegment.getHeight() / 2;
-            segmentBoundsBottom = centerY + spiralSegment.getHeight() / 2;
-        } else {
-            RectF pathBounds = new RectF();
-            path.computeBounds(pathBounds, true);
-
-            segmentBoundsLeft = pathBounds.right - spiralSegment.getWidth();
-            segmentBoundsRight = pathBounds.right;
-            segmentBoundsTop = centerY - spiralSegment.getHeight() / 2;
-            segmentBoundsBottom = centerY + spiralSegment.getHeight() / 2;
-        }
-
-        arcDescriptors.add(new SpiralArcDescriptor(segmentBoundsLeft, segmentBoundsTop,
-                segmentBoundsBottom, segmentBoundsRight, 0,
-                180));
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-            path.addArc(segmentBoundsLeft, segmentBoundsTop, segmentBoundsRight,
-                    segmentBoundsBottom, 0, 180);
-        }
+    /**
+     * Draw a {@link StarShape} onto {@link Canvas} within provided bounds.
+     *
+     * @param canvas {@link Canvas} upon which to draw the star.
+     * @param shape
+     * @param bounds {@link RectF} representing the bounds within the canvas.
+     * @param paint
+     */
+    public static void drawStarShape(Canvas canvas, StarShape shape, RectF bounds,
+            Paint paint) {
+        drawStarShape(canvas, shape, bounds, paint, shape.allowMultiColoredComponents());
     }
 
     /**
@@ -292,80 +311,100 @@ public class DrawingUtils {
      * @param shape
      * @param bounds {@link RectF} representing the bounds within the canvas.
      * @param paint
+     * @param multiColored False to draw the star as a single path in the color of the paint,
+     * rather than one path per triangle.
      */
     public static void drawStarShape(Canvas canvas, StarShape shape, RectF bounds,
-            Paint paint) {
+            Paint paint, boolean multiColored) {
         StarInterpolator interpolator = shape.getStarInterpolator();
-        StarInterpolator.DrawingDescriptor descriptor = interpolator.getDrawingDescriptor();
-
-        Path path = new Path();
-        int[] componentColors = shape.getComponentColors();
-        if (!shape.allowMultiColoredComponents()) {
-            Arrays.fill(componentColors, paint.getColor());
-        }
-
-        int colorIndex = 0;
-        // Draw top triangle
-        path.moveTo(bounds.left + descriptor.getTopTrianglePeak().x,
-                bounds.bottom - descriptor.getTopTrianglePeak().y);
-        path.lineTo(bounds.left + descriptor.getTopTriangleRightVertex().x,
-                bounds.bottom - descriptor.getTopTriangleRightVertex().y);
-        path.lineTo(bounds.left + descriptor.getTopTriangleLeftVertex().x,
-                bounds.bottom - descriptor.getTopTriangleLeftVertex().y);
-        path.close();
-        paint.setColor(componentColors[colorIndex++ % componentColors.length]);
-        canvas.drawPath(path, paint);
-
-        path.reset();
-
-        // Draw left triangle
-        path.moveTo(bounds.left + descriptor.getLeftTrianglePeak().x,
-                bounds.bottom - descriptor.getLeftTrianglePeak().y);
-        path.lineTo(bounds.left + descriptor.getLeftTriangleTopVertex().x,
-                bounds.bottom - descriptor.getLeftTriangleTopVertex().y);
-        path.lineTo(bounds.left + descriptor.getLeftTriangleBottomVertex().x,
-                bounds.bottom - descriptor.getLeftTriangleBottomVertex().y);
-        path.close();
-        paint.setColor(componentColors[colorIndex++ % componentColors.length]);
-        canvas.drawPath(path, paint);
+        final float[] vertices = sStarVertices;
+        getStarVertices(interpolator.getDrawingDescriptor(), bounds, vertices, 0);
 
+        Path path = sPath;
         path.reset();
+        if (!multiColored) {
+            // The triangles do not overlap, so they can be filled as one path.
+            for (int i = 0; i < STAR_COMPONENT_COUNT; i++) {
+                addTriangle(path, vertices,
+                        i * StarInterpolator.DrawingDescriptor.TRIANGLE_FLOAT_COUNT);
+            }
+            canvas.drawPath(path, paint);
+            return;
+        }
 
-        // Draw right triangle
-        path.moveTo(bounds.left + descriptor.getRightTrianglePeak().x,
-                bounds.bottom - descriptor.getRightTrianglePeak().y);
-        path.lineTo(bounds.left + descriptor.getRightTriangleTopVertex().x,
-                bounds.bottom - descriptor.getRightTriangleTopVertex().y);
-        path.lineTo(bounds.left + descriptor.getRightTriangleBottomVertex().x,
-                bounds.bottom - descriptor.getRightTriangleBottomVertex().y);
-        path.close();
-        paint.setColor(componentColors[colorIndex++ % componentColors.length]);
-        canvas.drawPath(path, paint);
+        int[] componentColors = shape.getComponentColors();
+        for (int i = 0; i < STAR_COMPONENT_COUNT; i++) {
+            path.reset();
+            addTriangle(path, vertices,
+                    i * StarInterpolator.DrawingDescriptor.TRIANGLE_FLOAT_COUNT);
+            paint.setColor(componentColors[i % componentColors.length]);
+            canvas.drawPath(path, paint);
+        }
+    }
 
-        path.reset();
+    /**
+     * Add one of the five triangles of a {@link StarShape} to a path.
+     *
+     * @param path {@link Path} to add the triangle to.
+     * @param descriptor Drawing descriptor of the star.
+     * @param bounds {@link RectF} representing the bounds of the shape.
+     * @param component Triangle to add, in the order they are colored in: top, left, right,
+     * bottom right and bottom left.
+     */
+    public static void addStarComponent(Path path, StarInterpolator.DrawingDescriptor descriptor,
+            RectF bounds, int component) {
+        getStarComponentVertices(descriptor, bounds, component, sTriangleVertices);
+        addTriangle(path, sTriangleVertices, 0);
+    }
 
-        // Draw bottom right triangle
-        path.moveTo(bounds.left + descriptor.getBottomRightTrianglePeak().x,
-                bounds.bottom - descriptor.getBottomRightTrianglePeak().y);
-        path.lineTo(bounds.left + descriptor.getBottomRightTriangleUpperLeftVertex().x,
-                bounds.bottom - descriptor.getBottomRightTriangleUpperLeftVertex().y);
-        path.lineTo(bounds.left + descriptor.getBottomRightTriangleUpperRightVertex().x,
-                bounds.bottom - descriptor.getBottomRightTriangleUpperRightVertex().y);
-        path.close();
-        paint.setColor(componentColors[colorIndex++ % componentColors.length]);
-        canvas.drawPath(path, paint);
+    /**
+     * Compute the vertices of the five triangles of a {@link StarShape}, in the order of
+     * {@link StarInterpolator.DrawingDescriptor#getVertices()}.
+     *
+     * @param descriptor Drawing descriptor of the star.
+     * @param bounds {@link RectF} representing the bounds of the shape.
+     * @param outVertices Array to write
+     * {@link StarInterpolator.DrawingDescriptor#VERTICES_FLOAT_COUNT} x and y coordinates into.
+     * @param offset Index in outVertices of the first coordinate to write.
+     */
+    public static void getStarVertices(StarInterpolator.DrawingDescriptor descriptor,
+            RectF bounds, float[] outVertices, int offset) {
+        final float[] vertices = descriptor.getVertices();
+        for (int i = 0; i < StarInterpolator.DrawingDescriptor.VERTICES_FLOAT_COUNT; i += 2) {
+            outVertices[offset + i] = bounds.left + vertices[i];
+            outVertices[offset + i + 1] = bounds.bottom - vertices[i + 1];
+        }
+    }
 
-        path.reset();
+    /**
+     * Compute the vertices of one of the five triangles of a {@link StarShape}.
+     *
+     * @param descriptor Drawing descriptor of the star.
+     * @param bounds {@link RectF} representing the bounds of the shape.
+     * @param component Triangle to compute, in the order of
+     * {@link #addStarComponent(Path, StarInterpolator.DrawingDescriptor, RectF, int)}.
+     * @param outVertices Array to write the x and y coordinates of the peak and the two other
+     * vertices into.
+     */
+    public static void getStarComponentVertices(StarInterpolator.DrawingDescriptor descriptor,
+            RectF bounds, int component, float[] outVertices) {
+        if (component < 0 || component >= STAR_COMPONENT_COUNT) {
+            throw new IllegalArgumentException("No star triangle " + component);
+        }
+        // Descriptor points have their origin at the bottom left of the bounds, with y pointing
+        // up.
+        final float[] vertices = descriptor.getVertices();
+        final int offset = component * StarInterpolator.DrawingDescriptor.TRIANGLE_FLOAT_COUNT;
+        for (int i = 0; i < StarInterpolator.DrawingDescriptor.TRIANGLE_FLOAT_COUNT; i += 2) {
+            outVertices[i] = bounds.left + vertices[offset + i];
+            outVertices[i + 1] = bounds.bottom - vertices[offset + i + 1];
+        }
+    }
 
-        // Draw bottom left triangle
-        path.moveTo(bounds.left + descriptor.getBottomLeftTrianglePeak().x,
-                bounds.bottom - descriptor.getBottomLeftTrianglePeak().y);
-        path.lineTo(bounds.left + descriptor.getBottomLeftTriangleUpperLeftVertex().x,
-                bounds.bottom - descriptor.getBottomLeftTriangleUpperLeftVertex().y);
-        path.lineTo(bounds.left + descriptor.getBottomLeftTriangleUpperRightVertex().x,
-                bounds.bottom - descriptor.getBottomLeftTriangleUpperRightVertex().y);
+    private static void addTriangle(Path path, float[] vertices, int offset) {
+        path.moveTo(vertices[offset], vertices[offset + 1]);
+        path.lineTo(vertices[offset + 2], vertices[offset + 3]);
+        path.lineTo(vertices[offset + 4], vertices[offset + 5]);
         path.close();
-        paint.setColor(componentColors[colorIndex % componentColors.length]);
-        canvas.drawPath(path, paint);
     }
 }
@@ -74,23 +74,10 @@ public class ImageLoader {
         for (int i = 0; i < imageResourcesIds.length; i++) {
             int imgResId = imageResourcesIds[i];
 
-            BitmapFactory.Options options = getImageSpecs(context, imgResId);
-
-            options.inSampleSize =
-                    calculateInSampleSize(options, config.mMaxImageWidth, config.mMaxImageHeight);
-
-            BitmapDrawable resourceDrawable;
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-                resourceDrawable = (BitmapDrawable)context.getDrawable(imgResId);
-            } else {
-                resourceDrawable = (BitmapDrawable)context.getResources().getDrawable(imgResId);
-            }
+            BitmapDrawable resourceDrawable = getResourceDrawable(context, imgResId);
             if (resourceDrawable == null || resourceDrawable.getBitmap() == null) continue;
 
-            options.inJustDecodeBounds = false;
-            Bitmap output = BitmapFactory
-                    .decodeStream(getBitmapInputStream(options, resourceDrawable.getBitmap()), null,
-                            options);
+            Bitmap output = decodeImage(context, config, imgResId, resourceDrawable);
             if (output == null) {
                 mMarshaller.postError("Could not decode bitmap with id :: " + imgResId);
                 continue;
@@ -113,6 +100,52 @@ public class ImageLoader {
         mMarshaller.postStatusUpdate(LoadingStatus.COMPLETED);
     }
 
+    /**
+     * Load a single image on the calling thread, for instance to reload an image that was
+     * evicted from the cache. Must not be called on the main thread. No callbacks are invoked.
+     *
+     * @param config {@link Configuration} specifying the options for loading the image. If
+     * {@link Configuration#mCache} is set, the image is also added to the cache.
+     * @param imageResId {@link DrawableRes} id of the image to load.
+     * @return The loaded bitmap, or null if it could not be decoded.
+     */
+    @Nullable
+    public Bitmap loadImage(@NonNull Context context, @NonNull Configuration config,
+            @DrawableRes int imageResId) {
+        BitmapDrawable resourceDrawable = getResourceDrawable(context, imageResId);
+        if (resourceDrawable == null || resourceDrawable.getBitmap() == null) return null;
+
+        Bitmap output = decodeImage(context, config, imageResId, resourceDrawable);
+        if (output != null && config.mCache != null) {
+            config.mCache.addEntry(String.valueOf(imageResId), output);
+        }
+        return output;
+    }
+
+    @Nullable
+    private BitmapDrawable getResourceDrawable(@NonNull Context context,
+            @DrawableRes int imageResId) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            return (BitmapDrawable)context.getDrawable(imageResId);
+        } else {
+            return (BitmapDrawable)context.getResources().getDrawable(imageResId);
+        }
+    }
+
+    @Nullable
+    private Bitmap decodeImage(@NonNull Context context, @NonNull Configuration config,
+            @DrawableRes int imageResId, @NonNull BitmapDrawable resourceDrawable) {
+        BitmapFactory.Options options = getImageSpecs(context, imageResId);
+
+        options.inSampleSize =
+                calculateInSampleSize(options, config.mMaxImageWidth, config.mMaxImageHeight);
+
+        options.inJustDecodeBounds = false;
+        return BitmapFactory
+                .decodeStream(getBitmapInputStream(options, resourceDrawable.getBitmap()), null,
+                        options);
+    }
+
     private BitmapFactory.Options getImageSpecs(@NonNull Context context,
             @DrawableRes int imageResId) {
         BitmapFactory.Options options = new BitmapFactory.Options();
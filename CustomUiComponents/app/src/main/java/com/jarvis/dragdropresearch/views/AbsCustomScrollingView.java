@@ -1,10 +1,12 @@
 package com.jarvis.dragdropresearch.views;
 
 import android.content.Context;
+import android.database.DataSetObserver;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Rect;
 import android.util.AttributeSet;
+import android.util.SparseArray;
 import android.view.MotionEvent;
 import android.view.VelocityTracker;
 import android.view.ViewConfiguration;
@@ -13,10 +15,13 @@ import android.widget.FrameLayout;
 import android.widget.OverScroller;
 
 import com.jarvis.dragdropresearch.interpolators.ColorInterpolator;
+import com.jarvis.dragdropresearch.interpolators.InterpolatorBank;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public abstract class AbsCustomScrollingView<T extends ScrollPage> extends FrameLayout {
@@ -33,8 +38,36 @@ public abstract class AbsCustomScrollingView<T extends ScrollPage> extends Frame
      */
     private static final int INVALID_POINTER = -1;
 
+    private static final int DEFAULT_OFFSCREEN_PAGE_LIMIT = 1;
+
+    /**
+     * Number of adapter positions laid out at once while {@link #isEndless()}. The window is
+     * re-based once the content window moves past a quarter of it from its middle.
+     */
+    private static final int ENDLESS_WINDOW_PAGE_COUNT = 32;
+
+    /**
+     * Draw pages with all their detail. Used whenever the view is not moving fast.
+     */
+    public static final int DETAIL_FULL = 0;
+
+    /**
+     * Draw pages with less costly effects, such as single-colored shapes.
+     */
+    public static final int DETAIL_REDUCED = 1;
+
+    /**
+     * Draw pages with the least detail that still reads as their content while moving very fast.
+     */
+    public static final int DETAIL_MINIMAL = 2;
+
     protected int mContentHeight = 5000;
-    protected int mContentWidth = 8000;
+
+    /**
+     * Width of the content. Content no wider than the view, which is the default, only scrolls
+     * vertically.
+     */
+    protected int mContentWidth = 0;
 
     private OverScroller mScroller;
 
@@ -43,12 +76,135 @@ public abstract class AbsCustomScrollingView<T extends ScrollPage> extends Frame
     /**
      * Position of the last motion event.
      */
+    private int mLastMotionX;
     private int mLastMotionY;
 
     protected boolean mInitializedPages;
 
     protected List<T> mPages;
 
+    private final PageVisibilityIndex mPageIndex = new PageVisibilityIndex();
+
+    /**
+     * Pages intersecting the content window, in page order.
+     */
+    private final List<T> mVisiblePages = new ArrayList<>();
+
+    /**
+     * Index in {@link #mPages} of each page of {@link #mVisiblePages}.
+     */
+    private int[] mVisiblePageIndices = new int[0];
+
+    /**
+     * Interpolation of each page, by index in {@link #mPages}. The max value of a page is its
+     * height and its value is how far the bottom of the content window is past its top. Only the
+     * entries of visible pages are kept up to date.
+     */
+    private final InterpolatorBank mPageInterpolations = new InterpolatorBank();
+
+    /**
+     * False when the content of the visible pages has to be brought up to date before drawing.
+     */
+    private boolean mPageContentValid;
+
+    /**
+     * Union of the drawing bounds of the pages whose content changed during the last update.
+     */
+    private final Rect mDirtyRect = new Rect();
+    private final Rect mPageDrawingBounds = new Rect();
+
+    /**
+     * Advances the scroller on frames in which it did not move the view, so the animation keeps
+     * running without redrawing.
+     */
+    private final Runnable mScrollAnimationTick = new Runnable() {
+        @Override
+        public void run() {
+            computeScroll();
+        }
+    };
+
+    /**
+     * Supplies pages on demand. When set, {@link #mPages} only holds the pages that are currently
+     * bound, in order of position.
+     */
+    private PageAdapter<T> mAdapter;
+
+    private final DataSetObserver mAdapterObserver = new DataSetObserver() {
+        @Override
+        public void onChanged() {
+            layoutAdapterPages();
+        }
+    };
+
+    /**
+     * Pages bound through {@link #mAdapter}, keyed by position in {@link #mPageIndex}. Swapped
+     * with {@link #mRebasedPages} when the endless window is re-based.
+     */
+    private SparseArray<T> mBoundPages = new SparseArray<>();
+    private SparseArray<T> mRebasedPages = new SparseArray<>();
+
+    /**
+     * Lay out a bounded window of adapter positions that follows the content window, rather than
+     * every position.
+     */
+    private boolean mEndless;
+
+    /**
+     * Adapter position of the first page in {@link #mPageIndex}. Always 0 unless endless.
+     */
+    private int mFirstPosition;
+
+    /**
+     * Distance from the top of position 0 to the top of {@link #mFirstPosition}, as laid out by
+     * the adapter. Subtracted from the adapter bounds, so that the window is laid out where the
+     * first positions would be. Always 0 unless endless.
+     */
+    private int mWindowOffsetY;
+
+    private boolean mRebasingEndlessWindow;
+
+    private RecycledPagePool<T> mRecycledPagePool = new RecycledPagePool<>();
+
+    /**
+     * Number of pages to keep bound on either side of the visible pages.
+     */
+    private int mOffscreenPageLimit = DEFAULT_OFFSCREEN_PAGE_LIMIT;
+
+    private final Rect mPageBounds = new Rect();
+
+    private boolean mAdapterLayoutPending;
+
+    private PagePrefetcher mPagePrefetcher;
+
+    // Adapter positions on either side of the bound pages that were last prefetched.
+    private int mPrefetchedPositionBefore = ScrollPage.NO_POSITION;
+    private int mPrefetchedPositionAfter = ScrollPage.NO_POSITION;
+
+    private boolean mLevelOfDetailEnabled;
+    private int mDetailLevel = DETAIL_FULL;
+    private int mReducedDetailVelocity;
+    private int mMinimalDetailVelocity;
+
+    /**
+     * Content window at the end of the current fling.
+     */
+    private final Rect mLandingBounds = new Rect();
+
+    // Drawing objects reused across frames to keep the draw path free of allocations.
+    private final Rect mShadeRect = new Rect();
+    private final Paint mShadePaint = new Paint();
+
+    /**
+     * Collects per-frame metrics when set. Timing is skipped entirely otherwise.
+     */
+    private ScrollFrameMetricsTracker mFrameMetricsTracker;
+
+    private int mBoundContentLeft;
+    private int mBoundContentTop;
+    private int mBoundContentRight;
+    private int mBoundContentBottom;
+
     /**
      * True if the user is currently dragging this ScrollView around. This is
      * not the same as 'is being flinged', which can be checked by
@@ -93,6 +249,9 @@ public abstract class AbsCustomScrollingView<T extends ScrollPage> extends Frame
         mMaximumVelocity = configuration.getScaledMaximumFlingVelocity();
         mOverscrollDistance = configuration.getScaledOverscrollDistance();
         mOverflingDistance = configuration.getScaledOverflingDistance();
+        mReducedDetailVelocity = mMaximumVelocity / 4;
+        mMinimalDetailVelocity = mMaximumVelocity / 2;
+        mShadePaint.setStyle(Paint.Style.FILL);
     }
 
     @Override
@@ -100,40 +259,534 @@ public abstract class AbsCustomScrollingView<T extends ScrollPage> extends Frame
         super.onMeasure(widthMeasureSpec, heightMeasureSpec);
         if (!mInitializedPages) {
             initializePages();
+            mPageContentValid = false;
+        }
+        if (mAdapterLayoutPending) {
+            layoutAdapterPages();
         }
     }
 
     @Override
     protected void onScrollChanged(int l, int t, int oldl, int oldt) {
         super.onScrollChanged(l, t, oldl, oldt);
-        updatePageStates();
+        if (!mRebasingEndlessWindow) {
+            updatePageStates(true);
+        }
     }
 
     /**
-     * Update visibility of pages.
+     * Update visibility of pages, then the content of the visible pages. Pages are resolved
+     * through {@link PageVisibilityIndex}, so only the pages entering or leaving the content
+     * window are touched.
+     *
+     * @param invalidateChanges True to invalidate the pages whose content changed. False when
+     * called while drawing.
      */
-    private void updatePageStates() {
-        int contentBoundsTop = getContentBoundsTop();
-        int contentBoundsBottom = getContentBoundsBottom();
-        if (mPages != null) {
+    private void updatePageStates(boolean invalidateChanges) {
+        final long startNanos = mFrameMetricsTracker != null ? System.nanoTime() : 0;
+        mVisiblePages.clear();
+        if (mAdapter != null) {
+            updateAdapterPages(false);
             for (int i = 0; i < mPages.size(); i++) {
-                T page = mPages.get(i);
+                if (mPages.get(i).isVisible()) {
+                    addVisiblePage(i);
+                }
+            }
+        } else if (mPages != null) {
+            mPageIndex.update(mPages, getContentBoundsLeft(), getContentBoundsTop(),
+                    getContentBoundsRight(), getContentBoundsBottom());
+            for (int i = 0; i < mPageIndex.getVisibleCount(); i++) {
+                addVisiblePage(mPageIndex.getVisible(i));
+            }
+        }
+        updateVisiblePageContent(invalidateChanges);
+        if (mFrameMetricsTracker != null) {
+            mFrameMetricsTracker.onPageStatesUpdated(System.nanoTime() - startNanos);
+        }
+    }
 
-                boolean pageInRange =
-                        page.getYPosition() <= contentBoundsBottom &&
-                                (page.getYPosition() + page.getHeight()) >= contentBoundsTop;
+    private void addVisiblePage(int index) {
+        final int count = mVisiblePages.size();
+        if (count == mVisiblePageIndices.length) {
+            mVisiblePageIndices = Arrays.copyOf(mVisiblePageIndices, Math.max(8, 2 * count));
+        }
+        mVisiblePageIndices[count] = index;
+        mVisiblePages.add(mPages.get(index));
+    }
 
-                page.setVisible(pageInRange);
+    /**
+     * Let subclasses update the content of the visible pages and invalidate the pages whose
+     * content changed. A change in scroll position redraws the whole view anyway, so this only
+     * limits the redrawn area when pages change while the view is not moving.
+     */
+    private void updateVisiblePageContent(boolean invalidateChanges) {
+        mPageContentValid = true;
+        mDirtyRect.setEmpty();
+
+        // Interpolate the visible pages in the same pass, so that subclasses draw from the bank
+        // instead of updating an interpolator per page.
+        final int contentBoundsBottom = getContentBoundsBottom();
+        mPageInterpolations.setSize(mPages != null ? mPages.size() : 0);
+        for (int i = 0; i < mVisiblePages.size(); i++) {
+            T page = mVisiblePages.get(i);
+            boolean changed = mPageInterpolations.set(mVisiblePageIndices[i], page.getHeight(),
+                    contentBoundsBottom - page.getYPosition());
+            changed |= onUpdatePageContent(page);
+            if (changed || page.isDirty()) {
+                page.markDirty();
+                getPageDrawingBounds(page, mPageDrawingBounds);
+                mDirtyRect.union(mPageDrawingBounds);
+            }
+        }
+        if (invalidateChanges && !mDirtyRect.isEmpty()) {
+            invalidate(mDirtyRect.left, mDirtyRect.top, mDirtyRect.right, mDirtyRect.bottom);
+        }
+    }
 
-                page.setScrolledToTop(page.getYPosition() <= contentBoundsTop);
+    /**
+     * Bring the interpolated state of a visible page up to date with the current scroll
+     * position. Called whenever the content window moves, so subclasses should do their
+     * interpolator updates here rather than while drawing. The interpolation of the page itself
+     * is already in {@link #getPageInterpolations()}, and a change in it is detected without the
+     * help of subclasses.
+     *
+     * @return True if anything drawn for the page changed.
+     */
+    protected boolean onUpdatePageContent(@NonNull T page) {
+        return false;
+    }
+
+    /**
+     * Redraw a page whose content changed outside of a scroll, for instance when an image it
+     * shows finished loading. Only the drawing bounds of the page are invalidated.
+     */
+    public void invalidatePage(@NonNull T page) {
+        page.markDirty();
+        if (page.isVisible()) {
+            getPageDrawingBounds(page, mPageDrawingBounds);
+            invalidate(mPageDrawingBounds.left, mPageDrawingBounds.top,
+                    mPageDrawingBounds.right, mPageDrawingBounds.bottom);
+        }
+    }
+
+    /**
+     * Compute the area, in content coordinates, that the given page draws into. Pages draw from
+     * their top, or the top of the content window once scrolled to top, down to the bottom of the
+     * content window.
+     */
+    protected void getPageDrawingBounds(@NonNull T page, @NonNull Rect outBounds) {
+        outBounds.set(page.getXPosition(), Math.max(page.getYPosition(), getContentBoundsTop()),
+                page.getXPosition() + page.getWidth(), getContentBoundsBottom());
+    }
+
+    /**
+     * @return True if nothing the page draws falls within the clip of the canvas, in which case
+     * drawing the page can be skipped.
+     */
+    protected boolean quickRejectPage(@NonNull Canvas canvas, @NonNull T page) {
+        getPageDrawingBounds(page, mPageDrawingBounds);
+        return canvas.quickReject(mPageDrawingBounds.left, mPageDrawingBounds.top,
+                mPageDrawingBounds.right, mPageDrawingBounds.bottom, Canvas.EdgeType.BW);
+    }
+
+    /**
+     * @return Interpolation of each page, by index in {@link #mPages}. Entries are only up to date
+     * for the pages that are visible, which is the case while they are drawn.
+     */
+    @NonNull
+    protected InterpolatorBank getPageInterpolations() {
+        return mPageInterpolations;
+    }
+
+    /**
+     * @return Number of pages currently intersecting the content window.
+     */
+    int getVisiblePageCount() {
+        return mVisiblePages.size();
+    }
+
+    /**
+     * Should be called by subclasses when the position or size of existing pages is changed.
+     * Replacing {@link #mPages} with a new list is detected automatically.
+     */
+    protected void notifyPagesChanged() {
+        if (mAdapter != null) {
+            layoutAdapterPages();
+        } else {
+            mPageIndex.invalidate();
+            updatePageStates(true);
+        }
+    }
+
+    /**
+     * Mark the content of the visible pages as stale, so that it is updated before the next
+     * frame is drawn.
+     */
+    protected void invalidatePageContent() {
+        mPageContentValid = false;
+        invalidate();
+    }
+
+    /**
+     * Set the {@link PageAdapter} that supplies the pages of this view. Pages are then bound when
+     * they come within {@link #getOffscreenPageLimit()} content windows of the content window and
+     * recycled once they move further away. While an adapter is set, {@link #mPages} holds only the bound
+     * pages and should not be assigned by subclasses.
+     *
+     * @param adapter Adapter to use, or null to go back to pages assigned to {@link #mPages}.
+     */
+    public void setAdapter(@Nullable PageAdapter<T> adapter) {
+        if (mAdapter != null) {
+            mAdapter.unregisterDataSetObserver(mAdapterObserver);
+            recycleBoundPages();
+            mRecycledPagePool.clear();
+        }
+
+        mAdapter = adapter;
+        mPageIndex.invalidate();
+        mPages = adapter != null ? new ArrayList<T>() : null;
+
+        if (adapter != null) {
+            adapter.registerDataSetObserver(mAdapterObserver);
+            layoutAdapterPages();
+        }
+    }
+
+    @Nullable
+    public PageAdapter<T> getAdapter() {
+        return mAdapter;
+    }
+
+    public int getOffscreenPageLimit() {
+        return mOffscreenPageLimit;
+    }
+
+    /**
+     * @param limit Distance from the content window within which pages are kept bound, in
+     * multiples of the content window size along each axis. For pages the size of the content
+     * window, this is the number of pages kept bound on either side of the visible pages. Larger
+     * values trade memory for fewer binds while scrolling.
+     */
+    public void setOffscreenPageLimit(int limit) {
+        mOffscreenPageLimit = Math.max(0, limit);
+        if (mAdapter != null) {
+            updateAdapterPages(true);
+        }
+    }
+
+    /**
+     * Switch to endless scrolling, in which only a bounded window of adapter positions is laid
+     * out. As the content window moves away from the middle of that window, the window is
+     * re-based: bound pages and the scroll position are shifted back by the same amount, and
+     * pages falling out of the window are recycled. Scroll offsets and memory use then stay
+     * bounded however far the user scrolls, up to {@link PageAdapter#getPageCount()}, which can
+     * be as large as {@link Integer#MAX_VALUE}.
+     * <p>
+     * While endless, pages must be laid out in a single column at a fixed stride. Bounds far down
+     * the adapter may overflow, as only the distance between the bounds of two positions is used.
+     * Changing this goes back to the first page.
+     *
+     * @throws IllegalStateException If endless scrolling is turned on without an adapter.
+     */
+    public void setEndless(boolean endless) {
+        if (endless && mAdapter == null) {
+            throw new IllegalStateException("Endless scrolling requires a PageAdapter");
+        }
+        if (mEndless == endless) {
+            return;
+        }
+        mEndless = endless;
+        mFirstPosition = 0;
+        if (mAdapter != null) {
+            mScroller.abortAnimation();
+            layoutAdapterPages();
+            scrollTo(getScrollX(), 0);
+        }
+    }
+
+    public boolean isEndless() {
+        return mEndless;
+    }
+
+    public RecycledPagePool<T> getRecycledPagePool() {
+        return mRecycledPagePool;
+    }
+
+    /**
+     * @param pool Pool to hand off recycled pages to. May be shared between views that use the
+     * same page types.
+     */
+    public void setRecycledPagePool(@NonNull RecycledPagePool<T> pool) {
+        mRecycledPagePool = pool;
+    }
+
+    /**
+     * Read the bounds of every adapter position and rebind the pages around the content window.
+     * Deferred until the view is measured, since adapters typically size pages from the view.
+     */
+    private void layoutAdapterPages() {
+        if (mAdapter == null) {
+            return;
+        }
+        if (getMeasuredHeight() == 0) {
+            mAdapterLayoutPending = true;
+            return;
+        }
+        mAdapterLayoutPending = false;
+
+        recycleBoundPages();
+        mPrefetchedPositionBefore = ScrollPage.NO_POSITION;
+        mPrefetchedPositionAfter = ScrollPage.NO_POSITION;
+
+        final int pageCount = mAdapter.getPageCount();
+        final int count = mEndless ? Math.min(pageCount, ENDLESS_WINDOW_PAGE_COUNT) : pageCount;
+        mFirstPosition = mEndless ? Math.max(0, Math.min(mFirstPosition, pageCount - count)) : 0;
+        mWindowOffsetY = 0;
+        if (mFirstPosition > 0) {
+            mAdapter.getPageBounds(0, mPageBounds);
+            final int firstTop = mPageBounds.top;
+            mAdapter.getPageBounds(mFirstPosition, mPageBounds);
+            mWindowOffsetY = mPageBounds.top - firstTop;
+        }
+        mPageIndex.beginLayout(count);
+        for (int i = 0; i < count; i++) {
+            getWindowPageBounds(i, mPageBounds);
+            mPageIndex.setPageBounds(i, mPageBounds.left, mPageBounds.top, mPageBounds.right,
+                    mPageBounds.bottom);
+        }
+        if (!mPageIndex.isSorted()) {
+            throw new IllegalStateException(
+                    "PageAdapter pages must be laid out from top to bottom in order of position.");
+        }
+        if (mEndless && !hasFixedPageStride()) {
+            throw new IllegalStateException(
+                    "Endless PageAdapter pages must be laid out at a fixed vertical stride.");
+        }
+
+        setContentHeight(mPageIndex.getMaxBottom() + getPaddingBottom());
+        setContentWidth(mPageIndex.getMaxRight() + getPaddingRight());
+        updateAdapterPages(true);
+        invalidatePageContent();
+    }
+
+    /**
+     * Bind the pages within {@link #mOffscreenPageLimit} of the content window, recycle the pages
+     * outside of it and update the state of the bound pages.
+     */
+    private void updateAdapterPages(boolean force) {
+        if (mEndless) {
+            rebaseEndlessWindow();
+        }
+        final int contentBoundsLeft = getContentBoundsLeft();
+        final int contentBoundsTop = getContentBoundsTop();
+        final int contentBoundsRight = getContentBoundsRight();
+        final int contentBoundsBottom = getContentBoundsBottom();
+        if (!force && contentBoundsLeft == mBoundContentLeft
+                && contentBoundsTop == mBoundContentTop
+                && contentBoundsRight == mBoundContentRight
+                && contentBoundsBottom == mBoundContentBottom) {
+            return;
+        }
+        mBoundContentLeft = contentBoundsLeft;
+        mBoundContentTop = contentBoundsTop;
+        mBoundContentRight = contentBoundsRight;
+        mBoundContentBottom = contentBoundsBottom;
+
+        final int marginX = mOffscreenPageLimit * (contentBoundsRight - contentBoundsLeft);
+        final int marginY = mOffscreenPageLimit * (contentBoundsBottom - contentBoundsTop);
+        final int[] bindPositions = mPageIndex.getQueryBuffer();
+        final int bindCount = mPageIndex.queryIntersecting(contentBoundsLeft - marginX,
+                contentBoundsTop - marginY, contentBoundsRight + marginX,
+                contentBoundsBottom + marginY, bindPositions);
+
+        for (int i = mBoundPages.size() - 1; i >= 0; i--) {
+            final int position = mBoundPages.keyAt(i);
+            if (Arrays.binarySearch(bindPositions, 0, bindCount, position) < 0) {
+                T page = mBoundPages.valueAt(i);
+                mBoundPages.removeAt(i);
+                recyclePage(page);
             }
         }
+
+        for (int i = 0; i < bindCount; i++) {
+            final int position = bindPositions[i];
+            if (mBoundPages.get(position) == null) {
+                mBoundPages.put(position, bindPage(position));
+            }
+        }
+        if (bindCount > 0) {
+            prefetchAdjacentPositions(bindPositions[0] - 1, bindPositions[bindCount - 1] + 1);
+        }
+
+        mPages.clear();
+        for (int i = 0; i < mBoundPages.size(); i++) {
+            T page = mBoundPages.valueAt(i);
+            final int position = mBoundPages.keyAt(i);
+            page.setVisible(mPageIndex.intersects(position, contentBoundsLeft, contentBoundsTop,
+                    contentBoundsRight, contentBoundsBottom));
+            page.setScrolledToTop(mPageIndex.getTop(position) <= contentBoundsTop);
+            mPages.add(page);
+        }
+    }
+
+    /**
+     * @param index Position of the page in {@link #mPageIndex}.
+     */
+    private T bindPage(int index) {
+        final int position = mFirstPosition + index;
+        final int pageType = mAdapter.getPageType(position);
+        T page = mRecycledPagePool.getRecycledPage(pageType);
+        if (page == null) {
+            page = mAdapter.onCreatePage(pageType);
+        }
+        page.setPageType(pageType);
+        page.setPosition(position);
+
+        getWindowPageBounds(index, mPageBounds);
+        page.setXPosition(mPageBounds.left);
+        page.setYPosition(mPageBounds.top);
+        page.setWidth(mPageBounds.width());
+        page.setHeight(mPageBounds.height());
+
+        mAdapter.onBindPage(page, position);
+        return page;
+    }
+
+    /**
+     * Read the bounds of the adapter position at the given index of the window, relative to the
+     * start of the window.
+     */
+    private void getWindowPageBounds(int index, Rect outBounds) {
+        mAdapter.getPageBounds(mFirstPosition + index, outBounds);
+        outBounds.offset(0, -mWindowOffsetY);
+    }
+
+    /**
+     * @return True if every page of {@link #mPageIndex} starts the same distance below the
+     * previous one, so that the window can be shifted by any number of pages.
+     */
+    private boolean hasFixedPageStride() {
+        final int count = mPageIndex.getCount();
+        if (count < 2) {
+            return true;
+        }
+        final int stride = mPageIndex.getTop(1) - mPageIndex.getTop(0);
+        if (stride <= 0) {
+            return false;
+        }
+        for (int i = 2; i < count; i++) {
+            if (mPageIndex.getTop(i) - mPageIndex.getTop(i - 1) != stride) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Shift the endless window so that the content window is back around its middle, once it
+     * has moved a quarter of the window away from it. Bound pages are kept and moved up or down
+     * along with the scroll position, so nothing changes on screen, and pages falling out of the
+     * window are recycled. A running fling carries on from the shifted position.
+     */
+    private void rebaseEndlessWindow() {
+        final int count = mPageIndex.getCount();
+        final int firstVisible = mPageIndex.findFirstIntersecting(getContentBoundsTop());
+        final int middle = count / 2;
+        final int shift;
+        if (firstVisible >= middle + count / 4) {
+            // Positions past the end of the adapter are never laid out.
+            shift = Math.min(firstVisible - middle,
+                    mAdapter.getPageCount() - count - mFirstPosition);
+        } else if (firstVisible < middle - count / 4 && mFirstPosition > 0) {
+            shift = -Math.min(middle - firstVisible, mFirstPosition);
+        } else {
+            return;
+        }
+        if (shift == 0) {
+            return;
+        }
+        final int offset = shift > 0 ? mPageIndex.getTop(shift) - mPageIndex.getTop(0)
+                : mPageIndex.getTop(0) - mPageIndex.getTop(-shift);
+
+        for (int i = 0; i < mBoundPages.size(); i++) {
+            final int index = mBoundPages.keyAt(i) - shift;
+            T page = mBoundPages.valueAt(i);
+            if (index >= 0 && index < count) {
+                page.setYPosition(page.getYPosition() - offset);
+                mRebasedPages.append(index, page);
+            } else {
+                recyclePage(page);
+            }
+        }
+        SparseArray<T> rebasedPages = mRebasedPages;
+        mRebasedPages = mBoundPages;
+        mBoundPages = rebasedPages;
+        mRebasedPages.clear();
+        mFirstPosition += shift;
+        // The window has a fixed stride, so its new first position is offset further down.
+        mWindowOffsetY += offset;
+
+        mRebasingEndlessWindow = true;
+        setScrollY(getScrollY() - offset);
+        mRebasingEndlessWindow = false;
+        if (mFrameMetricsTracker != null) {
+            mFrameMetricsTracker.onScrollRebased(offset);
+        }
+
+        if (!mScroller.isFinished()) {
+            restartFlingAfterRebase();
+        }
+    }
+
+    /**
+     * Start the current fling over from the scroll position, with its current speed and
+     * direction.
+     */
+    private void restartFlingAfterRebase() {
+        final int remainingX = mScroller.getFinalX() - mScroller.getCurrX();
+        final int remainingY = mScroller.getFinalY() - mScroller.getCurrY();
+        final double remaining = Math.hypot(remainingX, remainingY);
+        final float velocity = mScroller.getCurrVelocity();
+        mScroller.forceFinished(true);
+        if (remaining > 0) {
+            fling((int)(velocity * remainingX / remaining),
+                    (int)(velocity * remainingY / remaining));
+        }
+    }
+
+    private void recyclePage(T page) {
+        if (mAdapter != null) {
+            mAdapter.onRecyclePage(page);
+        }
+        page.setVisible(false);
+        page.setScrolledToTop(false);
+        page.setPosition(ScrollPage.NO_POSITION);
+        page.clearRenderCache();
+        mRecycledPagePool.putRecycledPage(page);
+    }
+
+    private void recycleBoundPages() {
+        for (int i = 0; i < mBoundPages.size(); i++) {
+            recyclePage(mBoundPages.valueAt(i));
+        }
+        mBoundPages.clear();
+        if (mPages != null) {
+            mPages.clear();
+        }
+    }
+
+    protected int getContentBoundsLeft() {
+        return getScrollX() + getPaddingLeft();
     }
 
     protected int getContentBoundsTop() {
         return getScrollY() + getPaddingTop();
     }
 
+    protected int getContentBoundsRight() {
+        return getContentBoundsLeft() + (getMeasuredWidth() - getPaddingLeft() - getPaddingRight());
+    }
+
     protected int getContentBoundsBottom() {
         return getContentBoundsTop() + (getMeasuredHeight() - getPaddingTop() - getPaddingBottom());
     }
@@ -192,11 +845,17 @@ public abstract class AbsCustomScrollingView<T extends ScrollPage> extends Frame
                 }
 
                 final int pointerIndex = ev.findPointerIndex(activePointerId);
+                final int x = (int)ev.getX(pointerIndex);
                 final int y = (int)ev.getY(pointerIndex);
+                final int xDiff = Math.abs(x - mLastMotionX);
                 final int yDiff = Math.abs(y - mLastMotionY);
 
-                if (yDiff > mTouchSlop) {
+                // Vertical drags are always claimed, as they were before horizontal scrolling.
+                // Horizontal drags are only claimed when the content is wider than this view, so
+                // that they still reach the parent of single-column content.
+                if (yDiff > mTouchSlop || (xDiff > mTouchSlop && getScrollRangeX() > 0)) {
                     updateDragState(true);
+                    mLastMotionX = x;
                     mLastMotionY = y;
                     initVelocityTrackerIfNotExists();
                     mVelocityTracker.addMovement(ev);
@@ -209,12 +868,12 @@ public abstract class AbsCustomScrollingView<T extends ScrollPage> extends Frame
                 break;
             }
             case MotionEvent.ACTION_DOWN: {
-                final int y = (int)ev.getY();
                 /*
                  * Remember location of down touch.
                  * ACTION_DOWN always refers to pointer index 0.
                  */
-                mLastMotionY = y;
+                mLastMotionX = (int)ev.getX();
+                mLastMotionY = (int)ev.getY();
                 mActivePointerId = ev.getPointerId(0);
                 initOrResetVelocityTracker();
                 mVelocityTracker.addMovement(ev);
@@ -232,8 +891,8 @@ public abstract class AbsCustomScrollingView<T extends ScrollPage> extends Frame
                 updateDragState(false);
                 mActivePointerId = INVALID_POINTER;
                 recycleVelocityTracker();
-                if (mScroller.springBack(getScrollX(), getScrollY(), 0, 0, 0, getScrollRangeY())) {
-                    postInvalidateOnAnimation();
+                if (springBack()) {
+                    postOnAnimation(mScrollAnimationTick);
                 }
                 break;
             case MotionEvent.ACTION_POINTER_UP:
@@ -268,8 +927,11 @@ public abstract class AbsCustomScrollingView<T extends ScrollPage> extends Frame
                  */
                 if (!mScroller.isFinished()) {
                     mScroller.abortAnimation();
+                    cancelPrefetch();
+                    updateDetailLevel(0);
                 }
                 // Remember where the motion event started
+                mLastMotionX = (int)ev.getX();
                 mLastMotionY = (int)ev.getY();
                 mActivePointerId = ev.getPointerId(0);
 
@@ -278,37 +940,48 @@ public abstract class AbsCustomScrollingView<T extends ScrollPage> extends Frame
             case MotionEvent.ACTION_MOVE:
                 final int activePointerIndex = ev.findPointerIndex(mActivePointerId);
 
+                final int x = (int)ev.getX(activePointerIndex);
                 final int y = (int)ev.getY(activePointerIndex);
 
+                final int rangeX = getScrollRangeX();
+                final int rangeY = getScrollRangeY();
+                // Content no wider than the view does not move horizontally.
+                int deltaX = rangeX > 0 ? mLastMotionX - x : 0;
                 int deltaY = mLastMotionY - y;
 
-                if (!mIsBeingDragged && Math.abs(deltaY) > mTouchSlop) {
+                if (!mIsBeingDragged
+                        && (Math.abs(deltaX) > mTouchSlop || Math.abs(deltaY) > mTouchSlop)) {
                     final ViewParent parent = getParent();
                     if (parent != null) {
                         parent.requestDisallowInterceptTouchEvent(true);
                     }
                     updateDragState(true);
-                    if (deltaY > 0) {
-                        deltaY -= mTouchSlop;
-                    } else {
-                        deltaY += mTouchSlop;
-                    }
+                    deltaX = consumeTouchSlop(deltaX);
+                    deltaY = consumeTouchSlop(deltaY);
                 }
 
                 if (mIsBeingDragged) {
                     // Scroll to follow the motion event
+                    mLastMotionX = x;
                     mLastMotionY = y;
 
                     final int oldX = getScrollX();
                     final int oldY = getScrollY();
-                    final int rangeY = getScrollRangeY();
 
-                    if (overScrollBy(0, deltaY, 0, getScrollY(),
-                            0, rangeY, 0, mOverscrollDistance, true)) {
+                    if (overScrollBy(deltaX, deltaY, getScrollX(), getScrollY(),
+                            rangeX, rangeY, rangeX > 0 ? mOverscrollDistance : 0,
+                            mOverscrollDistance, true)) {
                         // Break our velocity if we hit a scroll barrier.
                         mVelocityTracker.clear();
                     }
                     onScrollChanged(getScrollX(), getScrollY(), oldX, oldY);
+
+                    if (mLevelOfDetailEnabled) {
+                        mVelocityTracker.computeCurrentVelocity(1000, mMaximumVelocity);
+                        updateDetailLevel((float)Math.hypot(
+                                mVelocityTracker.getXVelocity(mActivePointerId),
+                                mVelocityTracker.getYVelocity(mActivePointerId)));
+                    }
                 }
                 break;
             case MotionEvent.ACTION_UP:
@@ -316,14 +989,16 @@ public abstract class AbsCustomScrollingView<T extends ScrollPage> extends Frame
                     final VelocityTracker velocityTracker = mVelocityTracker;
                     velocityTracker.computeCurrentVelocity(1000, mMaximumVelocity);
 
-                    int initialVelocity = (int)velocityTracker.getYVelocity(mActivePointerId);
+                    int initialVelocityX = getScrollRangeX() > 0
+                            ? (int)velocityTracker.getXVelocity(mActivePointerId) : 0;
+                    int initialVelocityY = (int)velocityTracker.getYVelocity(mActivePointerId);
 
-                    if ((Math.abs(initialVelocity) > mMinimumVelocity)) {
-                        flingY(-initialVelocity);
+                    if (Math.abs(initialVelocityX) > mMinimumVelocity
+                            || Math.abs(initialVelocityY) > mMinimumVelocity) {
+                        fling(-initialVelocityX, -initialVelocityY);
                     } else {
-                        if (mScroller.springBack(getScrollX(), getScrollY(), 0, 0, 0,
-                                getScrollRangeY())) {
-                            postInvalidateOnAnimation();
+                        if (springBack()) {
+                            postOnAnimation(mScrollAnimationTick);
                         }
                     }
 
@@ -334,9 +1009,8 @@ public abstract class AbsCustomScrollingView<T extends ScrollPage> extends Frame
                 break;
             case MotionEvent.ACTION_CANCEL:
                 if (mIsBeingDragged) {
-                    if (mScroller
-                            .springBack(getScrollX(), getScrollY(), 0, 0, 0, getScrollRangeY())) {
-                        postInvalidateOnAnimation();
+                    if (springBack()) {
+                        postOnAnimation(mScrollAnimationTick);
                     }
                     mActivePointerId = INVALID_POINTER;
                     endDrag();
@@ -344,12 +1018,14 @@ public abstract class AbsCustomScrollingView<T extends ScrollPage> extends Frame
                 break;
             case MotionEvent.ACTION_POINTER_DOWN: {
                 final int index = ev.getActionIndex();
+                mLastMotionX = (int)ev.getX(index);
                 mLastMotionY = (int)ev.getY(index);
                 mActivePointerId = ev.getPointerId(index);
                 break;
             }
             case MotionEvent.ACTION_POINTER_UP:
                 onSecondaryPointerUp(ev);
+                mLastMotionX = (int)ev.getX(ev.findPointerIndex(mActivePointerId));
                 mLastMotionY = (int)ev.getY(ev.findPointerIndex(mActivePointerId));
                 break;
         }
@@ -364,6 +1040,7 @@ public abstract class AbsCustomScrollingView<T extends ScrollPage> extends Frame
             // This was our active pointer going up. Choose a new
             // active pointer and adjust accordingly.
             final int newPointerIndex = pointerIndex == 0 ? 1 : 0;
+            mLastMotionX = (int)ev.getX(newPointerIndex);
             mLastMotionY = (int)ev.getY(newPointerIndex);
             mActivePointerId = ev.getPointerId(newPointerIndex);
             if (mVelocityTracker != null) {
@@ -401,6 +1078,25 @@ public abstract class AbsCustomScrollingView<T extends ScrollPage> extends Frame
         super.requestDisallowInterceptTouchEvent(disallowIntercept);
     }
 
+    private int consumeTouchSlop(int delta) {
+        if (delta > mTouchSlop) {
+            return delta - mTouchSlop;
+        } else if (delta < -mTouchSlop) {
+            return delta + mTouchSlop;
+        }
+        return 0;
+    }
+
+    /**
+     * Start settling back within the scroll range on both axes.
+     *
+     * @return True if the view was out of range and is now settling.
+     */
+    private boolean springBack() {
+        return mScroller.springBack(getScrollX(), getScrollY(), 0, getScrollRangeX(), 0,
+                getScrollRangeY());
+    }
+
     private int getScrollRangeY() {
         return Math.max(0, mContentHeight - getHeight());
     }
@@ -456,8 +1152,8 @@ public abstract class AbsCustomScrollingView<T extends ScrollPage> extends Frame
             setScrollX(scrollX);
             setScrollY(scrollY);
             onScrollChanged(getScrollX(), getScrollY(), oldX, oldY);
-            if (clampedY) {
-                mScroller.springBack(getScrollX(), getScrollY(), 0, 0, 0, getScrollRangeY());
+            if (clampedX || clampedY) {
+                springBack();
             }
         } else {
             super.scrollTo(scrollX, scrollY);
@@ -472,15 +1168,149 @@ public abstract class AbsCustomScrollingView<T extends ScrollPage> extends Frame
      * which means we want to scroll towards the top.
      */
     public void flingY(int velocityY) {
-        int height = getHeight();
-        mScroller.fling(getScrollX(), getScrollY(), 0, velocityY, 0, 0, 0,
-                Math.max(0, mContentHeight - height), 0, height / 2);
-        postInvalidateOnAnimation();
+        fling(0, velocityY);
+    }
+
+    /**
+     * Fling the view on both axes. Horizontal velocity is ignored for content no wider than the
+     * view.
+     *
+     * @param velocityX The initial velocity in the X direction. Positive numbers scroll towards
+     * the right of the content.
+     * @param velocityY The initial velocity in the Y direction. Positive numbers scroll towards
+     * the bottom of the content.
+     */
+    public void fling(int velocityX, int velocityY) {
+        final int rangeX = getScrollRangeX();
+        mScroller.fling(getScrollX(), getScrollY(), rangeX > 0 ? velocityX : 0, velocityY,
+                0, rangeX, 0, getScrollRangeY(), rangeX > 0 ? getWidth() / 2 : 0,
+                getHeight() / 2);
+        postOnAnimation(mScrollAnimationTick);
+        prefetchLandingPages();
+    }
+
+    /**
+     * Prepare the pages around the point where the current fling lands, nearest first, so that
+     * their content is ready by the time they are shown. Pages within
+     * {@link #getOffscreenPageLimit()} content windows of the landing window are considered, and
+     * pages already on screen are skipped.
+     */
+    private void prefetchLandingPages() {
+        cancelPrefetch();
+        if (mPages == null) {
+            return;
+        }
+
+        final int contentBoundsLeft = getContentBoundsLeft();
+        final int contentBoundsTop = getContentBoundsTop();
+        final int contentBoundsRight = getContentBoundsRight();
+        final int contentBoundsBottom = getContentBoundsBottom();
+        final int width = contentBoundsRight - contentBoundsLeft;
+        final int height = contentBoundsBottom - contentBoundsTop;
+        mLandingBounds.left = mScroller.getFinalX() + getPaddingLeft();
+        mLandingBounds.top = mScroller.getFinalY() + getPaddingTop();
+        mLandingBounds.right = mLandingBounds.left + width;
+        mLandingBounds.bottom = mLandingBounds.top + height;
+        if (mLandingBounds.left == contentBoundsLeft && mLandingBounds.top == contentBoundsTop) {
+            return;
+        }
+
+        final int marginX = mOffscreenPageLimit * width;
+        final int marginY = mOffscreenPageLimit * height;
+        final int[] positions = mPageIndex.getQueryBuffer();
+        final int count = mPageIndex.queryIntersecting(mLandingBounds.left - marginX,
+                mLandingBounds.top - marginY, mLandingBounds.right + marginX,
+                mLandingBounds.bottom + marginY, positions);
+        for (int i = 0; i < count; i++) {
+            final int position = positions[i];
+            if (mPageIndex.intersects(position, contentBoundsLeft, contentBoundsTop,
+                    contentBoundsRight, contentBoundsBottom)) {
+                continue;
+            }
+
+            Runnable work;
+            if (mAdapter != null) {
+                T page = mBoundPages.get(position);
+                work = page != null ? onCreatePrefetchTask(page, mLandingBounds)
+                        : mAdapter.onCreatePrefetchTask(mFirstPosition + position);
+            } else if (position < mPages.size()) {
+                work = onCreatePrefetchTask(mPages.get(position), mLandingBounds);
+            } else {
+                // The index has not caught up with a new page list yet.
+                work = null;
+            }
+            if (work != null) {
+                getPagePrefetcher().prefetch(work, mPageIndex.getDistance(position,
+                        mLandingBounds.centerX(), mLandingBounds.centerY()));
+            }
+        }
+    }
+
+    /**
+     * Let the adapter prepare the positions on either side of the bound pages, which are the next
+     * ones to be bound as the content window moves. Each position is only prefetched once while
+     * it stays next to the bound pages.
+     *
+     * @param before Position in {@link #mPageIndex} just before the first bound page.
+     * @param after Position in {@link #mPageIndex} just after the last bound page.
+     */
+    private void prefetchAdjacentPositions(int before, int after) {
+        final int noPosition = ScrollPage.NO_POSITION;
+        final int positionBefore = before >= 0 ? mFirstPosition + before : noPosition;
+        final int positionAfter =
+                after < mPageIndex.getCount() ? mFirstPosition + after : noPosition;
+        if (positionBefore != mPrefetchedPositionBefore && positionBefore != noPosition) {
+            prefetchAdapterPosition(before);
+        }
+        if (positionAfter != mPrefetchedPositionAfter && positionAfter != noPosition) {
+            prefetchAdapterPosition(after);
+        }
+        mPrefetchedPositionBefore = positionBefore;
+        mPrefetchedPositionAfter = positionAfter;
+    }
+
+    private void prefetchAdapterPosition(int index) {
+        Runnable work = mAdapter.onCreatePrefetchTask(mFirstPosition + index);
+        if (work != null) {
+            getPagePrefetcher().prefetch(work, mPageIndex.getDistance(index,
+                    (getContentBoundsLeft() + getContentBoundsRight()) / 2,
+                    (getContentBoundsTop() + getContentBoundsBottom()) / 2));
+        }
+    }
+
+    /**
+     * Create the work that prepares a page ahead of a fling landing near it. Called on the main
+     * thread. The returned work runs on a background thread, so it must only touch state that is
+     * safe to share with the main thread, and should post back to the main thread to publish its
+     * results.
+     *
+     * @param landingBounds Content window at the end of the fling. Must not be retained.
+     * @return Work to run, or null if the page needs no preparation.
+     */
+    @Nullable
+    protected Runnable onCreatePrefetchTask(@NonNull T page, @NonNull Rect landingBounds) {
+        return null;
+    }
+
+    private PagePrefetcher getPagePrefetcher() {
+        if (mPagePrefetcher == null) {
+            mPagePrefetcher = new PagePrefetcher();
+        }
+        return mPagePrefetcher;
+    }
+
+    private void cancelPrefetch() {
+        if (mPagePrefetcher != null) {
+            mPagePrefetcher.cancelPending();
+        }
     }
 
     private void endDrag() {
         updateDragState(false);
         recycleVelocityTracker();
+        if (mScroller.isFinished()) {
+            updateDetailLevel(0);
+        }
     }
 
     @Override
@@ -493,19 +1323,106 @@ public abstract class AbsCustomScrollingView<T extends ScrollPage> extends Frame
             int y = mScroller.getCurrY();
 
             if (oldX != x || oldY != y) {
-                final int range = getScrollRangeY();
-                overScrollBy(x - oldX, y - oldY, oldX, oldY, 0, range,
-                        0, mOverflingDistance, false);
+                final int rangeX = getScrollRangeX();
+                overScrollBy(x - oldX, y - oldY, oldX, oldY, rangeX, getScrollRangeY(),
+                        rangeX > 0 ? mOverflingDistance : 0, mOverflingDistance, false);
                 onScrollChanged(getScrollX(), getScrollY(), oldX, oldY);
             }
 
-            if (!awakenScrollBars()) {
-                // Keep on drawing until the animation has finished.
-                postInvalidateOnAnimation();
+            if (getScrollX() != oldX || getScrollY() != oldY) {
+                // Moving the view redraws it, which computes the next step.
+                awakenScrollBars();
+            } else {
+                // Nothing changed on screen. Keep the animation running without a redraw.
+                postOnAnimation(mScrollAnimationTick);
+            }
+
+            if (mLevelOfDetailEnabled && !mIsBeingDragged) {
+                updateDetailLevel(mScroller.isFinished() ? 0 : mScroller.getCurrVelocity());
             }
         }
     }
 
+    /**
+     * Enable switching to a lower level of detail while the view moves fast. Pages are drawn with
+     * full detail again once scrolling settles.
+     *
+     * @see #setDetailVelocityThresholds(int, int)
+     * @see #onDetailLevelChanged(int)
+     */
+    public void setLevelOfDetailEnabled(boolean enabled) {
+        mLevelOfDetailEnabled = enabled;
+        if (!enabled) {
+            updateDetailLevel(0);
+        }
+    }
+
+    public boolean isLevelOfDetailEnabled() {
+        return mLevelOfDetailEnabled;
+    }
+
+    /**
+     * Set the scroll speeds at which the level of detail drops. Default to a quarter and half of
+     * the maximum fling velocity.
+     *
+     * @param reducedDetailVelocity Speed, in pixels per second, from which pages are drawn with
+     * {@link #DETAIL_REDUCED}.
+     * @param minimalDetailVelocity Speed, in pixels per second, from which pages are drawn with
+     * {@link #DETAIL_MINIMAL}. Must not be lower than reducedDetailVelocity.
+     */
+    public void setDetailVelocityThresholds(int reducedDetailVelocity,
+            int minimalDetailVelocity) {
+        if (minimalDetailVelocity < reducedDetailVelocity) {
+            throw new IllegalArgumentException("Minimal detail velocity " + minimalDetailVelocity
+                    + " is lower than reduced detail velocity " + reducedDetailVelocity);
+        }
+        mReducedDetailVelocity = reducedDetailVelocity;
+        mMinimalDetailVelocity = minimalDetailVelocity;
+    }
+
+    public int getReducedDetailVelocity() {
+        return mReducedDetailVelocity;
+    }
+
+    public int getMinimalDetailVelocity() {
+        return mMinimalDetailVelocity;
+    }
+
+    /**
+     * @return One of {@link #DETAIL_FULL}, {@link #DETAIL_REDUCED} or {@link #DETAIL_MINIMAL}.
+     */
+    public int getDetailLevel() {
+        return mDetailLevel;
+    }
+
+    /**
+     * Called when the level of detail changes, before the view is redrawn with it. Subclasses
+     * should adjust what they draw for each type of content accordingly.
+     *
+     * @param detailLevel One of {@link #DETAIL_FULL}, {@link #DETAIL_REDUCED} or
+     * {@link #DETAIL_MINIMAL}.
+     */
+    protected void onDetailLevelChanged(int detailLevel) {
+    }
+
+    private void updateDetailLevel(float velocity) {
+        final float speed = Math.abs(velocity);
+        final int detailLevel;
+        if (speed >= mMinimalDetailVelocity && mLevelOfDetailEnabled) {
+            detailLevel = DETAIL_MINIMAL;
+        } else if (speed >= mReducedDetailVelocity && mLevelOfDetailEnabled) {
+            detailLevel = DETAIL_REDUCED;
+        } else {
+            detailLevel = DETAIL_FULL;
+        }
+
+        if (detailLevel != mDetailLevel) {
+            mDetailLevel = detailLevel;
+            onDetailLevelChanged(detailLevel);
+            invalidate();
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -551,6 +1468,23 @@ public abstract class AbsCustomScrollingView<T extends ScrollPage> extends Frame
         return n;
     }
 
+    @Override
+    public void draw(Canvas canvas) {
+        if (!mPageContentValid) {
+            updatePageStates(false);
+        }
+
+        final long startNanos = mFrameMetricsTracker != null ? System.nanoTime() : 0;
+        super.draw(canvas);
+        if (mFrameMetricsTracker != null) {
+            mFrameMetricsTracker.onDraw(System.nanoTime() - startNanos);
+        }
+
+        for (int i = 0; i < mVisiblePages.size(); i++) {
+            mVisiblePages.get(i).clearDirty();
+        }
+    }
+
     @Override
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
@@ -559,6 +1493,35 @@ public abstract class AbsCustomScrollingView<T extends ScrollPage> extends Frame
     @Override
     protected void onSizeChanged(int w, int h, int oldw, int oldh) {
         super.onSizeChanged(w, h, oldw, oldh);
+        mPageContentValid = false;
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        if (mFrameMetricsTracker != null) {
+            mFrameMetricsTracker.updateFrameInterval();
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        cancelPrefetch();
+        if (mFrameMetricsTracker != null) {
+            mFrameMetricsTracker.stopFrameCallbacks();
+        }
+    }
+
+    boolean isBeingDragged() {
+        return mIsBeingDragged;
+    }
+
+    /**
+     * @return True if the view is settling after a fling or an overscroll.
+     */
+    boolean isFlinging() {
+        return !mIsBeingDragged && !mScroller.isFinished();
     }
 
     private void updateDragState(boolean isBeingDragged) {
@@ -572,21 +1535,24 @@ public abstract class AbsCustomScrollingView<T extends ScrollPage> extends Frame
         }
     }
 
-    protected void drawShadedBackground(Canvas canvas, ColorInterpolator interpolator,
-            ScrollPage page) {
+    /**
+     * Shade the content window below a page with its background color.
+     *
+     * @param index Index of the page in {@link #mPages}, used to read its interpolation.
+     */
+    protected void drawShadedBackground(Canvas canvas, int color, ScrollPage page, int index) {
         // Determine bounds of the shaded region.
         int rectTop = page.isScrolledToTop() ? getContentBoundsTop() : page.getYPosition();
-        int rectLeft = getPaddingStart();
-        int rectRight = getMeasuredWidth() - getPaddingEnd();
+        int rectLeft = getContentBoundsLeft();
+        int rectRight = getContentBoundsRight();
         int rectBottom = getContentBoundsBottom();
 
-        Rect shadeRect = new Rect(rectLeft, rectTop, rectRight, rectBottom);
+        mShadeRect.set(rectLeft, rectTop, rectRight, rectBottom);
 
         // Compute shade based on interpolation.
-        Paint paint = new Paint();
-        paint.setColor(interpolator.getInterpolatedShade());
-        paint.setStyle(Paint.Style.FILL);
-        canvas.drawRect(shadeRect, paint);
+        mShadePaint.setColor(ColorInterpolator.getInterpolatedShade(color,
+                mPageInterpolations.getInterpolation(index)));
+        canvas.drawRect(mShadeRect, mShadePaint);
     }
 
     public int getContentHeight() {
@@ -613,6 +1579,27 @@ public abstract class AbsCustomScrollingView<T extends ScrollPage> extends Frame
         mInitializedPages = initializedPages;
     }
 
+    @Nullable
+    public ScrollFrameMetricsTracker getFrameMetricsTracker() {
+        return mFrameMetricsTracker;
+    }
+
+    /**
+     * Report per-frame draw duration, page update time, visible page count, dropped frames and
+     * scroll velocity to the given tracker.
+     *
+     * @param tracker Tracker to report to, or null to stop collecting metrics.
+     */
+    public void setFrameMetricsTracker(@Nullable ScrollFrameMetricsTracker tracker) {
+        if (mFrameMetricsTracker != null) {
+            mFrameMetricsTracker.detach();
+        }
+        mFrameMetricsTracker = tracker;
+        if (tracker != null) {
+            tracker.attach(this);
+        }
+    }
+
     public ScrollListener getListener() {
         return mListener;
     }
@@ -1,33 +1,40 @@
 package com.jarvis.dragdropresearch.views;
 
 import android.content.Context;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
-import android.graphics.Paint;
-import android.graphics.PorterDuff;
-import android.graphics.PorterDuffXfermode;
+import android.graphics.Rect;
 import android.graphics.RectF;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.SystemClock;
 import android.util.AttributeSet;
 
 import com.jarvis.dragdropresearch.funwithshapes.ArcShape;
 import com.jarvis.dragdropresearch.funwithshapes.FlashShape;
 import com.jarvis.dragdropresearch.funwithshapes.RectangleShape;
+import com.jarvis.dragdropresearch.funwithshapes.ShapeGeometryCache;
 import com.jarvis.dragdropresearch.funwithshapes.SpiralShape;
 import com.jarvis.dragdropresearch.funwithshapes.StarShape;
 import com.jarvis.dragdropresearch.funwithshapes.TriangleShape;
 import com.jarvis.dragdropresearch.funwithshapes.enums.ColorPalette;
+import com.jarvis.dragdropresearch.funwithshapes.renderers.BatchableShapeRenderer;
+import com.jarvis.dragdropresearch.funwithshapes.renderers.RenderQuality;
+import com.jarvis.dragdropresearch.funwithshapes.renderers.ShapeRenderer;
+import com.jarvis.dragdropresearch.funwithshapes.renderers.ShapeRendererRegistry;
+import com.jarvis.dragdropresearch.funwithshapes.renderers.ShapeVertexBatch;
 import com.jarvis.dragdropresearch.interpolators.AngleInterpolator;
 import com.jarvis.dragdropresearch.interpolators.ColorInterpolator;
 import com.jarvis.dragdropresearch.interpolators.RectangleInterpolator;
 import com.jarvis.dragdropresearch.interpolators.SpiralInterpolator;
 import com.jarvis.dragdropresearch.interpolators.StarInterpolator;
 import com.jarvis.dragdropresearch.interpolators.TriangleInterpolator;
-import com.jarvis.dragdropresearch.utils.DrawingUtils;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Random;
 
 public class FlashShapeView extends AbsCustomScrollingView<FlashShapePage> {
@@ -39,113 +46,416 @@ public class FlashShapeView extends AbsCustomScrollingView<FlashShapePage> {
     private static final int[] SHAPE_COLORS =
             new int[] {Color.RED, Color.WHITE, Color.BLUE, Color.GREEN,
                     Color.YELLOW};
+    private static final int SHAPE_STROKE_WIDTH = 10;
+    private static final long DEFAULT_SEED = 0x5EED;
+
+    // Calibration draws the shapes of the first pages, one of each type. The warm-up frames give
+    // the runtime time to compile the drawing code, and the median of the timed frames is kept.
+    private static final int CALIBRATION_PAGE_COUNT = 5;
+    private static final int CALIBRATION_WARM_UP_FRAME_COUNT = 32;
+    private static final int CALIBRATION_FRAME_COUNT = 9;
+
+    /**
+     * Age after which a calibration is measured again when a view is laid out or attached, as the
+     * device may have warmed up or started throttling since.
+     */
+    private static final long CALIBRATION_MAX_AGE_MILLIS = 5 * 60 * 1000L;
+
+    // Last quality measured in the process, shared by every view, and when it was measured.
+    private static RenderQuality sCalibratedRenderQuality;
+    private static long sCalibrationUptimeMillis;
 
     private float mMaxShapeWidth;
     private float mMaxShapeHeight;
     private ColorPalette mColorPalette = ColorPalette.THREE;
 
+    // Pages are generated from the seed and their position, with a Random reused across pages.
+    private long mSeed = DEFAULT_SEED;
+    private final Random mRandom = new Random();
+
+    /**
+     * Geometry shared by the shapes of every page, which all have the same size. Star geometry may
+     * be added by the prefetch thread.
+     */
+    private final ShapeGeometryCache mShapeGeometries = new ShapeGeometryCache();
+
+    private final ShapeRendererRegistry mShapeRenderers =
+            ShapeRendererRegistry.createDefault(SHAPE_STROKE_WIDTH);
+
+    // Filled shapes of the visible pages, drawn with as few drawVertices() calls as possible.
+    private final ShapeVertexBatch mShapeBatch = new ShapeVertexBatch();
+    private boolean mShapeBatchingEnabled = true;
+
+    // Quality set on the view, or null to use the calibrated one.
+    private RenderQuality mRenderQuality;
+    private boolean mRenderQualityCalibrationEnabled = true;
+
+    /**
+     * Draws one calibration frame each time the main thread is idle, so that input and frames
+     * arriving during the calibration wait for at most one calibration frame.
+     */
+    private final MessageQueue.IdleHandler mCalibrationIdleHandler =
+            new MessageQueue.IdleHandler() {
+                @Override
+                public boolean queueIdle() {
+                    if (calibrateRenderQualityStep()) {
+                        // Idle handlers only run again after a message is handled.
+                        post(mCalibrationWakeUp);
+                        return true;
+                    }
+                    mCalibrationScheduled = false;
+                    return false;
+                }
+            };
+    private final Runnable mCalibrationWakeUp = new Runnable() {
+        @Override
+        public void run() {
+        }
+    };
+    private boolean mCalibrationScheduled;
+
+    /**
+     * Calibration in progress, or null.
+     */
+    private RenderQualityCalibration mCalibration;
+
+    // Drawing objects reused across frames to keep onDraw() free of allocations.
+    private final RectF mShapeBounds = new RectF();
+    private final RectF mRecordingBounds = new RectF();
+
     public FlashShapeView(@NonNull Context context) {
         super(context);
-        setLayerType(LAYER_TYPE_SOFTWARE, null);
+        initFlashShapeView();
     }
 
     public FlashShapeView(@NonNull Context context,
             @Nullable AttributeSet attrs) {
         super(context, attrs);
-        setLayerType(LAYER_TYPE_SOFTWARE, null);
+        initFlashShapeView();
     }
 
     public FlashShapeView(@NonNull Context context, @Nullable AttributeSet attrs,
             int defStyleAttr) {
         super(context, attrs, defStyleAttr);
+        initFlashShapeView();
+    }
+
+    private void initFlashShapeView() {
         setLayerType(LAYER_TYPE_SOFTWARE, null);
+        setLevelOfDetailEnabled(true);
+    }
+
+    /**
+     * @return Registry of the renderers used to draw each type of shape. Renderers registered
+     * here are used from the next frame on.
+     */
+    @NonNull
+    public ShapeRendererRegistry getShapeRendererRegistry() {
+        return mShapeRenderers;
+    }
+
+    /**
+     * @param shapeBatchingEnabled True to draw the filled shapes of all visible pages as batched
+     * vertices rather than one path per shape component. Enabled by default. Only used on
+     * canvases that support {@link Canvas#drawVertices}.
+     */
+    public void setShapeBatchingEnabled(boolean shapeBatchingEnabled) {
+        if (mShapeBatchingEnabled != shapeBatchingEnabled) {
+            mShapeBatchingEnabled = shapeBatchingEnabled;
+            invalidate();
+        }
+    }
+
+    public boolean isShapeBatchingEnabled() {
+        return mShapeBatchingEnabled;
+    }
+
+    /**
+     * @param quality Quality tier to draw shapes at, instead of the tier found by calibrating the
+     * device.
+     */
+    public void setRenderQuality(@NonNull RenderQuality quality) {
+        mRenderQuality = quality;
+        updateRenderQuality(quality);
+    }
+
+    /**
+     * @return Quality tier shapes are drawn at. {@link RenderQuality#HIGH} until the device is
+     * calibrated.
+     */
+    @NonNull
+    public RenderQuality getRenderQuality() {
+        return mShapeRenderers.getRenderQuality();
+    }
+
+    /**
+     * @param enabled True to pick the quality tier from a short calibration render, unless a tier
+     * was set. The calibration draws one frame each time the main thread is idle after the pages
+     * are first laid out, and is shared by every view of the process. It is measured again when a
+     * view is laid out or attached once it is older than a few minutes. Enabled by default.
+     */
+    public void setRenderQualityCalibrationEnabled(boolean enabled) {
+        mRenderQualityCalibrationEnabled = enabled;
+    }
+
+    public boolean isRenderQualityCalibrationEnabled() {
+        return mRenderQualityCalibrationEnabled;
+    }
+
+    /**
+     * @return Seed the content of the pages is generated from.
+     */
+    public long getSeed() {
+        return mSeed;
+    }
+
+    /**
+     * @param seed Seed to generate the content of the pages from. The content of a page only
+     * depends on this seed and on the position of the page, so it is the same every time the page
+     * is bound.
+     */
+    public void setSeed(long seed) {
+        if (mSeed == seed) {
+            return;
+        }
+        mSeed = seed;
+        PageAdapter<FlashShapePage> adapter = getAdapter();
+        if (adapter != null) {
+            adapter.notifyDataSetChanged();
+            updateContentHeight();
+        }
     }
 
     @Override
     protected void initializePages() {
         setInitializedPages(true);
         setupPages();
+        scheduleRenderQualityCalibration();
     }
 
-    private void setupPages() {
-        mPages = new ArrayList<>(PAGE_COUNT);
-        mMaxShapeHeight = (getMeasuredHeight() - getPaddingTop() - getPaddingBottom()) / 2f;
-        mMaxShapeWidth = (getMeasuredWidth() - getPaddingStart() - getPaddingEnd()) / 2f;
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        if (isInitializedPages()) {
+            scheduleRenderQualityCalibration();
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        if (mCalibrationScheduled) {
+            Looper.myQueue().removeIdleHandler(mCalibrationIdleHandler);
+            removeCallbacks(mCalibrationWakeUp);
+            mCalibrationScheduled = false;
+        }
+        releaseCalibration();
+    }
+
+    private boolean isRenderQualityCalibrationNeeded() {
+        return mRenderQuality == null && mRenderQualityCalibrationEnabled && mMaxShapeWidth > 0
+                && mMaxShapeHeight > 0;
+    }
 
-        // Assumes fixed-size pages for now.
-        final Random random = new Random(System.currentTimeMillis());
-        int startPosition = 0;
-        for (int i = 1; i <= PAGE_COUNT; i++) {
-            FlashShapePage page = new FlashShapePage();
-            page.setHeight(getMeasuredHeight() - (getPaddingTop() + getPaddingBottom()));
-            page.setWidth(getMeasuredWidth() - (getPaddingStart() + getPaddingEnd()));
-            page.setXPosition(getPaddingStart());
-
-            if (startPosition == 0) {
-                startPosition = i * (getMeasuredHeight() - getPaddingBottom());
-            } else {
-                startPosition += page.getHeight();
+    private static boolean isCalibrationCurrent() {
+        return sCalibratedRenderQuality != null
+                && SystemClock.uptimeMillis() - sCalibrationUptimeMillis
+                < CALIBRATION_MAX_AGE_MILLIS;
+    }
+
+    /**
+     * Draw at the quality last calibrated in the process, and calibrate again once the main
+     * thread is idle if there is none or it is out of date.
+     */
+    private void scheduleRenderQualityCalibration() {
+        if (!isRenderQualityCalibrationNeeded()) {
+            return;
+        }
+        if (sCalibratedRenderQuality != null) {
+            applyCalibratedRenderQuality();
+        }
+        if (!isCalibrationCurrent() && !mCalibrationScheduled) {
+            Looper.myQueue().addIdleHandler(mCalibrationIdleHandler);
+            mCalibrationScheduled = true;
+        }
+    }
+
+    /**
+     * Pick the quality tier of the device, measuring it unless another view did recently.
+     *
+     * @return True if the calibration needs more frames.
+     */
+    private boolean calibrateRenderQualityStep() {
+        if (!isRenderQualityCalibrationNeeded()) {
+            releaseCalibration();
+            return false;
+        }
+        if (!isCalibrationCurrent()) {
+            if (mCalibration == null) {
+                mCalibration = createCalibration();
             }
-            page.setYPosition(startPosition);
-
-            mPages.add(page);
-
-            FlashShape shape;
-            if (i % 5 == 0) {
-                shape = getArcShape(page);
-            } else if (i % 5 == 1) {
-                shape = getTriangleShape(page);
-            } else if (i % 5 == 2) {
-                shape = getRectangleShape(page);
-            } else if (i % 5 == 3) {
-                shape = getSpiralShape(page);
-            } else {
-                shape = getStarShape(page);
+            if (mCalibration.drawFrame()) {
+                return true;
             }
+            sCalibratedRenderQuality =
+                    RenderQuality.fromCalibration(mCalibration.getMedianFrameNanos());
+            sCalibrationUptimeMillis = SystemClock.uptimeMillis();
+        }
+        releaseCalibration();
+        applyCalibratedRenderQuality();
+        return false;
+    }
 
-            ColorInterpolator shapeColorInterpolator = new ColorInterpolator(page.getHeight());
-            shapeColorInterpolator
-                    .setColor(SHAPE_COLORS[random.nextInt(500) % SHAPE_COLORS.length]);
-            shape.setColorInterpolator(shapeColorInterpolator);
+    private void releaseCalibration() {
+        if (mCalibration != null) {
+            mCalibration.release();
+            mCalibration = null;
+        }
+    }
 
-            page.setFlashShape(shape);
+    private void applyCalibratedRenderQuality() {
+        updateRenderQuality(sCalibratedRenderQuality);
+    }
 
-            ColorInterpolator pageBackgroundInterpolator = new ColorInterpolator(page.getHeight());
-            pageBackgroundInterpolator
-                    .setColor(COLORS_BACKGROUNDS[(i - 1) % COLORS_BACKGROUNDS.length]);
-            page.setBackgroundColorInterpolator(pageBackgroundInterpolator);
+    /**
+     * Draw shapes at another quality tier. The recordings of settled pages were drawn at the
+     * previous tier, so they are dropped.
+     */
+    private void updateRenderQuality(RenderQuality quality) {
+        if (mShapeRenderers.getRenderQuality() == quality) {
+            return;
+        }
+        mShapeRenderers.setRenderQuality(quality);
+        if (mPages != null) {
+            for (int i = 0; i < mPages.size(); i++) {
+                mPages.get(i).clearRenderCache();
+            }
+        }
+        invalidate();
+    }
+
+    /**
+     * Set up a calibration drawing the shapes of the first pages.
+     */
+    private RenderQualityCalibration createCalibration() {
+        final FlashShape[] shapes = new FlashShape[CALIBRATION_PAGE_COUNT];
+        final FlashShapePage page = new FlashShapePage();
+        page.setWidth(getMeasuredWidth() - getPaddingStart() - getPaddingEnd());
+        page.setHeight(getMeasuredHeight() - getPaddingTop() - getPaddingBottom());
+        for (int i = 0; i < CALIBRATION_PAGE_COUNT; i++) {
+            generatePageContent(page, i);
+            shapes[i] = page.getFlashShape();
         }
+        return new RenderQualityCalibration(shapes, page.getHeight(), mMaxShapeWidth,
+                mMaxShapeHeight);
+    }
+
+    private void setupPages() {
+        mMaxShapeHeight = (getMeasuredHeight() - getPaddingTop() - getPaddingBottom()) / 2f;
+        mMaxShapeWidth = (getMeasuredWidth() - getPaddingStart() - getPaddingEnd()) / 2f;
+        mShapeGeometries.clear();
+        setAdapter(new FlashShapePageAdapter());
+        updateContentHeight();
+    }
 
+    @Override
+    public void setEndless(boolean endless) {
+        super.setEndless(endless);
+        updateContentHeight();
+    }
+
+    /**
+     * Leave room past the last page so that its shape can scroll to the top. Laying out the
+     * adapter pages only makes room for the pages themselves.
+     */
+    private void updateContentHeight() {
+        if (isEndless()) {
+            // The endless window is re-based long before its last page is reached.
+            return;
+        }
         setContentHeight(
                 (getMeasuredHeight() + getPaddingTop() + getPaddingBottom()) * (PAGE_COUNT + 1));
     }
 
+    /**
+     * Mix the seed of the view with the position of a page. Random seeded with consecutive values
+     * starts with strongly correlated outputs, which would make neighbouring pages alike, so the
+     * two are combined with a SplitMix64 finalizer first.
+     */
+    private static long getPageSeed(long seed, int position) {
+        long z = seed ^ (position * 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Generate the shape and background of the page at the given position.
+     */
+    private void generatePageContent(FlashShapePage page, int position) {
+        final Random random = mRandom;
+        random.setSeed(getPageSeed(mSeed, position));
+
+        FlashShape shape;
+        final int index = position + 1;
+        if (index % 5 == 0) {
+            shape = getArcShape(page);
+        } else if (index % 5 == 1) {
+            shape = getTriangleShape(page, random);
+        } else if (index % 5 == 2) {
+            shape = getRectangleShape(page, random);
+        } else if (index % 5 == 3) {
+            shape = getSpiralShape(page, random);
+        } else {
+            shape = getStarShape(page, random);
+        }
+
+        ColorInterpolator shapeColorInterpolator = new ColorInterpolator(page.getHeight());
+        shapeColorInterpolator.setColor(SHAPE_COLORS[random.nextInt(500) % SHAPE_COLORS.length]);
+        shape.setColorInterpolator(shapeColorInterpolator);
+
+        page.setFlashShape(shape);
+
+        ColorInterpolator pageBackgroundInterpolator = page.getBackgroundColorInterpolator();
+        if (pageBackgroundInterpolator == null) {
+            pageBackgroundInterpolator = new ColorInterpolator(page.getHeight());
+            page.setBackgroundColorInterpolator(pageBackgroundInterpolator);
+        }
+        pageBackgroundInterpolator.setMaxValue(page.getHeight());
+        pageBackgroundInterpolator
+                .setColor(COLORS_BACKGROUNDS[position % COLORS_BACKGROUNDS.length]);
+    }
+
+    /**
+     * @return True if the page at the given position shows a star.
+     */
+    private static boolean isStarPosition(int position) {
+        return (position + 1) % 5 == 4;
+    }
+
     //region Random FlashShape Generation.
-    private TriangleShape getTriangleShape(FlashShapePage page) {
-        Random random = new Random(System.currentTimeMillis());
+    private TriangleShape getTriangleShape(FlashShapePage page, Random random) {
         TriangleShape shape = new TriangleShape();
         shape.setXOffset((int)(page.getWidth() / 2 -
                 mMaxShapeWidth / 2));
         shape.setYOffset((int)(page.getHeight() / 2 - mMaxShapeHeight / 2));
         shape.setComponentColorPool(mColorPalette.getValues());
-        shape.generateRandomComponentColors();
+        shape.generateRandomComponentColors(random);
         shape.setAllowMulticoloredComponents(true);
 
-        TriangleInterpolator interpolator =
-                new TriangleInterpolator(page.getHeight(), mMaxShapeHeight, mMaxShapeWidth,
-                        true);
+        TriangleInterpolator interpolator = new TriangleInterpolator(page.getHeight(),
+                mShapeGeometries.getTriangleGeometry(mMaxShapeHeight, mMaxShapeWidth, true));
         shape.setTriangleInterpolator(interpolator);
         return shape;
     }
 
-    private SpiralShape getSpiralShape(FlashShapePage page) {
-        Random random = new Random();
+    private SpiralShape getSpiralShape(FlashShapePage page, Random random) {
         SpiralShape shape = new SpiralShape();
         shape.setXOffset((int)(page.getWidth() / 2 -
                 mMaxShapeWidth / 2));
         shape.setYOffset((int)(page.getHeight() / 2 - mMaxShapeHeight / 2));
         shape.setComponentColorPool(mColorPalette.getValues());
-        shape.generateRandomComponentColors();
+        shape.generateRandomComponentColors(random);
         shape.setAllowMulticoloredComponents(random.nextInt(300) % 10 < 5);
 
         SpiralInterpolator interpolator =
@@ -155,18 +465,17 @@ public class FlashShapeView extends AbsCustomScrollingView<FlashShapePage> {
         return shape;
     }
 
-    private RectangleShape getRectangleShape(FlashShapePage page) {
+    private RectangleShape getRectangleShape(FlashShapePage page, Random random) {
         RectangleShape shape = new RectangleShape();
         shape.setXOffset((int)(page.getWidth() / 2 -
                 mMaxShapeWidth / 2));
         shape.setYOffset((int)(page.getHeight() / 2 - mMaxShapeHeight / 2));
         shape.setAllowMulticoloredComponents(true);
         shape.setComponentColorPool(mColorPalette.getValues());
-        shape.generateRandomComponentColors();
+        shape.generateRandomComponentColors(random);
 
-        RectangleInterpolator interpolator =
-                new RectangleInterpolator(page.getHeight(), mMaxShapeHeight, mMaxShapeWidth,
-                        true);
+        RectangleInterpolator interpolator = new RectangleInterpolator(page.getHeight(),
+                mShapeGeometries.getRectangleGeometry(mMaxShapeHeight, mMaxShapeWidth, true));
         shape.setRectangleInterpolator(interpolator);
         return shape;
     }
@@ -187,17 +496,18 @@ public class FlashShapeView extends AbsCustomScrollingView<FlashShapePage> {
         return shape;
     }
 
-    private StarShape getStarShape(FlashShapePage page) {
+    private StarShape getStarShape(FlashShapePage page, Random random) {
         StarShape shape = new StarShape();
         shape.setXOffset((int)((page.getWidth() / 2 -
                 mMaxShapeWidth / 2) + getPaddingStart()));
         shape.setYOffset((int)(page.getHeight() / 2 - mMaxShapeHeight / 2 + getPaddingTop()));
         shape.setAllowMulticoloredComponents(true);
-        shape.generateRandomComponentColors();
+        shape.generateRandomComponentColors(random);
 
         StarInterpolator.Builder builder = new StarInterpolator.Builder(page.getHeight());
         builder.setHeight(mMaxShapeHeight)
-                .setWidth(mMaxShapeWidth);
+                .setWidth(mMaxShapeWidth)
+                .setGeometry(mShapeGeometries.getStarGeometry(mMaxShapeWidth, mMaxShapeHeight));
         shape.setStarInterpolator(builder.build());
         return shape;
     }
@@ -207,6 +517,7 @@ public class FlashShapeView extends AbsCustomScrollingView<FlashShapePage> {
     protected void onSizeChanged(int w, int h, int oldw, int oldh) {
         super.onSizeChanged(w, h, oldw, oldh);
         setupPages();
+        invalidatePageContent();
     }
 
     @Override
@@ -215,226 +526,278 @@ public class FlashShapeView extends AbsCustomScrollingView<FlashShapePage> {
         super.onDraw(canvas);
     }
 
+    @Override
+    protected boolean onUpdatePageContent(@NonNull FlashShapePage page) {
+        final int value = getContentBoundsBottom() - page.getYPosition();
+
+        FlashShape shape = page.getFlashShape();
+        ShapeRenderer renderer = mShapeRenderers.get(shape);
+        final float oldInterpolation = renderer.getInterpolation(shape);
+        final int oldShade = shape.getColorInterpolator().getInterpolatedShade();
+        renderer.update(shape, getShapeValue(shape, value));
+        return renderer.getInterpolation(shape) != oldInterpolation
+                || shape.getColorInterpolator().getInterpolatedShade() != oldShade;
+    }
+
+    /**
+     * Shapes scrolled to the top keep the state they had when they got there. That state only
+     * depends on the page, so it is the same for a page that is recycled and bound again.
+     *
+     * @param value Interpolator value for the current position of the page.
+     * @return Interpolator value for the shape of the page.
+     */
+    private int getShapeValue(FlashShape shape, int value) {
+        final int scrolledToTopValue = shape.getYOffset() + getContentBoundsBottom()
+                - getContentBoundsTop();
+        return Math.min(value, scrolledToTopValue);
+    }
+
     private void drawPages(Canvas canvas) {
         if (mPages != null) {
-            for (FlashShapePage page : mPages) {
-                drawBackground(canvas, page);
-                drawPageShape(page, canvas);
+            final boolean batchShapes =
+                    mShapeBatchingEnabled && ShapeVertexBatch.isSupported(canvas);
+            for (int i = 0; i < mPages.size(); i++) {
+                FlashShapePage page = mPages.get(i);
+                if (!page.isVisible() || quickRejectPage(canvas, page)) {
+                    continue;
+                }
+                // Backgrounds cover the shapes of the pages above them once scrolled to top.
+                mShapeBatch.flushIfIntersects(canvas, getContentBoundsLeft(),
+                        page.isScrolledToTop() ? getContentBoundsTop() : page.getYPosition(),
+                        getContentBoundsRight(), getContentBoundsBottom());
+                drawBackground(canvas, page, i);
+                drawPageShape(page, canvas, batchShapes);
             }
+            mShapeBatch.flush(canvas);
         }
     }
 
-    private void drawBackground(Canvas canvas, FlashShapePage page) {
-        if (page.isVisible()) {
-            ColorInterpolator interpolator = page.getBackgroundColorInterpolator();
-            interpolator.updateValue(getContentBoundsBottom() - page.getYPosition());
-            drawShadedBackground(canvas, interpolator, page);
-        }
+    private void drawBackground(Canvas canvas, FlashShapePage page, int index) {
+        drawShadedBackground(canvas, page.getBackgroundColorInterpolator().getColor(), page,
+                index);
     }
 
-    private void drawPageShape(FlashShapePage page, Canvas canvas) {
-        if (!page.isVisible()) {
-            return;
-        }
-
+    private void drawPageShape(FlashShapePage page, Canvas canvas, boolean batchShapes) {
         FlashShape shape = page.getFlashShape();
         if (page.getYPosition() + shape.getYOffset() > getContentBoundsBottom()) {
             // Shape has not come into view. Do not draw.
             return;
         }
 
-        if (shape instanceof ArcShape) {
-            drawArcShape(canvas, page);
-        } else if (shape instanceof TriangleShape) {
-            drawTriangleShape(canvas, page);
-        } else if (shape instanceof RectangleShape) {
-            drawRectangleShape(canvas, page);
-        } else if (shape instanceof SpiralShape) {
-            drawSpiralShape(canvas, page);
-        } else if (shape instanceof StarShape) {
-            drawStarShape(canvas, page);
-        }
-    }
-
-    //region Arc Drawing
-    private void drawArcShape(Canvas canvas, FlashShapePage page) {
-        ArcShape shape = (ArcShape)page.getFlashShape();
-
-        Paint paint = new Paint();
-        paint.setStyle(Paint.Style.FILL);
-        paint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.SRC_OVER));
-        ColorInterpolator colorInterpolator = shape.getColorInterpolator();
-
-        if (pageShapeScrolledToTop(page, shape)) {
-            // Means we've scrolled the current page to the top top of the visible part of the view.
-            // Only drawing arcs for now
-
-            // Draw the arc
-            paint.setColor(colorInterpolator.getInterpolatedShade());
-
-            DrawingUtils.drawArcShape(canvas, shape, getCommonShapeBoundingRect(page, shape, true),
-                    paint);
+        final boolean scrolledToTop = pageShapeScrolledToTop(page, shape);
+        RectF bounds = getCommonShapeBoundingRect(page, shape, scrolledToTop);
+        ShapeRenderer renderer = mShapeRenderers.get(shape);
+
+        // Replay the shape once its state stops changing instead of rebuilding its paths. Only
+        // full detail is recorded, as it is what remains on screen once scrolling settles.
+        PageRenderCache cache = page.getRenderCache();
+        if (getDetailLevel() == DETAIL_FULL && PageRenderCache.canReplay(canvas)
+                && cache.updateState(renderer.getInterpolation(shape),
+                shape.getColorInterpolator().getInterpolatedShade(),
+                (int)Math.ceil(bounds.width()) + 2 * SHAPE_STROKE_WIDTH,
+                (int)Math.ceil(bounds.height()) + 2 * SHAPE_STROKE_WIDTH)) {
+            flushShapeBatch(canvas, bounds);
+            if (!cache.hasRecording()) {
+                // Leave room for strokes drawn along the edges of the bounds.
+                mRecordingBounds.set(SHAPE_STROKE_WIDTH, SHAPE_STROKE_WIDTH,
+                        SHAPE_STROKE_WIDTH + bounds.width(), SHAPE_STROKE_WIDTH + bounds.height());
+                renderer.draw(cache.beginRecording(), shape, mRecordingBounds);
+                cache.endRecording();
+            }
+            cache.draw(canvas, bounds.left - SHAPE_STROKE_WIDTH, bounds.top - SHAPE_STROKE_WIDTH);
+        } else if (batchShapes && renderer instanceof BatchableShapeRenderer) {
+            ((BatchableShapeRenderer)renderer).addToBatch(shape, bounds, mShapeBatch);
         } else {
-            colorInterpolator.updateValue(getContentBoundsBottom() - page.getYPosition());
-            shape.getAngleInterpolator()
-                    .updateValue(getContentBoundsBottom() - page.getYPosition());
-
-            // Draw the arc
-            paint.setColor(colorInterpolator.getInterpolatedShade());
-
-            DrawingUtils.drawArcShape(canvas, shape, getCommonShapeBoundingRect(page, shape, false),
-                    paint);
+            flushShapeBatch(canvas, bounds);
+            renderer.draw(canvas, shape, bounds);
         }
     }
 
-    //endregion
-
-    //region Rectangle Drawing
-    // TODO: Move Individual drawing helpers to a utils class.
-    private void drawRectangleShape(Canvas canvas, FlashShapePage page) {
-        RectangleShape shape = (RectangleShape)page.getFlashShape();
-
-        Paint paint = new Paint();
-        paint.setStyle(Paint.Style.FILL);
-        paint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.SRC_OVER));
-        ColorInterpolator colorInterpolator = shape.getColorInterpolator();
+    /**
+     * Draw the batched shapes before drawing directly over them.
+     */
+    private void flushShapeBatch(Canvas canvas, RectF bounds) {
+        mShapeBatch.flushIfIntersects(canvas, bounds.left - SHAPE_STROKE_WIDTH,
+                bounds.top - SHAPE_STROKE_WIDTH, bounds.right + SHAPE_STROKE_WIDTH,
+                bounds.bottom + SHAPE_STROKE_WIDTH);
+    }
 
-        if (pageShapeScrolledToTop(page, shape)) {
-            // Means we've scrolled the current page to the top top of the visible part of the view.
-            // Only drawing arcs for now
+    /**
+     * Trade detail for speed while the view moves fast. What each type of shape gives up is up to
+     * its renderer.
+     */
+    @Override
+    protected void onDetailLevelChanged(int detailLevel) {
+        mShapeRenderers.setDetailLevel(detailLevel);
+    }
 
-            // Draw the rectangle.
-            paint.setColor(colorInterpolator.getInterpolatedShade());
+    /**
+     * @return Bounds of the shape on the given page. The returned {@link RectF} is reused on
+     * every call.
+     */
+    private RectF getCommonShapeBoundingRect(FlashShapePage page, FlashShape shape,
+            boolean scrolledToTop) {
+        if (scrolledToTop) {
+            float boundingRectTop = getContentBoundsTop() + shape.getYOffset();
+            float boundingRectLeft = page.getXPosition() + shape.getXOffset();
+            float boundingRectRight = boundingRectLeft + mMaxShapeWidth;
+            float boundingRectBottom = boundingRectTop + mMaxShapeHeight;
 
-            DrawingUtils.drawRectangleShape(canvas, shape,
-                    getCommonShapeBoundingRect(page, shape, true), paint);
+            mShapeBounds.set(boundingRectLeft, boundingRectTop, boundingRectRight,
+                    boundingRectBottom);
+            return mShapeBounds;
         } else {
-            colorInterpolator.updateValue(getContentBoundsBottom() - page.getYPosition());
-            shape.getRectangleInterpolator()
-                    .updateValue(getContentBoundsBottom() - page.getYPosition());
-
-            // Draw the rectangle
-            paint.setColor(colorInterpolator.getInterpolatedShade());
+            float boundingRectTop = page.getYPosition() + shape.getYOffset() + getPaddingTop();
+            float boundingRectLeft = page.getXPosition() + shape.getXOffset();
+            float boundingRectRight = boundingRectLeft + mMaxShapeWidth;
+            float boundingRectBottom = boundingRectTop + mMaxShapeHeight;
 
-            DrawingUtils.drawRectangleShape(canvas, shape,
-                    getCommonShapeBoundingRect(page, shape, false), paint);
+            mShapeBounds.set(boundingRectLeft, boundingRectTop, boundingRectRight,
+                    boundingRectBottom);
+            return mShapeBounds;
         }
     }
 
-    //endregion
-
-    //region Triangle Drawing
-    private void drawTriangleShape(Canvas canvas, FlashShapePage page) {
-        TriangleShape shape = (TriangleShape)page.getFlashShape();
-
-        Paint paint = new Paint();
-        paint.setStyle(Paint.Style.FILL);
-        paint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.SRC_OVER));
+    private boolean pageShapeScrolledToTop(FlashShapePage page, FlashShape shape) {
+        return page.getYPosition() + shape.getYOffset() <= getContentBoundsTop();
+    }
 
-        ColorInterpolator colorInterpolator = shape.getColorInterpolator();
-        TriangleInterpolator triangleInterpolator = shape.getTriangleInterpolator();
+    /**
+     * Draws shapes at {@link RenderQuality#HIGH} into an offscreen bitmap, as the view does while
+     * they animate in, one frame at a time.
+     */
+    private static class RenderQualityCalibration {
+        private final FlashShape[] mShapes;
+        private final int mMaxValue;
+        private final ShapeRendererRegistry mRenderers;
+        private final RectF mBounds;
+        private final Bitmap mBitmap;
+        private final Canvas mCanvas;
+        private final long[] mFrameNanos = new long[CALIBRATION_FRAME_COUNT];
+        private int mFrame;
+
+        RenderQualityCalibration(FlashShape[] shapes, int maxValue, float shapeWidth,
+                float shapeHeight) {
+            mShapes = shapes;
+            mMaxValue = maxValue;
+            // Paths are not cached, so every frame builds them like frames of animating shapes
+            // do.
+            mRenderers = ShapeRendererRegistry.createDefault(SHAPE_STROKE_WIDTH, null);
+            mBounds = new RectF(SHAPE_STROKE_WIDTH, SHAPE_STROKE_WIDTH,
+                    SHAPE_STROKE_WIDTH + shapeWidth, SHAPE_STROKE_WIDTH + shapeHeight);
+            mBitmap = Bitmap.createBitmap((int)Math.ceil(mBounds.right) + SHAPE_STROKE_WIDTH,
+                    (int)Math.ceil(mBounds.bottom) + SHAPE_STROKE_WIDTH, Bitmap.Config.ARGB_8888);
+            mCanvas = new Canvas(mBitmap);
+        }
 
-        if (pageShapeScrolledToTop(page, shape)) {
-            // Means we've scrolled the current page to the top of the visible part of the view.
-            // Only drawing arcs for now
-            paint.setColor(colorInterpolator.getInterpolatedShade());
+        /**
+         * Draw the next frame. Warm-up frames are not timed, as they also pay for loading and
+         * compiling the drawing code. Each timed frame is timed on its own, so that a pause only
+         * skews one of them.
+         *
+         * @return True if more frames are needed.
+         */
+        boolean drawFrame() {
+            final long startNanos = System.nanoTime();
+            final int value = mMaxValue * (mFrame % CALIBRATION_FRAME_COUNT)
+                    / (CALIBRATION_FRAME_COUNT - 1);
+            for (FlashShape shape : mShapes) {
+                ShapeRenderer renderer = mRenderers.get(shape);
+                renderer.update(shape, value);
+                renderer.draw(mCanvas, shape, mBounds);
+            }
+            if (mFrame >= CALIBRATION_WARM_UP_FRAME_COUNT) {
+                mFrameNanos[mFrame - CALIBRATION_WARM_UP_FRAME_COUNT] =
+                        System.nanoTime() - startNanos;
+            }
+            mFrame++;
+            return mFrame < CALIBRATION_WARM_UP_FRAME_COUNT + CALIBRATION_FRAME_COUNT;
+        }
 
-            DrawingUtils
-                    .drawTriangleShape(canvas, shape, getCommonShapeBoundingRect(page, shape, true),
-                            paint);
-        } else {
-            colorInterpolator.updateValue(getContentBoundsBottom() - page.getYPosition());
-            triangleInterpolator.updateValue(getContentBoundsBottom() - page.getYPosition());
-            paint.setColor(colorInterpolator.getInterpolatedShade());
+        /**
+         * @return Median time taken to draw a timed frame, in nanoseconds.
+         */
+        long getMedianFrameNanos() {
+            final long[] frameNanos = mFrameNanos.clone();
+            Arrays.sort(frameNanos);
+            return frameNanos[CALIBRATION_FRAME_COUNT / 2];
+        }
 
-            DrawingUtils.drawTriangleShape(canvas, shape,
-                    getCommonShapeBoundingRect(page, shape, false), paint);
+        void release() {
+            mBitmap.recycle();
         }
     }
 
-    //endregion
-
-    //region Spiral Shape Drawing
-    private void drawSpiralShape(Canvas canvas, FlashShapePage page) {
-        SpiralShape shape = (SpiralShape)page.getFlashShape();
-
-        Paint paint = new Paint();
-        paint.setStyle(Paint.Style.STROKE);
-        paint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.SRC_OVER));
-        paint.setStrokeWidth(10);
-        ColorInterpolator colorInterpolator = shape.getColorInterpolator();
+    /**
+     * Generates the content of each page the first time it comes near the content window, and
+     * again when it is bound after being recycled.
+     */
+    private class FlashShapePageAdapter extends PageAdapter<FlashShapePage> {
 
-        if (pageShapeScrolledToTop(page, shape)) {
-            paint.setColor(colorInterpolator.getInterpolatedShade());
+        /**
+         * Pages are laid out in a single column.
+         */
+        private final PageGridLayout mPageLayout = new PageGridLayout(1, 0, 0);
 
-            DrawingUtils
-                    .drawSpiralShape(canvas, shape, getCommonShapeBoundingRect(page, shape, true),
-                            paint);
-        } else {
-            colorInterpolator.updateValue(getContentBoundsBottom() - page.getYPosition());
-            shape.getSpiralInterpolator()
-                    .updateValue(getContentBoundsBottom() - page.getYPosition());
-            paint.setColor(colorInterpolator.getInterpolatedShade());
-
-            DrawingUtils
-                    .drawSpiralShape(canvas, shape, getCommonShapeBoundingRect(page, shape, false),
-                            paint);
+        @Override
+        public int getPageCount() {
+            return isEndless() ? Integer.MAX_VALUE : PAGE_COUNT;
         }
-    }
 
-    //endregion
-    //region Star Shape Drawing
-    private void drawStarShape(Canvas canvas, FlashShapePage page) {
-        StarShape shape = (StarShape)page.getFlashShape();
-
-        Paint paint = new Paint();
-        paint.setStyle(Paint.Style.FILL);
-        paint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.SRC_OVER));
-        paint.setStrokeWidth(10);
-        ColorInterpolator colorInterpolator = shape.getColorInterpolator();
-
-        if (pageShapeScrolledToTop(page, shape)) {
-            paint.setColor(colorInterpolator.getInterpolatedShade());
-
-            DrawingUtils
-                    .drawStarShape(canvas, shape, getCommonShapeBoundingRect(page, shape, true),
-                            paint);
-        } else {
-            colorInterpolator.updateValue(getContentBoundsBottom() - page.getYPosition());
-            shape.getStarInterpolator()
-                    .updateValue(getContentBoundsBottom() - page.getYPosition());
-            paint.setColor(colorInterpolator.getInterpolatedShade());
+        @Override
+        public void getPageBounds(int position, @NonNull Rect outBounds) {
+            // Assumes fixed-size pages for now.
+            int height = getMeasuredHeight() - getPaddingTop() - getPaddingBottom();
+            int width = getMeasuredWidth() - getPaddingStart() - getPaddingEnd();
 
-            DrawingUtils
-                    .drawStarShape(canvas, shape, getCommonShapeBoundingRect(page, shape, false),
-                            paint);
+            // The first page starts at the bottom of the content window.
+            mPageLayout.setPageSize(width, height)
+                    .setOrigin(getPaddingStart(), getMeasuredHeight() - getPaddingBottom())
+                    .getPageBounds(position, outBounds);
         }
-    }
-
-    //endregion
 
-    private RectF getCommonShapeBoundingRect(FlashShapePage page, FlashShape shape,
-            boolean scrolledToTop) {
-        if (scrolledToTop) {
-            float boundingRectTop = getContentBoundsTop() + shape.getYOffset();
-            float boundingRectLeft = page.getXPosition() + shape.getXOffset();
-            float boundingRectRight = boundingRectLeft + mMaxShapeWidth;
-            float boundingRectBottom = boundingRectTop + mMaxShapeHeight;
+        @NonNull
+        @Override
+        public FlashShapePage onCreatePage(int pageType) {
+            return new FlashShapePage();
+        }
 
-            return new RectF(boundingRectLeft, boundingRectTop, boundingRectRight,
-                    boundingRectBottom);
-        } else {
-            float boundingRectTop = page.getYPosition() + shape.getYOffset() + getPaddingTop();
-            float boundingRectLeft = page.getXPosition() + shape.getXOffset();
-            float boundingRectRight = boundingRectLeft + mMaxShapeWidth;
-            float boundingRectBottom = boundingRectTop + mMaxShapeHeight;
+        @Override
+        public void onBindPage(@NonNull FlashShapePage page, int position) {
+            generatePageContent(page, position);
+        }
 
-            return new RectF(boundingRectLeft, boundingRectTop, boundingRectRight,
-                    boundingRectBottom);
+        @Override
+        public void onRecyclePage(@NonNull FlashShapePage page) {
+            // Binding the page again generates a new shape, so cached paths of this one would
+            // only be evicted once the cache is full.
+            FlashShape shape = page.getFlashShape();
+            if (shape != null) {
+                mShapeRenderers.release(shape);
+            }
+            page.setFlashShape(null);
         }
-    }
 
-    private boolean pageShapeScrolledToTop(FlashShapePage page, FlashShape shape) {
-        return page.getYPosition() + shape.getYOffset() <= getContentBoundsTop();
+        /**
+         * Compute the geometry of stars off the main thread, so that binding their page only
+         * builds the interpolators. Only the first star of a given size needs it.
+         */
+        @Nullable
+        @Override
+        public Runnable onCreatePrefetchTask(int position) {
+            final float width = mMaxShapeWidth;
+            final float height = mMaxShapeHeight;
+            if (!isStarPosition(position)
+                    || mShapeGeometries.peekStarGeometry(width, height) != null) {
+                return null;
+            }
+            final ShapeGeometryCache geometries = mShapeGeometries;
+            return new Runnable() {
+                @Override
+                public void run() {
+                    geometries.getStarGeometry(width, height);
+                }
+            };
+        }
     }
 }
@@ -0,0 +1,137 @@
+package com.jarvis.dragdropresearch.views;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-bucket histogram of per-frame values. Recording a value is a binary search over the
+ * bucket bounds and an increment, so a histogram can stay enabled in production builds.
+ * <p>
+ * Values above the last bound are counted in an overflow bucket. Histograms are not thread safe
+ * and should be recorded and sampled on the UI thread; use {@link #copyFrom(FrameHistogram)}
+ * to take a snapshot.
+ */
+public class FrameHistogram {
+
+    /**
+     * Inclusive upper bound of each bucket, in ascending order.
+     */
+    private final long[] mBucketBounds;
+
+    /**
+     * Number of values in each bucket. The last entry is the overflow bucket.
+     */
+    private final int[] mBucketCounts;
+
+    private int mCount;
+    private long mSum;
+    private long mMax;
+
+    /**
+     * @param bucketBounds Inclusive upper bound of each bucket, in ascending order.
+     */
+    public FrameHistogram(@NonNull long[] bucketBounds) {
+        for (int i = 1; i < bucketBounds.length; i++) {
+            if (bucketBounds[i] <= bucketBounds[i - 1]) {
+                throw new IllegalArgumentException("Bucket bounds must be in ascending order.");
+            }
+        }
+        mBucketBounds = bucketBounds.clone();
+        mBucketCounts = new int[bucketBounds.length + 1];
+    }
+
+    public void record(long value) {
+        int bucket = Arrays.binarySearch(mBucketBounds, value);
+        if (bucket < 0) {
+            bucket = -(bucket + 1);
+        }
+        mBucketCounts[bucket]++;
+        mCount++;
+        mSum += value;
+        mMax = Math.max(mMax, value);
+    }
+
+    /**
+     * @return Number of buckets, including the overflow bucket.
+     */
+    public int getBucketCount() {
+        return mBucketCounts.length;
+    }
+
+    /**
+     * @return Inclusive upper bound of the bucket, or {@link Long#MAX_VALUE} for the overflow
+     * bucket.
+     */
+    public long getBucketUpperBound(int bucket) {
+        return bucket < mBucketBounds.length ? mBucketBounds[bucket] : Long.MAX_VALUE;
+    }
+
+    public int getBucketValueCount(int bucket) {
+        return mBucketCounts[bucket];
+    }
+
+    public int getCount() {
+        return mCount;
+    }
+
+    public long getSum() {
+        return mSum;
+    }
+
+    public long getMax() {
+        return mMax;
+    }
+
+    public float getMean() {
+        return mCount > 0 ? (float)mSum / mCount : 0;
+    }
+
+    /**
+     * @param percentile Percentile between 0 and 100.
+     * @return Upper bound of the bucket holding the given percentile, or the largest recorded value
+     * if it falls in the overflow bucket. Returns 0 if nothing was recorded.
+     */
+    public long getPercentile(float percentile) {
+        if (mCount == 0) {
+            return 0;
+        }
+        final int rank = Math.max(1, (int)Math.ceil(percentile / 100f * mCount));
+        int cumulative = 0;
+        for (int i = 0; i < mBucketBounds.length; i++) {
+            cumulative += mBucketCounts[i];
+            if (cumulative >= rank) {
+                return Math.min(mBucketBounds[i], mMax);
+            }
+        }
+        return mMax;
+    }
+
+    public void reset() {
+        Arrays.fill(mBucketCounts, 0);
+        mCount = 0;
+        mSum = 0;
+        mMax = 0;
+    }
+
+    /**
+     * Overwrite this histogram with the values of another histogram with the same buckets.
+     */
+    public void copyFrom(@NonNull FrameHistogram other) {
+        if (!Arrays.equals(mBucketBounds, other.mBucketBounds)) {
+            throw new IllegalArgumentException("Histograms have different buckets.");
+        }
+        System.arraycopy(other.mBucketCounts, 0, mBucketCounts, 0, mBucketCounts.length);
+        mCount = other.mCount;
+        mSum = other.mSum;
+        mMax = other.mMax;
+    }
+
+    /**
+     * @return An empty histogram with the same buckets as this one.
+     */
+    @NonNull
+    public FrameHistogram newEmptyCopy() {
+        return new FrameHistogram(mBucketBounds);
+    }
+}
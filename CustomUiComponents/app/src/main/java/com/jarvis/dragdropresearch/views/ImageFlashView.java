@@ -5,12 +5,14 @@ import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
+import android.graphics.Rect;
 import android.util.AttributeSet;
 import android.util.Log;
 
 import com.jarvis.dragdropresearch.R;
 import com.jarvis.dragdropresearch.interpolators.AlphaInterpolator;
 import com.jarvis.dragdropresearch.interpolators.ColorInterpolator;
+import com.jarvis.dragdropresearch.interpolators.Interpolator;
 import com.jarvis.dragdropresearch.scrollingpictures.domain.FlashImage;
 import com.jarvis.dragdropresearch.utils.ImageCacheHelper;
 import com.jarvis.dragdropresearch.utils.ImageLoader;
@@ -44,6 +46,10 @@ public class ImageFlashView extends AbsCustomScrollingView<ImageFlashPage> {
 
     private ImageCacheHelper mImageCache;
 
+    private ImageLoader.Configuration mImageLoaderConfiguration;
+
+    private final Paint mImagePaint = new Paint();
+
     public ImageFlashView(@NonNull Context context) {
         super(context);
     }
@@ -111,6 +117,7 @@ public class ImageFlashView extends AbsCustomScrollingView<ImageFlashPage> {
         configuration.setCache(cache);
         configuration.setMaxImageHeight(mMaxImageHeight);
         configuration.setMaxImageWidth(mMaxImageWidth);
+        mImageLoaderConfiguration = configuration;
 
         final int[] images = getRandomImages();
         for (int i = 0; i < PAGE_COUNT; i++) {
@@ -132,21 +139,10 @@ public class ImageFlashView extends AbsCustomScrollingView<ImageFlashPage> {
                 mImageCache = cache;
                 if (mImageCache != null) {
                     for (ImageFlashPage page : mPages) {
-                        FlashImage image = page.getImage();
                         Bitmap bm =
-                                mImageCache.getBitmapFromMemCache(
-                                        String.valueOf(image.getImageResId()));
+                                mImageCache.getBitmapFromMemCache(page.getImage().getCacheKey());
                         if (bm != null) {
-                            image.setImageAvailable(true);
-
-                            int imgHeight = bm.getHeight();
-                            int imgWidth = bm.getWidth();
-
-                            int imgTop = (page.getHeight() / 2 - imgHeight / 2) + getPaddingTop();
-                            int imgLeft = (page.getWidth() / 2 - imgWidth / 2) + getPaddingStart();
-
-                            image.setXOffset(imgLeft);
-                            image.setYOffset(imgTop);
+                            onImageAvailable(page, bm);
                         }
                     }
                 }
@@ -164,6 +160,66 @@ public class ImageFlashView extends AbsCustomScrollingView<ImageFlashPage> {
         }, configuration, images);
     }
 
+    private void onImageAvailable(ImageFlashPage page, Bitmap bm) {
+        FlashImage image = page.getImage();
+        image.setImageAvailable(true);
+
+        int imgHeight = bm.getHeight();
+        int imgWidth = bm.getWidth();
+
+        int imgTop = (page.getHeight() / 2 - imgHeight / 2) + getPaddingTop();
+        int imgLeft = (page.getWidth() / 2 - imgWidth / 2) + getPaddingStart();
+
+        image.setXOffset(imgLeft);
+        image.setYOffset(imgTop);
+        invalidatePage(page);
+    }
+
+    /**
+     * Reload the image of a page a fling is about to land on if it was evicted from the cache, and
+     * upload it ahead of its first draw.
+     */
+    @Nullable
+    @Override
+    protected Runnable onCreatePrefetchTask(@NonNull final ImageFlashPage page,
+            @NonNull Rect landingBounds) {
+        final ImageCacheHelper cache = mImageCache;
+        final FlashImage image = page.getImage();
+        if (cache == null || image == null) {
+            // Initial loading has not completed yet.
+            return null;
+        }
+
+        final Context context = getContext().getApplicationContext();
+        final ImageLoader.Configuration configuration = mImageLoaderConfiguration;
+        final String cacheKey = image.getCacheKey();
+        final int imageResId = image.getImageResId();
+        return new Runnable() {
+            @Override
+            public void run() {
+                Bitmap bm = cache.getBitmapFromMemCache(cacheKey);
+                if (bm != null) {
+                    bm.prepareToDraw();
+                    return;
+                }
+
+                final Bitmap loaded =
+                        ImageLoader.getInstance().loadImage(context, configuration, imageResId);
+                if (loaded != null) {
+                    loaded.prepareToDraw();
+                    post(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (mImageCache == cache) {
+                                onImageAvailable(page, loaded);
+                            }
+                        }
+                    });
+                }
+            }
+        };
+    }
+
     private int[] getRandomImages() {
         Random random = new Random(System.currentTimeMillis());
         int[] images = new int[PAGE_COUNT];
@@ -183,18 +239,18 @@ public class ImageFlashView extends AbsCustomScrollingView<ImageFlashPage> {
 
     private void drawPages(Canvas canvas) {
         if (mPages != null) {
-            for (ImageFlashPage page : mPages) {
-                drawBackground(canvas, page);
-                drawPageImage(page, canvas);
+            for (int i = 0; i < mPages.size(); i++) {
+                ImageFlashPage page = mPages.get(i);
+                if (!page.isVisible() || quickRejectPage(canvas, page)) {
+                    continue;
+                }
+                drawBackground(canvas, page, i);
+                drawPageImage(page, canvas, i);
             }
         }
     }
 
-    private void drawPageImage(ImageFlashPage page, Canvas canvas) {
-        if (!page.isVisible()) {
-            return;
-        }
-
+    private void drawPageImage(ImageFlashPage page, Canvas canvas, int index) {
         FlashImage image = page.getImage();
         if (!image.isImageAvailable()) return;
 
@@ -204,14 +260,15 @@ public class ImageFlashView extends AbsCustomScrollingView<ImageFlashPage> {
             return;
         }
 
-        final Bitmap bm = mImageCache.getBitmapFromMemCache(String.valueOf(image.getImageResId()));
+        final Bitmap bm = mImageCache.getBitmapFromMemCache(image.getCacheKey());
         if (bm == null) return;
 
-        Paint paint = new Paint();
-
-        AlphaInterpolator interpolator = image.getAlphaInterpolator();
-        interpolator.updateValue(getContentBoundsBottom() - page.getYPosition());
-        paint.setAlpha(interpolator.getInterpolatedAlpha());
+        Paint paint = mImagePaint;
+        // The image fades in over the height of the view rather than of the page.
+        final float interpolation = Interpolator.interpolate(
+                getPageInterpolations().getValue(index),
+                image.getAlphaInterpolator().getMaxValue());
+        paint.setAlpha(AlphaInterpolator.getInterpolatedAlpha(interpolation));
 
         if (getContentBoundsTop() >= (page.getYPosition() + image.getYOffset())) {
             // Means we've scrolled the current page to the top of the visible part of the image.
@@ -225,12 +282,8 @@ public class ImageFlashView extends AbsCustomScrollingView<ImageFlashPage> {
         }
     }
 
-    private void drawBackground(Canvas canvas, ImageFlashPage page) {
-        if (page.isVisible()) {
-            ColorInterpolator interpolator = page.getBackgroundColorInterpolator();
-            interpolator
-                    .updateValue((getContentBoundsBottom() - page.getYPosition()));
-            drawShadedBackground(canvas, interpolator, page);
-        }
+    private void drawBackground(Canvas canvas, ImageFlashPage page, int index) {
+        drawShadedBackground(canvas, page.getBackgroundColorInterpolator().getColor(), page,
+                index);
     }
 }
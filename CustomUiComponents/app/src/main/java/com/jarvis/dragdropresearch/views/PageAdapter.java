@@ -0,0 +1,96 @@
+package com.jarvis.dragdropresearch.views;
+
+import android.database.DataSetObservable;
+import android.database.DataSetObserver;
+import android.graphics.Rect;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Supplies pages to an {@link AbsCustomScrollingView} on demand.
+ * <p>
+ * Only the pages near the content window are created and bound. Once a page is far enough
+ * off-screen it is handed back to a {@link RecycledPagePool} keyed by {@link #getPageType(int)}
+ * and later rebound to a different position. Memory use therefore depends on the size of the
+ * content window rather than on {@link #getPageCount()}.
+ *
+ * @param <T> Type of page hosted by the scrolling view.
+ */
+public abstract class PageAdapter<T extends ScrollPage> {
+    public static final int PAGE_TYPE_DEFAULT = 0;
+
+    private final DataSetObservable mObservable = new DataSetObservable();
+
+    /**
+     * @return Total number of pages, bound or not.
+     */
+    public abstract int getPageCount();
+
+    /**
+     * Compute the bounds of the page at the given position relative to the hosting
+     * {@link AbsCustomScrollingView}. This is called for every position when the adapter is
+     * laid out, so it must not depend on a page being bound. Pages must be laid out from top to
+     * bottom in order of position.
+     *
+     * @param position Position of the page.
+     * @param outBounds {@link Rect} to write the page bounds into.
+     */
+    public abstract void getPageBounds(int position, @NonNull Rect outBounds);
+
+    /**
+     * @return Type of the page at the given position. Pages are only recycled into positions of
+     * the same type.
+     */
+    public int getPageType(int position) {
+        return PAGE_TYPE_DEFAULT;
+    }
+
+    /**
+     * Create a new, unbound page of the given type. Called when the recycle pool has no page of
+     * that type available.
+     */
+    @NonNull
+    public abstract T onCreatePage(int pageType);
+
+    /**
+     * Populate the page with the content for the given position. The page position and bounds
+     * have already been assigned when this is called.
+     */
+    public abstract void onBindPage(@NonNull T page, int position);
+
+    /**
+     * Called when a page leaves the bound range and is about to be placed in the recycle pool.
+     * Implementations should release any large resources held by the page.
+     */
+    public void onRecyclePage(@NonNull T page) {
+    }
+
+    /**
+     * Create the work that prepares the content of a position that is not bound yet, because a
+     * fling is about to land near it or because it is next to the bound pages. Called on the main
+     * thread. The returned work runs on a
+     * background thread and its results are typically picked up by {@link #onBindPage}.
+     *
+     * @return Work to run, or null if the position needs no preparation.
+     */
+    @Nullable
+    public Runnable onCreatePrefetchTask(int position) {
+        return null;
+    }
+
+    /**
+     * Notify the hosting view that the page count, bounds or content changed.
+     */
+    public void notifyDataSetChanged() {
+        mObservable.notifyChanged();
+    }
+
+    void registerDataSetObserver(DataSetObserver observer) {
+        mObservable.registerObserver(observer);
+    }
+
+    void unregisterDataSetObserver(DataSetObserver observer) {
+        mObservable.unregisterObserver(observer);
+    }
+}
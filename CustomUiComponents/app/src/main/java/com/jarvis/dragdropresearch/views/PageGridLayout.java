@@ -0,0 +1,79 @@
+package com.jarvis.dragdropresearch.views;
+
+import android.graphics.Rect;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Lays out pages of a fixed size on a grid, filled row by row. Meant to back
+ * {@link PageAdapter#getPageBounds(int, Rect)} for content that scrolls on both axes.
+ */
+public class PageGridLayout {
+    private final int mColumnCount;
+    private int mPageWidth;
+    private int mPageHeight;
+    private int mOriginX;
+    private int mOriginY;
+    private int mHorizontalSpacing;
+    private int mVerticalSpacing;
+
+    /**
+     * @param columnCount Number of pages per row.
+     * @param pageWidth Width of each page.
+     * @param pageHeight Height of each page.
+     */
+    public PageGridLayout(int columnCount, int pageWidth, int pageHeight) {
+        if (columnCount <= 0) {
+            throw new IllegalArgumentException("Column count must be positive: " + columnCount);
+        }
+        mColumnCount = columnCount;
+        mPageWidth = pageWidth;
+        mPageHeight = pageHeight;
+    }
+
+    /**
+     * Change the size of the pages, for instance after the view hosting them was resized.
+     */
+    public PageGridLayout setPageSize(int pageWidth, int pageHeight) {
+        mPageWidth = pageWidth;
+        mPageHeight = pageHeight;
+        return this;
+    }
+
+    /**
+     * @param originX X position of the first column, usually the left padding of the view.
+     * @param originY Y position of the first row, usually the top padding of the view.
+     */
+    public PageGridLayout setOrigin(int originX, int originY) {
+        mOriginX = originX;
+        mOriginY = originY;
+        return this;
+    }
+
+    public PageGridLayout setSpacing(int horizontalSpacing, int verticalSpacing) {
+        mHorizontalSpacing = horizontalSpacing;
+        mVerticalSpacing = verticalSpacing;
+        return this;
+    }
+
+    public int getColumnCount() {
+        return mColumnCount;
+    }
+
+    public int getColumn(int position) {
+        return position % mColumnCount;
+    }
+
+    public int getRow(int position) {
+        return position / mColumnCount;
+    }
+
+    /**
+     * Compute the bounds of the page at the given position.
+     */
+    public void getPageBounds(int position, @NonNull Rect outBounds) {
+        final int left = mOriginX + getColumn(position) * (mPageWidth + mHorizontalSpacing);
+        final int top = mOriginY + getRow(position) * (mPageHeight + mVerticalSpacing);
+        outBounds.set(left, top, left + mPageWidth, top + mPageHeight);
+    }
+}
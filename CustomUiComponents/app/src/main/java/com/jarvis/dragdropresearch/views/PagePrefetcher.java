@@ -0,0 +1,118 @@
+package com.jarvis.dragdropresearch.views;
+
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+
+import java.util.Iterator;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs work that prepares pages ahead of being shown on a shared background thread.
+ * <p>
+ * Work is ordered by priority, lowest first, so that the pages nearest to where a fling lands
+ * are prepared before the pages around them. Starting a new batch with {@link #cancelPending()}
+ * drops the work of the previous batch that has not started yet.
+ */
+public class PagePrefetcher {
+
+    private static ThreadPoolExecutor sExecutor;
+
+    private static long sSequence;
+
+    /**
+     * Incremented on every cancellation. Work scheduled under an older generation is skipped.
+     */
+    private final AtomicInteger mGeneration = new AtomicInteger();
+
+    /**
+     * Schedule work on the background thread.
+     *
+     * @param work Work to run. It must not touch state that the main thread reads without
+     * synchronization.
+     * @param priority Priority of the work. Lower values run first.
+     */
+    public void prefetch(@NonNull Runnable work, int priority) {
+        getExecutor().execute(new PrefetchTask(this, work, priority, mGeneration.get()));
+    }
+
+    /**
+     * Drop the work that has been scheduled through this prefetcher and not started yet.
+     */
+    public void cancelPending() {
+        mGeneration.incrementAndGet();
+        if (sExecutor != null) {
+            Iterator<Runnable> pending = sExecutor.getQueue().iterator();
+            while (pending.hasNext()) {
+                if (((PrefetchTask)pending.next()).mOwner == this) {
+                    pending.remove();
+                }
+            }
+        }
+    }
+
+    private static synchronized ThreadPoolExecutor getExecutor() {
+        if (sExecutor == null) {
+            sExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new PriorityBlockingQueue<Runnable>(), new ThreadFactory() {
+                        @Override
+                        public Thread newThread(@NonNull final Runnable runnable) {
+                            Thread thread = new Thread(new Runnable() {
+                                @Override
+                                public void run() {
+                                    Process.setThreadPriority(
+                                            Process.THREAD_PRIORITY_BACKGROUND);
+                                    runnable.run();
+                                }
+                            }, "PagePrefetcher");
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+        }
+        return sExecutor;
+    }
+
+    private static synchronized long nextSequence() {
+        return sSequence++;
+    }
+
+    private static class PrefetchTask implements Runnable, Comparable<PrefetchTask> {
+        private final PagePrefetcher mOwner;
+        private final Runnable mWork;
+        private final int mPriority;
+        private final int mGeneration;
+
+        /**
+         * Keeps work of equal priority in the order it was scheduled.
+         */
+        private final long mSequence;
+
+        PrefetchTask(PagePrefetcher owner, Runnable work, int priority, int generation) {
+            mOwner = owner;
+            mWork = work;
+            mPriority = priority;
+            mGeneration = generation;
+            mSequence = nextSequence();
+        }
+
+        @Override
+        public void run() {
+            if (mOwner.mGeneration.get() == mGeneration) {
+                mWork.run();
+            }
+        }
+
+        @Override
+        public int compareTo(@NonNull PrefetchTask other) {
+            if (mPriority != other.mPriority) {
+                return mPriority < other.mPriority ? -1 : 1;
+            }
+            return mSequence < other.mSequence ? -1 : (mSequence == other.mSequence ? 0 : 1);
+        }
+    }
+}
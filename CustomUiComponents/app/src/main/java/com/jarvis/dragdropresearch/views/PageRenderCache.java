@@ -0,0 +1,118 @@
+package com.jarvis.dragdropresearch.views;
+
+import android.graphics.Canvas;
+import android.graphics.Picture;
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Caches the drawing of a page, or part of it, in a {@link Picture} so that content which has
+ * stopped changing is replayed instead of being rebuilt on every frame.
+ * <p>
+ * The cache is keyed by the interpolated state the content was drawn with. A recording is only
+ * made once the same state has been seen on two consecutive frames, so content that is still
+ * animating is drawn directly and does not pay for recording. Any change in the state drops the
+ * recording.
+ * <p>
+ * Content is recorded with its origin at (0, 0) and replayed at the position passed to
+ * {@link #draw(Canvas, float, float)}, so the recording survives pages that move on screen.
+ */
+public class PageRenderCache {
+
+    private Picture mPicture;
+    private boolean mHasRecording;
+    private boolean mRecording;
+
+    // State the content was last drawn with.
+    private float mInterpolation = Float.NaN;
+    private int mColor;
+    private int mWidth;
+    private int mHeight;
+
+    /**
+     * @return True if recorded content can be replayed on the given canvas. Hardware accelerated
+     * canvases only support pictures from {@link Build.VERSION_CODES#M}.
+     */
+    public static boolean canReplay(@NonNull Canvas canvas) {
+        return !canvas.isHardwareAccelerated() || Build.VERSION.SDK_INT >= Build.VERSION_CODES.M;
+    }
+
+    /**
+     * Compare the state of the content for the current frame with the previous frame.
+     *
+     * @param interpolation Interpolation the content is drawn with.
+     * @param color Color the content is drawn with.
+     * @param width Width of the content.
+     * @param height Height of the content.
+     * @return True if the state is unchanged since the previous frame and the content should be
+     * drawn through the cache. False if the content is still changing and should be drawn directly.
+     */
+    public boolean updateState(float interpolation, int color, int width, int height) {
+        if (interpolation == mInterpolation && color == mColor && width == mWidth
+                && height == mHeight) {
+            return true;
+        }
+
+        mInterpolation = interpolation;
+        mColor = color;
+        mWidth = width;
+        mHeight = height;
+        mHasRecording = false;
+        return false;
+    }
+
+    public boolean hasRecording() {
+        return mHasRecording;
+    }
+
+    /**
+     * Start recording the content for the current state. Must be followed by
+     * {@link #endRecording()}.
+     *
+     * @return Canvas to draw the content into, with its origin at the top left of the content.
+     */
+    @NonNull
+    public Canvas beginRecording() {
+        if (mRecording) {
+            throw new IllegalStateException("PageRenderCache is already recording.");
+        }
+        if (mPicture == null) {
+            mPicture = new Picture();
+        }
+        mRecording = true;
+        return mPicture.beginRecording(mWidth, mHeight);
+    }
+
+    public void endRecording() {
+        if (!mRecording) {
+            throw new IllegalStateException("PageRenderCache is not recording.");
+        }
+        mPicture.endRecording();
+        mRecording = false;
+        mHasRecording = true;
+    }
+
+    /**
+     * Replay the recorded content with its top left corner at the given position.
+     */
+    public void draw(@NonNull Canvas canvas, float left, float top) {
+        if (!mHasRecording) {
+            throw new IllegalStateException("PageRenderCache has no recording to draw.");
+        }
+        final int saveCount = canvas.save();
+        canvas.translate(left, top);
+        canvas.drawPicture(mPicture);
+        canvas.restoreToCount(saveCount);
+    }
+
+    /**
+     * Drop the recording and the state it was made for, releasing the picture.
+     */
+    public void clear() {
+        mPicture = null;
+        mHasRecording = false;
+        mRecording = false;
+        mInterpolation = Float.NaN;
+    }
+}
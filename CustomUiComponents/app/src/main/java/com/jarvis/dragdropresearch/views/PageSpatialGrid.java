@@ -0,0 +1,198 @@
+package com.jarvis.dragdropresearch.views;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid over page bounds used by {@link PageVisibilityIndex} to find the pages
+ * intersecting a rectangle on both axes.
+ * <p>
+ * The cell size is derived from the average page size, so a query touches the cells under the
+ * rectangle and the handful of pages registered in each of them, regardless of how many pages
+ * there are in total. Cells are stored in compressed form: {@link #mCellStarts} holds the offset
+ * of each cell in {@link #mCellPages}.
+ */
+class PageSpatialGrid {
+
+    /**
+     * Upper bound on the number of cells per page, to keep sparse layouts from blowing up the
+     * grid.
+     */
+    private static final int MAX_CELLS_PER_PAGE = 4;
+
+    private int mOriginX;
+    private int mOriginY;
+    private int mCellWidth = 1;
+    private int mCellHeight = 1;
+    private int mColumns;
+    private int mRows;
+
+    private int[] mCellStarts = new int[1];
+    private int[] mCellPages = new int[0];
+
+    /**
+     * Query stamp of each page, used to report pages spanning several cells only once.
+     */
+    private int[] mPageStamps = new int[0];
+    private int mStamp;
+
+    private int[] mLefts;
+    private int[] mTops;
+    private int[] mRights;
+    private int[] mBottoms;
+
+    /**
+     * Build the grid for the given page bounds. The arrays are retained, not copied, and must not
+     * change until the next build.
+     */
+    void build(int count, int[] lefts, int[] tops, int[] rights, int[] bottoms) {
+        mLefts = lefts;
+        mTops = tops;
+        mRights = rights;
+        mBottoms = bottoms;
+
+        if (count == 0) {
+            mColumns = 0;
+            mRows = 0;
+            mCellStarts[0] = 0;
+            return;
+        }
+
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        long totalWidth = 0;
+        long totalHeight = 0;
+        for (int i = 0; i < count; i++) {
+            minX = Math.min(minX, lefts[i]);
+            minY = Math.min(minY, tops[i]);
+            maxX = Math.max(maxX, rights[i]);
+            maxY = Math.max(maxY, bottoms[i]);
+            totalWidth += rights[i] - lefts[i];
+            totalHeight += bottoms[i] - tops[i];
+        }
+
+        mOriginX = minX;
+        mOriginY = minY;
+        mCellWidth = (int)Math.max(1, totalWidth / count);
+        mCellHeight = (int)Math.max(1, totalHeight / count);
+        long columns = ((long)maxX - minX) / mCellWidth + 1;
+        long rows = ((long)maxY - minY) / mCellHeight + 1;
+        while (columns * rows > (long)MAX_CELLS_PER_PAGE * count) {
+            // Sparse layout. Coarsen the grid along its longest side.
+            if (columns >= rows) {
+                mCellWidth = (int)Math.min(Integer.MAX_VALUE, 2L * mCellWidth);
+                columns = ((long)maxX - minX) / mCellWidth + 1;
+            } else {
+                mCellHeight = (int)Math.min(Integer.MAX_VALUE, 2L * mCellHeight);
+                rows = ((long)maxY - minY) / mCellHeight + 1;
+            }
+        }
+        mColumns = (int)columns;
+        mRows = (int)rows;
+
+        final int cellCount = mColumns * mRows;
+        if (mCellStarts.length < cellCount + 1) {
+            mCellStarts = new int[cellCount + 1];
+        } else {
+            Arrays.fill(mCellStarts, 0, cellCount + 1, 0);
+        }
+        if (mPageStamps.length < count) {
+            mPageStamps = new int[count];
+        } else {
+            Arrays.fill(mPageStamps, 0);
+        }
+        mStamp = 0;
+
+        // Count the pages in each cell, then turn the counts into offsets.
+        int entries = 0;
+        for (int i = 0; i < count; i++) {
+            final int firstColumn = column(lefts[i]);
+            final int lastColumn = column(rights[i]);
+            final int firstRow = row(tops[i]);
+            final int lastRow = row(bottoms[i]);
+            for (int r = firstRow; r <= lastRow; r++) {
+                for (int c = firstColumn; c <= lastColumn; c++) {
+                    mCellStarts[r * mColumns + c + 1]++;
+                    entries++;
+                }
+            }
+        }
+        for (int cell = 0; cell < cellCount; cell++) {
+            mCellStarts[cell + 1] += mCellStarts[cell];
+        }
+
+        if (mCellPages.length < entries) {
+            mCellPages = new int[entries];
+        }
+        // Fill each cell in page order.
+        final int[] cursors = new int[cellCount];
+        for (int i = 0; i < count; i++) {
+            final int firstColumn = column(lefts[i]);
+            final int lastColumn = column(rights[i]);
+            final int firstRow = row(tops[i]);
+            final int lastRow = row(bottoms[i]);
+            for (int r = firstRow; r <= lastRow; r++) {
+                for (int c = firstColumn; c <= lastColumn; c++) {
+                    final int cell = r * mColumns + c;
+                    mCellPages[mCellStarts[cell] + cursors[cell]++] = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * Find the pages intersecting the given rectangle. Edges are inclusive.
+     *
+     * @param out Receives the page indices in ascending order. Must be able to hold every page.
+     * @return Number of pages written to out.
+     */
+    int query(int left, int top, int right, int bottom, int[] out) {
+        if (mColumns == 0 || right < mOriginX || bottom < mOriginY) {
+            return 0;
+        }
+        final int firstColumn = column(left);
+        final int lastColumn = column(right);
+        final int firstRow = row(top);
+        final int lastRow = row(bottom);
+
+        if (++mStamp == 0) {
+            // Stamp wrapped around. Start over so stale stamps cannot match.
+            Arrays.fill(mPageStamps, 0);
+            mStamp = 1;
+        }
+
+        int count = 0;
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int c = firstColumn; c <= lastColumn; c++) {
+                final int cell = r * mColumns + c;
+                for (int j = mCellStarts[cell]; j < mCellStarts[cell + 1]; j++) {
+                    final int page = mCellPages[j];
+                    if (mPageStamps[page] == mStamp) {
+                        continue;
+                    }
+                    mPageStamps[page] = mStamp;
+                    if (mLefts[page] <= right && mRights[page] >= left
+                            && mTops[page] <= bottom && mBottoms[page] >= top) {
+                        out[count++] = page;
+                    }
+                }
+            }
+        }
+
+        Arrays.sort(out, 0, count);
+        return count;
+    }
+
+    private int column(int x) {
+        return clamp(((long)x - mOriginX) / mCellWidth, mColumns);
+    }
+
+    private int row(int y) {
+        return clamp(((long)y - mOriginY) / mCellHeight, mRows);
+    }
+
+    private static int clamp(long cell, int cells) {
+        return (int)Math.max(0, Math.min(cells - 1, cell));
+    }
+}
@@ -0,0 +1,336 @@
+package com.jarvis.dragdropresearch.views;
+
+import java.util.List;
+
+/**
+ * Index of page bounds used by {@link AbsCustomScrollingView} to resolve the pages that intersect
+ * the content window without a walk over every page.
+ * <p>
+ * Pages intersecting the content window on both axes are found through a
+ * {@link PageSpatialGrid}. The index keeps track of the pages that were visible during the
+ * previous update, so that only the pages entering or leaving the content window have their
+ * state changed.
+ * <p>
+ * Pages are expected to be laid out from top to bottom, in ascending order of
+ * {@link ScrollPage#getYPosition()}, as is the case for a single column or a grid filled row by
+ * row. The scrolled-to-top state is then resolved with a binary search. If they are not, that
+ * state falls back to a linear scan.
+ */
+class PageVisibilityIndex {
+
+    private List<? extends ScrollPage> mPages;
+
+    private int mCount;
+
+    private int[] mLefts = new int[0];
+    private int[] mRights = new int[0];
+
+    /**
+     * Top of each page, in page order.
+     */
+    private int[] mTops = new int[0];
+
+    /**
+     * Bottom of each page, in page order.
+     */
+    private int[] mBottoms = new int[0];
+
+    /**
+     * Running maximum of {@link #mBottoms}. Unlike the raw bottoms this is monotonic, which makes
+     * it searchable even when pages have different heights.
+     */
+    private int[] mMaxBottoms = new int[0];
+
+    private final PageSpatialGrid mGrid = new PageSpatialGrid();
+
+    private boolean mGridDirty = true;
+
+    private boolean mSorted;
+
+    private boolean mDirty = true;
+
+    // Results of the previous update.
+    private int[] mVisible = new int[0];
+    private int mVisibleCount;
+    private int[] mQueryResult = new int[0];
+    private int mScrolledToTopCount;
+    private int mLastBoundsLeft;
+    private int mLastBoundsTop;
+    private int mLastBoundsRight;
+    private int mLastBoundsBottom;
+
+    /**
+     * Mark the index as stale. The page offsets will be read again on the next update.
+     */
+    void invalidate() {
+        mDirty = true;
+    }
+
+    /**
+     * Update the state of the pages for a content window that spans the full width of the pages.
+     *
+     * @see #update(List, int, int, int, int)
+     */
+    void update(List<? extends ScrollPage> pages, int boundsTop, int boundsBottom) {
+        update(pages, Integer.MIN_VALUE, boundsTop, Integer.MAX_VALUE, boundsBottom);
+    }
+
+    /**
+     * Update the visibility and scrolled-to-top state of the pages for the given content window.
+     *
+     * @param pages Pages hosted by the scrolling view. A different list instance, or a change in
+     * its size, causes the index to be rebuilt.
+     * @param boundsLeft Left of the content window.
+     * @param boundsTop Top of the content window.
+     * @param boundsRight Right of the content window.
+     * @param boundsBottom Bottom of the content window.
+     */
+    void update(List<? extends ScrollPage> pages, int boundsLeft, int boundsTop, int boundsRight,
+            int boundsBottom) {
+        if (pages != mPages || pages.size() != mCount) {
+            mDirty = true;
+        }
+
+        if (mDirty) {
+            build(pages);
+            applyAll(boundsLeft, boundsTop, boundsRight, boundsBottom);
+            return;
+        }
+
+        if (boundsLeft == mLastBoundsLeft && boundsTop == mLastBoundsTop
+                && boundsRight == mLastBoundsRight && boundsBottom == mLastBoundsBottom) {
+            // Nothing moved since the last update.
+            return;
+        }
+
+        // Pages leaving the content window, followed by the pages in it.
+        for (int i = 0; i < mVisibleCount; i++) {
+            mPages.get(mVisible[i]).setVisible(false);
+        }
+        final int visibleCount =
+                queryIntersecting(boundsLeft, boundsTop, boundsRight, boundsBottom, mVisible);
+        for (int i = 0; i < visibleCount; i++) {
+            mPages.get(mVisible[i]).setVisible(true);
+        }
+        mVisibleCount = visibleCount;
+
+        if (mSorted) {
+            // Pages whose top is at or above the top of the content window form a prefix of the
+            // index. Only the pages between the old and new prefix length change state.
+            final int scrolledToTopCount = findLastIntersecting(boundsTop) + 1;
+            for (int i = mScrolledToTopCount; i < scrolledToTopCount; i++) {
+                mPages.get(i).setScrolledToTop(true);
+            }
+            for (int i = scrolledToTopCount; i < mScrolledToTopCount; i++) {
+                mPages.get(i).setScrolledToTop(false);
+            }
+            mScrolledToTopCount = scrolledToTopCount;
+        } else {
+            for (int i = 0; i < mCount; i++) {
+                mPages.get(i).setScrolledToTop(mTops[i] <= boundsTop);
+            }
+        }
+
+        mLastBoundsLeft = boundsLeft;
+        mLastBoundsTop = boundsTop;
+        mLastBoundsRight = boundsRight;
+        mLastBoundsBottom = boundsBottom;
+    }
+
+    /**
+     * Find the pages intersecting the given rectangle on both axes. Edges are inclusive.
+     *
+     * @param out Receives the page indices in ascending order. Must be able to hold
+     * {@link #getCount()} entries.
+     * @return Number of indices written to out.
+     */
+    int queryIntersecting(int left, int top, int right, int bottom, int[] out) {
+        if (mGridDirty) {
+            mGrid.build(mCount, mLefts, mTops, mRights, mBottoms);
+            mGridDirty = false;
+        }
+        return mGrid.query(left, top, right, bottom, out);
+    }
+
+    /**
+     * @return Scratch array that can hold the result of {@link #queryIntersecting} for every
+     * page. Shared by every caller, so its content is only valid until the next query.
+     */
+    int[] getQueryBuffer() {
+        return mQueryResult;
+    }
+
+    /**
+     * @return Index of the first page whose bottom is at or below boundsTop, or the page count if
+     * there is no such page.
+     */
+    int findFirstIntersecting(int boundsTop) {
+        int low = 0;
+        int high = mCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (mMaxBottoms[mid] < boundsTop) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return Index of the last page whose top is at or above boundsBottom, or -1 if there is no
+     * such page.
+     */
+    int findLastIntersecting(int boundsBottom) {
+        int low = 0;
+        int high = mCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (mTops[mid] <= boundsBottom) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - 1;
+    }
+
+    /**
+     * @return Number of pages that were visible after the last update.
+     */
+    int getVisibleCount() {
+        return mVisibleCount;
+    }
+
+    /**
+     * @return Index of the i-th visible page, in ascending order.
+     */
+    int getVisible(int i) {
+        return mVisible[i];
+    }
+
+    boolean isSorted() {
+        return mSorted;
+    }
+
+    int getCount() {
+        return mCount;
+    }
+
+    int getTop(int index) {
+        return mTops[index];
+    }
+
+    /**
+     * @return Lowest page bottom in the index, or 0 if the index is empty.
+     */
+    int getMaxBottom() {
+        return mCount > 0 ? mMaxBottoms[mCount - 1] : 0;
+    }
+
+    /**
+     * @return Rightmost page edge in the index, or 0 if the index is empty.
+     */
+    int getMaxRight() {
+        int maxRight = 0;
+        for (int i = 0; i < mCount; i++) {
+            maxRight = Math.max(maxRight, mRights[i]);
+        }
+        return maxRight;
+    }
+
+    /**
+     * @return Manhattan distance from the given point to the bounds of a page, 0 if the point is
+     * within the page.
+     */
+    int getDistance(int index, int x, int y) {
+        final long dx = Math.max(0, Math.max((long)mLefts[index] - x, (long)x - mRights[index]));
+        final long dy = Math.max(0, Math.max((long)mTops[index] - y, (long)y - mBottoms[index]));
+        return (int)Math.min(Integer.MAX_VALUE, dx + dy);
+    }
+
+    boolean intersects(int index, int boundsLeft, int boundsTop, int boundsRight,
+            int boundsBottom) {
+        return mLefts[index] <= boundsRight && mRights[index] >= boundsLeft
+                && mTops[index] <= boundsBottom && mBottoms[index] >= boundsTop;
+    }
+
+    /**
+     * Start laying out page offsets that are not backed by page objects, as is the case for
+     * pages supplied by a {@link PageAdapter}. Every position must then be assigned through
+     * {@link #setPageBounds(int, int, int, int, int)} in ascending order.
+     */
+    void beginLayout(int count) {
+        mPages = null;
+        mCount = count;
+        ensureCapacity(count);
+        mSorted = true;
+        mDirty = false;
+        mGridDirty = true;
+        mVisibleCount = 0;
+    }
+
+    void setPageBounds(int index, int left, int top, int right, int bottom) {
+        mLefts[index] = left;
+        mTops[index] = top;
+        mRights[index] = right;
+        mBottoms[index] = bottom;
+        mMaxBottoms[index] = index > 0 ? Math.max(mMaxBottoms[index - 1], bottom) : bottom;
+        if (index > 0 && top < mTops[index - 1]) {
+            mSorted = false;
+        }
+    }
+
+    private void build(List<? extends ScrollPage> pages) {
+        beginLayout(pages.size());
+        mPages = pages;
+        for (int i = 0; i < mCount; i++) {
+            ScrollPage page = pages.get(i);
+            setPageBounds(i, page.getXPosition(), page.getYPosition(),
+                    page.getXPosition() + page.getWidth(),
+                    page.getYPosition() + page.getHeight());
+        }
+    }
+
+    private void ensureCapacity(int count) {
+        if (mTops.length < count) {
+            mLefts = new int[count];
+            mTops = new int[count];
+            mRights = new int[count];
+            mBottoms = new int[count];
+            mMaxBottoms = new int[count];
+            mVisible = new int[count];
+            mQueryResult = new int[count];
+        }
+    }
+
+    /**
+     * Walk every page. Used after a rebuild.
+     */
+    private void applyAll(int boundsLeft, int boundsTop, int boundsRight, int boundsBottom) {
+        int visibleCount = 0;
+        int scrolledToTopCount = 0;
+        for (int i = 0; i < mCount; i++) {
+            ScrollPage page = mPages.get(i);
+            boolean visible = intersects(i, boundsLeft, boundsTop, boundsRight, boundsBottom);
+            page.setVisible(visible);
+            if (visible) {
+                mVisible[visibleCount++] = i;
+            }
+
+            boolean scrolledToTop = mTops[i] <= boundsTop;
+            page.setScrolledToTop(scrolledToTop);
+            if (scrolledToTop) {
+                scrolledToTopCount++;
+            }
+        }
+
+        mVisibleCount = visibleCount;
+        mScrolledToTopCount = scrolledToTopCount;
+        mLastBoundsLeft = boundsLeft;
+        mLastBoundsTop = boundsTop;
+        mLastBoundsRight = boundsRight;
+        mLastBoundsBottom = boundsBottom;
+    }
+}
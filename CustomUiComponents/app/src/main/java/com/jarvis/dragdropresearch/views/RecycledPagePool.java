@@ -0,0 +1,66 @@
+package com.jarvis.dragdropresearch.views;
+
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+
+/**
+ * Holds pages that have scrolled out of the bound range of an {@link AbsCustomScrollingView}
+ * so they can be rebound to another position of the same type instead of being recreated.
+ *
+ * @param <T> Type of page held by the pool.
+ */
+public class RecycledPagePool<T extends ScrollPage> {
+    private static final int DEFAULT_MAX_PAGES_PER_TYPE = 5;
+
+    private final SparseArray<ArrayList<T>> mScrap = new SparseArray<>();
+    private final SparseIntArray mMaxPages = new SparseIntArray();
+
+    /**
+     * @return A recycled page of the given type, or null if none is available.
+     */
+    @Nullable
+    public T getRecycledPage(int pageType) {
+        ArrayList<T> scrap = mScrap.get(pageType);
+        if (scrap == null || scrap.isEmpty()) {
+            return null;
+        }
+        return scrap.remove(scrap.size() - 1);
+    }
+
+    /**
+     * Add a page to the pool. The page is dropped if the pool is already holding the maximum
+     * number of pages for its type.
+     */
+    public void putRecycledPage(T page) {
+        final int pageType = page.getPageType();
+        ArrayList<T> scrap = mScrap.get(pageType);
+        if (scrap == null) {
+            scrap = new ArrayList<>(DEFAULT_MAX_PAGES_PER_TYPE);
+            mScrap.put(pageType, scrap);
+        }
+
+        if (scrap.size() < mMaxPages.get(pageType, DEFAULT_MAX_PAGES_PER_TYPE)) {
+            scrap.add(page);
+        }
+    }
+
+    /**
+     * @param pageType Type of page.
+     * @param max Maximum number of pages of that type to retain.
+     */
+    public void setMaxRecycledPages(int pageType, int max) {
+        mMaxPages.put(pageType, max);
+        ArrayList<T> scrap = mScrap.get(pageType);
+        while (scrap != null && scrap.size() > max) {
+            scrap.remove(scrap.size() - 1);
+        }
+    }
+
+    public void clear() {
+        mScrap.clear();
+    }
+}
@@ -0,0 +1,74 @@
+package com.jarvis.dragdropresearch.views;
+
+/**
+ * Metrics of a single frame of an {@link AbsCustomScrollingView}, reported through
+ * {@link ScrollFrameMetricsTracker.Listener}.
+ * <p>
+ * The same instance is reused for every frame, so it is only valid for the duration of the
+ * callback. Copy out the values that need to be retained.
+ */
+public class ScrollFrameMetrics {
+    private long mFrameTimeNanos;
+    private long mDrawDurationNanos;
+    private long mPageStateUpdateDurationNanos;
+    private int mVisiblePageCount;
+    private int mDroppedFrames;
+    private boolean mFlinging;
+    private float mScrollVelocity;
+
+    /**
+     * @return Vsync time of the frame, in the {@link System#nanoTime()} time base.
+     */
+    public long getFrameTimeNanos() {
+        return mFrameTimeNanos;
+    }
+
+    /**
+     * @return Time spent in {@link AbsCustomScrollingView#draw(android.graphics.Canvas)}.
+     */
+    public long getDrawDurationNanos() {
+        return mDrawDurationNanos;
+    }
+
+    /**
+     * @return Time spent updating the visibility of pages after scroll changes during the frame.
+     */
+    public long getPageStateUpdateDurationNanos() {
+        return mPageStateUpdateDurationNanos;
+    }
+
+    public int getVisiblePageCount() {
+        return mVisiblePageCount;
+    }
+
+    /**
+     * @return Number of vsync intervals that passed without a frame since the previous frame. Only
+     * counted while the view is being dragged or flung.
+     */
+    public int getDroppedFrames() {
+        return mDroppedFrames;
+    }
+
+    public boolean isFlinging() {
+        return mFlinging;
+    }
+
+    /**
+     * @return Scroll speed in pixels per second, along the direction of motion on both axes.
+     * Never negative.
+     */
+    public float getScrollVelocity() {
+        return mScrollVelocity;
+    }
+
+    void set(long frameTimeNanos, long drawDurationNanos, long pageStateUpdateDurationNanos,
+            int visiblePageCount, int droppedFrames, boolean flinging, float scrollVelocity) {
+        mFrameTimeNanos = frameTimeNanos;
+        mDrawDurationNanos = drawDurationNanos;
+        mPageStateUpdateDurationNanos = pageStateUpdateDurationNanos;
+        mVisiblePageCount = visiblePageCount;
+        mDroppedFrames = droppedFrames;
+        mFlinging = flinging;
+        mScrollVelocity = scrollVelocity;
+    }
+}
@@ -0,0 +1,275 @@
+package com.jarvis.dragdropresearch.views;
+
+import android.view.Choreographer;
+import android.view.Display;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Collects per-frame performance metrics of an {@link AbsCustomScrollingView} and aggregates
+ * them into {@link FrameHistogram}s.
+ * <p>
+ * The tracker is driven by {@link Choreographer}. A frame callback is only posted while the view
+ * is drawing, dragged or flung, so an idle view costs nothing. The work done during a frame is
+ * reported from the callback of the following frame, which is also where frames that were
+ * skipped during a drag or fling are detected.
+ * <p>
+ * Attach a tracker with {@link AbsCustomScrollingView#setFrameMetricsTracker(ScrollFrameMetricsTracker)}.
+ * All methods must be called on the UI thread.
+ */
+public class ScrollFrameMetricsTracker implements Choreographer.FrameCallback {
+    private static final long DEFAULT_FRAME_INTERVAL_NANOS = 1000000000L / 60;
+    private static final long NANOS_PER_MICRO = 1000L;
+
+    private static final long[] DURATION_BUCKETS_MICROS = new long[] {
+            250, 500, 1000, 2000, 4000, 8000, 12000, 16000, 24000, 32000, 50000, 100000
+    };
+    private static final long[] PAGE_COUNT_BUCKETS = new long[] {
+            0, 1, 2, 3, 4, 6, 8, 12, 16, 32
+    };
+    private static final long[] DROPPED_FRAME_BUCKETS = new long[] {
+            0, 1, 2, 3, 5, 8, 13, 21, 34
+    };
+    private static final long[] VELOCITY_BUCKETS = new long[] {
+            0, 500, 1000, 2000, 4000, 8000, 12000, 16000, 24000
+    };
+
+    /**
+     * Receives the metrics of every frame.
+     */
+    public interface Listener {
+
+        /**
+         * @param metrics Metrics of the frame. The instance is reused and only valid for the
+         * duration of the call.
+         */
+        void onFrameMetrics(@NonNull ScrollFrameMetrics metrics);
+    }
+
+    private final FrameHistogram mDrawDurationHistogram =
+            new FrameHistogram(DURATION_BUCKETS_MICROS);
+    private final FrameHistogram mPageStateUpdateHistogram =
+            new FrameHistogram(DURATION_BUCKETS_MICROS);
+    private final FrameHistogram mVisiblePageCountHistogram =
+            new FrameHistogram(PAGE_COUNT_BUCKETS);
+    private final FrameHistogram mDroppedFramesPerFlingHistogram =
+            new FrameHistogram(DROPPED_FRAME_BUCKETS);
+    private final FrameHistogram mScrollVelocityHistogram =
+            new FrameHistogram(VELOCITY_BUCKETS);
+
+    private final ScrollFrameMetrics mMetrics = new ScrollFrameMetrics();
+
+    private AbsCustomScrollingView<?> mView;
+    private Choreographer mChoreographer;
+    private Listener mListener;
+
+    private long mFrameIntervalNanos = DEFAULT_FRAME_INTERVAL_NANOS;
+    private boolean mFrameCallbackPosted;
+
+    // Work accumulated since the last frame callback.
+    private long mDrawDurationNanos;
+    private long mPageStateUpdateDurationNanos;
+    private boolean mFrameHasWork;
+
+    // State of the last frame callback. A frame time of 0 means the view was idle.
+    private long mLastFrameTimeNanos;
+    private int mLastScrollX;
+    private int mLastScrollY;
+    private boolean mWasFlinging;
+    private int mFlingDroppedFrames;
+
+    @Nullable
+    public Listener getListener() {
+        return mListener;
+    }
+
+    public void setListener(@Nullable Listener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * @return Histogram of draw durations, in microseconds.
+     */
+    @NonNull
+    public FrameHistogram getDrawDurationHistogram() {
+        return mDrawDurationHistogram;
+    }
+
+    /**
+     * @return Histogram of the time spent updating page visibility per frame, in microseconds.
+     */
+    @NonNull
+    public FrameHistogram getPageStateUpdateHistogram() {
+        return mPageStateUpdateHistogram;
+    }
+
+    @NonNull
+    public FrameHistogram getVisiblePageCountHistogram() {
+        return mVisiblePageCountHistogram;
+    }
+
+    /**
+     * @return Histogram of the total number of dropped frames of each fling.
+     */
+    @NonNull
+    public FrameHistogram getDroppedFramesPerFlingHistogram() {
+        return mDroppedFramesPerFlingHistogram;
+    }
+
+    /**
+     * @return Histogram of the scroll speed of frames in which the view moved, on both axes, in
+     * pixels per second.
+     */
+    @NonNull
+    public FrameHistogram getScrollVelocityHistogram() {
+        return mScrollVelocityHistogram;
+    }
+
+    public void reset() {
+        mDrawDurationHistogram.reset();
+        mPageStateUpdateHistogram.reset();
+        mVisiblePageCountHistogram.reset();
+        mDroppedFramesPerFlingHistogram.reset();
+        mScrollVelocityHistogram.reset();
+    }
+
+    void attach(@NonNull AbsCustomScrollingView<?> view) {
+        if (mView != null && mView != view) {
+            throw new IllegalStateException(
+                    "ScrollFrameMetricsTracker is already attached to another view.");
+        }
+        mView = view;
+        mChoreographer = Choreographer.getInstance();
+        updateFrameInterval();
+    }
+
+    void detach() {
+        stopFrameCallbacks();
+        mView = null;
+    }
+
+    /**
+     * Read the refresh rate of the display the view is attached to.
+     */
+    void updateFrameInterval() {
+        final Display display = mView != null ? mView.getDisplay() : null;
+        final float refreshRate = display != null ? display.getRefreshRate() : 0;
+        mFrameIntervalNanos = refreshRate > 0
+                ? (long)(1000000000L / refreshRate) : DEFAULT_FRAME_INTERVAL_NANOS;
+    }
+
+    /**
+     * Stop posting frame callbacks until the view does more work. Called when the view is
+     * detached from its window.
+     */
+    void stopFrameCallbacks() {
+        if (mFrameCallbackPosted) {
+            mChoreographer.removeFrameCallback(this);
+            mFrameCallbackPosted = false;
+        }
+        clearFrameWork();
+        mLastFrameTimeNanos = 0;
+        mWasFlinging = false;
+        mFlingDroppedFrames = 0;
+    }
+
+    void onDraw(long durationNanos) {
+        mDrawDurationNanos += durationNanos;
+        mFrameHasWork = true;
+        scheduleFrameCallback();
+    }
+
+    void onPageStatesUpdated(long durationNanos) {
+        mPageStateUpdateDurationNanos += durationNanos;
+        mFrameHasWork = true;
+        scheduleFrameCallback();
+    }
+
+    /**
+     * Called when the view moves its scroll position without moving its content on screen, as an
+     * endless view does when it re-bases its window, so that the jump is not taken for motion.
+     */
+    void onScrollRebased(int offsetY) {
+        mLastScrollY -= offsetY;
+    }
+
+    private void scheduleFrameCallback() {
+        if (!mFrameCallbackPosted && mChoreographer != null) {
+            mChoreographer.postFrameCallback(this);
+            mFrameCallbackPosted = true;
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        mFrameCallbackPosted = false;
+        if (mView == null) {
+            return;
+        }
+
+        final boolean flinging = mView.isFlinging();
+        final boolean moving = flinging || mView.isBeingDragged();
+        final int scrollX = mView.getScrollX();
+        final int scrollY = mView.getScrollY();
+        final boolean scrolled = scrollX != mLastScrollX || scrollY != mLastScrollY;
+
+        int droppedFrames = 0;
+        float velocity = 0;
+        if (mLastFrameTimeNanos != 0) {
+            final long elapsedNanos = frameTimeNanos - mLastFrameTimeNanos;
+            if (moving && elapsedNanos > 0) {
+                final long intervals =
+                        (elapsedNanos + mFrameIntervalNanos / 2) / mFrameIntervalNanos;
+                droppedFrames = (int)Math.max(0, intervals - 1);
+            }
+            if (elapsedNanos > 0) {
+                final double distance =
+                        Math.hypot(scrollX - mLastScrollX, scrollY - mLastScrollY);
+                velocity = (float)(distance * 1e9 / elapsedNanos);
+            }
+        }
+
+        if (mFrameHasWork) {
+            final int visiblePageCount = mView.getVisiblePageCount();
+            mDrawDurationHistogram.record(mDrawDurationNanos / NANOS_PER_MICRO);
+            mPageStateUpdateHistogram.record(mPageStateUpdateDurationNanos / NANOS_PER_MICRO);
+            mVisiblePageCountHistogram.record(visiblePageCount);
+            if (scrolled) {
+                mScrollVelocityHistogram.record((long)velocity);
+            }
+
+            if (mListener != null) {
+                mMetrics.set(frameTimeNanos, mDrawDurationNanos, mPageStateUpdateDurationNanos,
+                        visiblePageCount, droppedFrames, flinging, velocity);
+                mListener.onFrameMetrics(mMetrics);
+            }
+        }
+
+        if (flinging) {
+            mFlingDroppedFrames += droppedFrames;
+        } else if (mWasFlinging) {
+            mDroppedFramesPerFlingHistogram.record(mFlingDroppedFrames);
+            mFlingDroppedFrames = 0;
+        }
+        mWasFlinging = flinging;
+
+        final boolean hadWork = mFrameHasWork;
+        clearFrameWork();
+        if (moving || hadWork) {
+            mLastFrameTimeNanos = frameTimeNanos;
+            mLastScrollX = scrollX;
+            mLastScrollY = scrollY;
+            scheduleFrameCallback();
+        } else {
+            // Idle. The gap until the next frame is not a dropped frame.
+            mLastFrameTimeNanos = 0;
+        }
+    }
+
+    private void clearFrameWork() {
+        mDrawDurationNanos = 0;
+        mPageStateUpdateDurationNanos = 0;
+        mFrameHasWork = false;
+    }
+}
@@ -4,6 +4,7 @@ package com.jarvis.dragdropresearch.views;
  * Describes a page of content that is used in conjunction with {@link AbsCustomScrollingView}.
  */
 public class ScrollPage {
+    public static final int NO_POSITION = -1;
 
     private int mXPosition;
 
@@ -17,6 +18,14 @@ public class ScrollPage {
 
     private boolean mIsScrolledToTop;
 
+    private int mPosition = NO_POSITION;
+
+    private int mPageType = PageAdapter.PAGE_TYPE_DEFAULT;
+
+    private PageRenderCache mRenderCache;
+
+    private boolean mDirty = true;
+
     public int getXPosition() {
         return mXPosition;
     }
@@ -83,4 +92,66 @@ public class ScrollPage {
     public void setScrolledToTop(boolean scrolledToTop) {
         mIsScrolledToTop = scrolledToTop;
     }
+
+    /**
+     * @return Adapter position this page is bound to, or {@link #NO_POSITION} if the page is not
+     * bound through a {@link PageAdapter}.
+     */
+    public int getPosition() {
+        return mPosition;
+    }
+
+    void setPosition(int position) {
+        mPosition = position;
+    }
+
+    /**
+     * @return Type of this page as reported by {@link PageAdapter#getPageType(int)}.
+     */
+    public int getPageType() {
+        return mPageType;
+    }
+
+    void setPageType(int pageType) {
+        mPageType = pageType;
+    }
+
+    /**
+     * @return True if something drawn for this page changed since the last frame.
+     */
+    public boolean isDirty() {
+        return mDirty;
+    }
+
+    /**
+     * Flag the page as changed, so it gets redrawn on the next frame. See
+     * {@link AbsCustomScrollingView#invalidatePage(ScrollPage)} to also schedule the frame.
+     */
+    public void markDirty() {
+        mDirty = true;
+    }
+
+    void clearDirty() {
+        mDirty = false;
+    }
+
+    /**
+     * @return Cache used to replay the drawing of this page once it stops changing. Created on
+     * first use.
+     */
+    public PageRenderCache getRenderCache() {
+        if (mRenderCache == null) {
+            mRenderCache = new PageRenderCache();
+        }
+        return mRenderCache;
+    }
+
+    /**
+     * Release the recorded drawing of this page, if any.
+     */
+    void clearRenderCache() {
+        if (mRenderCache != null) {
+            mRenderCache.clear();
+        }
+    }
 }
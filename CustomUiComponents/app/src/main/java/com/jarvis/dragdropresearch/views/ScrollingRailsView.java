@@ -4,23 +4,35 @@ import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
+import android.graphics.Rect;
 import android.util.AttributeSet;
+import android.util.SparseArray;
 
 import com.jarvis.dragdropresearch.interpolators.ColorInterpolator;
 import com.jarvis.dragdropresearch.rails.domain.MovableObject;
 
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
 
 public class ScrollingRailsView extends AbsCustomScrollingView<ScrollingRailsPage> {
+    private static final int PAGE_COUNT = 3;
+    private static final int RAIL_OBJECT_COUNT = 5;
+    private static final int RAIL_GAP_X = 200;
+    private static final int RAIL_GAP_Y = 100;
+    // Prefetched rails kept for positions that have not been bound yet.
+    private static final int MAX_PREFETCHED_RAILS = 16;
+
     private static final int[] COLORS_OBJECTS =
             new int[] {Color.RED, Color.GREEN, Color.BLUE, Color.YELLOW};
 
     private static final int[] COLORS_BACKGROUNDS =
             new int[] {Color.MAGENTA, Color.CYAN, Color.LTGRAY};
 
+    private final Paint mRailPaint = new Paint();
+
     public ScrollingRailsView(Context context) {
         super(context);
     }
@@ -40,55 +52,33 @@ public class ScrollingRailsView extends AbsCustomScrollingView<ScrollingRailsPag
     }
 
     private void setupPages() {
-        final int pageCount = 3;
-        mPages = new ArrayList<>(pageCount);
-
-        // Assumes fixed-size pages for now.
-        int startPosition = 0;
-        for (int i = 1; i <= pageCount; i++) {
-            ScrollingRailsPage page = new ScrollingRailsPage();
-            page.setHeight(getMeasuredHeight() - getPaddingTop() - getPaddingBottom());
-            page.setWidth(getMeasuredWidth() - getPaddingStart() - getPaddingEnd());
-            page.setXPosition(0);
-            if (startPosition == 0) {
-                startPosition = getContentBoundsBottom();
-            } else {
-                startPosition += page.getHeight();
-            }
-            page.setYPosition(startPosition);
-            mPages.add(page);
-        }
-
-        final int gapY = 100;
-        final int gapX = 200;
-
-        for (int g = 0; g < pageCount; g++) {
-            ScrollingRailsPage currentPage = mPages.get(g);
-
-            final int railX = ((g == 0) ? getPaddingStart() + gapX :
-                    ((g == pageCount - 1) ? (getPaddingStart() + currentPage.getWidth() - gapX) :
-                            getPaddingStart() + (gapX + currentPage.getWidth() / pageCount)));
+        setAdapter(new RailsPageAdapter());
+        updateContentHeight();
+    }
 
-            for (int i = 0; i < 5; i++) {
-                int color = COLORS_OBJECTS[(i % COLORS_OBJECTS.length)];
-                currentPage.addObject(new MovableObject(railX, gapY * i,
-                        "1", color));
-            }
+    @Override
+    public void setEndless(boolean endless) {
+        super.setEndless(endless);
+        updateContentHeight();
+    }
 
-            ColorInterpolator interpolator = new ColorInterpolator(currentPage.getHeight());
-            interpolator.setColor(COLORS_BACKGROUNDS[g]);
-            currentPage.setColorInterpolator(interpolator);
+    private void updateContentHeight() {
+        if (isEndless()) {
+            // The endless window is re-based long before its last page is reached.
+            return;
         }
 
+        // Leave room past the last page so its rail objects can stack at the top.
         setContentHeight(
-                (getMeasuredHeight() + getPaddingTop() + getPaddingBottom() + gapY * 5) * (pageCount + 1));
+                (getMeasuredHeight() + getPaddingTop() + getPaddingBottom() + RAIL_GAP_Y * 5) *
+                        (PAGE_COUNT + 1));
     }
 
     @Override
     protected void onSizeChanged(int w, int h, int oldw, int oldh) {
         super.onSizeChanged(w, h, oldw, oldh);
         setupPages();
-        invalidate();
+        invalidatePageContent();
     }
 
     @Override
@@ -99,49 +89,150 @@ public class ScrollingRailsView extends AbsCustomScrollingView<ScrollingRailsPag
 
     private void drawPages(Canvas canvas) {
         if (mPages != null) {
-            for (ScrollingRailsPage page : mPages) {
-                drawBackground(canvas, page);
+            for (int i = 0; i < mPages.size(); i++) {
+                ScrollingRailsPage page = mPages.get(i);
+                if (!page.isVisible() || quickRejectPage(canvas, page)) {
+                    continue;
+                }
+                drawBackground(canvas, page, i);
                 drawPageRail(page, canvas);
             }
         }
     }
 
     private void drawPageRail(ScrollingRailsPage page, Canvas canvas) {
-        if (page.isVisible()) {
-            final int offset = 25;
-            final int radius = 50;
-
-            List<MovableObject> pageObjects = page.getMovableObjectRails();
-            Paint paint = new Paint();
-
-            int count = 0;
-            for (MovableObject object : pageObjects) {
-                paint.setColor(object.getColor());
-                if ((page.getYPosition() + object.getYOffset()) > getContentBoundsBottom()) {
-                    // Object is off-screen and any objects that follow it is off-screen. No need to
-                    // continue traversal.
-                    break;
-                }
-                if ((page.getYPosition() + object.getYOffset()) <= getContentBoundsTop()) {
-                    /* Means we've scrolled to the top of the visible part of the object to draw. */
-                    canvas.drawCircle(object.getXOffset(),
-                            getContentBoundsTop() + (offset * count), radius, paint);
-                } else {
-                    int yPosition = page.getYPosition() + object.getYOffset();
-                    canvas.drawCircle(object.getXOffset(), yPosition, radius, paint);
-                }
-
-                count++;
+        final int offset = 25;
+        final int radius = 50;
+
+        List<MovableObject> pageObjects = page.getMovableObjectRails();
+        Paint paint = mRailPaint;
+
+        int count = 0;
+        for (int i = 0; i < pageObjects.size(); i++) {
+            MovableObject object = pageObjects.get(i);
+            paint.setColor(object.getColor());
+            if ((page.getYPosition() + object.getYOffset()) > getContentBoundsBottom()) {
+                // Object is off-screen and any objects that follow it is off-screen. No need to
+                // continue traversal.
+                break;
             }
+            if ((page.getYPosition() + object.getYOffset()) <= getContentBoundsTop()) {
+                /* Means we've scrolled to the top of the visible part of the object to draw. */
+                canvas.drawCircle(object.getXOffset(),
+                        getContentBoundsTop() + (offset * count), radius, paint);
+            } else {
+                int yPosition = page.getYPosition() + object.getYOffset();
+                canvas.drawCircle(object.getXOffset(), yPosition, radius, paint);
+            }
+
+            count++;
         }
     }
 
-    private void drawBackground(Canvas canvas, ScrollingRailsPage page) {
-        if (page.isVisible()) {
+    private void drawBackground(Canvas canvas, ScrollingRailsPage page, int index) {
+        drawShadedBackground(canvas, page.getColorInterpolator().getColor(), page, index);
+    }
+
+    /**
+     * Lay out the rail objects of the page at the given position.
+     */
+    private static List<MovableObject> createRail(int position, int pageWidth, int paddingStart) {
+        final int railX = ((position == 0) ? paddingStart + RAIL_GAP_X :
+                ((position == PAGE_COUNT - 1) ?
+                        (paddingStart + pageWidth - RAIL_GAP_X) :
+                        paddingStart + (RAIL_GAP_X + pageWidth / PAGE_COUNT)));
+
+        List<MovableObject> rail = new ArrayList<>(RAIL_OBJECT_COUNT);
+        for (int i = 0; i < RAIL_OBJECT_COUNT; i++) {
+            int color = COLORS_OBJECTS[(i % COLORS_OBJECTS.length)];
+            rail.add(new MovableObject(railX, RAIL_GAP_Y * i, "1", color));
+        }
+        return rail;
+    }
+
+    /**
+     * Binds the rail objects of each page as it comes near the content window.
+     */
+    private class RailsPageAdapter extends PageAdapter<ScrollingRailsPage> {
+
+        /**
+         * Rails laid out ahead of a fling landing, by position. Guarded by itself.
+         */
+        private final SparseArray<List<MovableObject>> mPrefetchedRails = new SparseArray<>();
+
+        /**
+         * Pages are laid out in a single column.
+         */
+        private final PageGridLayout mPageLayout = new PageGridLayout(1, 0, 0);
+
+        @Override
+        public int getPageCount() {
+            return isEndless() ? Integer.MAX_VALUE : PAGE_COUNT;
+        }
+
+        @Override
+        public void getPageBounds(int position, @NonNull Rect outBounds) {
+            // Assumes fixed-size pages for now.
+            int height = getMeasuredHeight() - getPaddingTop() - getPaddingBottom();
+            int width = getMeasuredWidth() - getPaddingStart() - getPaddingEnd();
+
+            // The first page starts at the bottom of the content window.
+            mPageLayout.setPageSize(width, height)
+                    .setOrigin(0, getPaddingTop() + height)
+                    .getPageBounds(position, outBounds);
+        }
+
+        @NonNull
+        @Override
+        public ScrollingRailsPage onCreatePage(int pageType) {
+            return new ScrollingRailsPage();
+        }
+
+        @Override
+        public void onBindPage(@NonNull ScrollingRailsPage page, int position) {
+            List<MovableObject> rail;
+            synchronized (mPrefetchedRails) {
+                rail = mPrefetchedRails.get(position);
+                mPrefetchedRails.remove(position);
+            }
+            if (rail == null) {
+                rail = createRail(position, page.getWidth(), getPaddingStart());
+            }
+            page.setMovableObjectRails(rail);
+
             ColorInterpolator interpolator = page.getColorInterpolator();
-            interpolator
-                    .updateValue(getContentBoundsBottom() - page.getYPosition());
-            drawShadedBackground(canvas, interpolator, page);
+            if (interpolator == null) {
+                interpolator = new ColorInterpolator(page.getHeight());
+                page.setColorInterpolator(interpolator);
+            }
+            interpolator.setMaxValue(page.getHeight());
+            interpolator.setColor(COLORS_BACKGROUNDS[position % COLORS_BACKGROUNDS.length]);
+        }
+
+        @Override
+        public void onRecyclePage(@NonNull ScrollingRailsPage page) {
+            page.setMovableObjectRails(null);
+        }
+
+        @Nullable
+        @Override
+        public Runnable onCreatePrefetchTask(final int position) {
+            final int pageWidth = getMeasuredWidth() - getPaddingStart() - getPaddingEnd();
+            final int paddingStart = getPaddingStart();
+            return new Runnable() {
+                @Override
+                public void run() {
+                    List<MovableObject> rail = createRail(position, pageWidth, paddingStart);
+                    synchronized (mPrefetchedRails) {
+                        if (mPrefetchedRails.size() >= MAX_PREFETCHED_RAILS) {
+                            // Flings that pass over pages without binding them would otherwise
+                            // keep adding rails while endless.
+                            mPrefetchedRails.clear();
+                        }
+                        mPrefetchedRails.put(position, rail);
+                    }
+                }
+            };
         }
     }
 }